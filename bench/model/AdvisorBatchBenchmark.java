@@ -0,0 +1,55 @@
+package model;
+import java.util.SplittableRandom;
+
+/**
+ * Compares scoring recorded decisions one {@link AIAdvisor#getOptimalAction} call at a time
+ * with a single {@link AIAdvisor#getOptimalActions} batch call over the same states.
+ *
+ * <p>Usage: {@code java model.AdvisorBatchBenchmark [states]}</p>
+ */
+public class AdvisorBatchBenchmark {
+
+  public static void main(String[] args) {
+    int n = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+    AIAdvisor advisor = new AIAdvisor(StrategySolver.solve());
+    int[] totals = new int[n];
+    int[] dealerCards = new int[n];
+    int[] usableAces = new int[n];
+    SplittableRandom random = new SplittableRandom(42);
+    for (int i = 0; i < n; i++) {
+      usableAces[i] = random.nextInt(4) == 0 ? 1 : 0;
+      totals[i] = usableAces[i] == 1 ? random.nextInt(12, 22) : random.nextInt(4, 22);
+      dealerCards[i] = random.nextInt(1, 11);
+    }
+    byte[] actions = new byte[n];
+
+    for (int round = 0; round < 3; round++) {  // first rounds are warm-up
+      boolean report = round == 2;
+      long start = System.nanoTime();
+      int hits = 0;
+      for (int i = 0; i < n; i++) {
+        if (advisor.getOptimalAction(totals[i], dealerCards[i], usableAces[i]).equals("Hit")) {
+          hits++;
+        }
+      }
+      print("per-call strings", n, start, hits, report);
+
+      start = System.nanoTime();
+      advisor.getOptimalActions(totals, dealerCards, usableAces, actions);
+      hits = 0;
+      for (byte action : actions) {
+        if (action == AIAdvisor.ACTION_HIT) {
+          hits++;
+        }
+      }
+      print("batch byte[]", n, start, hits, report);
+    }
+  }
+
+  private static void print(String name, int n, long start, int hits, boolean report) {
+    double nanos = (double) (System.nanoTime() - start) / n;
+    if (report) {
+      System.out.printf("%-18s %5.2f ns/state (%d hits)%n", name, nanos, hits);
+    }
+  }
+}
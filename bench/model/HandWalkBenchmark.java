@@ -0,0 +1,104 @@
+package model;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Compares three ways of walking a hand to the dealer's standing total over the same
+ * pre-drawn cards: rescanning a {@code List<Card>} after every card (the original
+ * {@code Player.getHandValue()}), the incremental totals {@link Player} keeps now, and
+ * {@link HandTransitions} lookups.
+ *
+ * <p>Usage: {@code java model.HandWalkBenchmark [hands]}</p>
+ */
+public class HandWalkBenchmark {
+
+  /** Number of pre-drawn card codes cycled through by every variant. */
+  private static final int CARD_POOL = 1 << 20;
+
+  public static void main(String[] args) {
+    int hands = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+    Card[] cards = new Card[CARD_POOL];
+    int[] values = new int[CARD_POOL];
+    SplittableRandom random = new SplittableRandom(42);
+    for (int i = 0; i < CARD_POOL; i++) {
+      cards[i] = Card.of(random.nextInt(Card.DISTINCT_CARDS));
+      values[i] = cards[i].getGameValue();
+    }
+
+    for (int round = 0; round < 3; round++) {  // first rounds are warm-up
+      boolean report = round == 2;
+      long start = System.nanoTime();
+      long sum = rescanList(cards, hands);
+      print("List<Card> rescan", hands, start, sum, report);
+
+      start = System.nanoTime();
+      sum = incrementalPlayer(cards, hands);
+      print("Player incremental", hands, start, sum, report);
+
+      start = System.nanoTime();
+      sum = transitionTable(values, hands);
+      print("HandTransitions", hands, start, sum, report);
+    }
+  }
+
+  private static long rescanList(Card[] cards, int hands) {
+    long sum = 0;
+    int next = 0;
+    for (int h = 0; h < hands; h++) {
+      List<Card> hand = new ArrayList<>();
+      int score = 0;
+      while (score < 17) {
+        hand.add(cards[next++ & (CARD_POOL - 1)]);
+        score = rescan(hand);
+      }
+      sum += score;
+    }
+    return sum;
+  }
+
+  /** The original hand valuation: a full pass over the cards after every draw. */
+  private static int rescan(List<Card> hand) {
+    int total = 0;
+    int aceCount = 0;
+    for (Card c : hand) {
+      int val = c.getGameValue();
+      if (val == 1) aceCount++;
+      total += val;
+    }
+    return aceCount > 0 && total + 10 <= 21 ? total + 10 : total;
+  }
+
+  private static long incrementalPlayer(Card[] cards, int hands) {
+    long sum = 0;
+    int next = 0;
+    for (int h = 0; h < hands; h++) {
+      Player player = new Player();
+      while (player.getScore() < 17) {
+        player.addCard(cards[next++ & (CARD_POOL - 1)]);
+      }
+      sum += player.getScore();
+    }
+    return sum;
+  }
+
+  private static long transitionTable(int[] values, int hands) {
+    long sum = 0;
+    int next = 0;
+    for (int h = 0; h < hands; h++) {
+      int hand = HandTransitions.EMPTY;
+      while (HandTransitions.score(hand) < 17) {
+        hand = HandTransitions.next(hand, values[next++ & (CARD_POOL - 1)]);
+      }
+      sum += HandTransitions.score(hand);
+    }
+    return sum;
+  }
+
+  private static void print(String name, int hands, long start, long checksum, boolean report) {
+    double nanos = (double) (System.nanoTime() - start) / hands;
+    if (report) {
+      System.out.printf("%-20s %6.1f ns/hand (checksum %d)%n", name, nanos, checksum);
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package model;
+
+/**
+ * Compares Q-learning training throughput for the three {@link QValueStore} variants:
+ * a plain array on one thread, striped locks and lock-free compare-and-set across threads.
+ *
+ * <p>Usage: {@code java model.QLearningBenchmark [episodes] [threads]}</p>
+ */
+public class QLearningBenchmark {
+
+  /** Number of values in a full table. */
+  private static final int SIZE = QTable.STATE_COUNT * QTable.ACTION_COUNT;
+
+  public static void main(String[] args) throws InterruptedException {
+    long episodes = args.length > 0 ? Long.parseLong(args[0]) : 20_000_000L;
+    int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+    for (int round = 0; round < 2; round++) {  // first round is warm-up
+      boolean report = round == 1;
+      measure("single-thread array", QValueStore.plain(SIZE), episodes, 1, report);
+      measure("striped locks x" + threads, QValueStore.striped(SIZE, 64), episodes, threads, report);
+      measure("lock-free CAS x" + threads, QValueStore.lockFree(SIZE), episodes, threads, report);
+    }
+  }
+
+  private static void measure(String name, QValueStore store, long episodes, int threads,
+                              boolean report) throws InterruptedException {
+    QLearningTrainer trainer = new QLearningTrainer(store, QLearningTrainer.ALPHA,
+        QLearningTrainer.GAMMA, QLearningTrainer.EPSILON, 42L);
+    long start = System.nanoTime();
+    if (threads == 1) {
+      trainer.train(episodes);
+    } else {
+      trainer.trainParallel(episodes, threads);
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    if (report) {
+      System.out.printf("%-24s %8.1f M episodes/s%n", name, episodes / seconds / 1e6);
+    }
+  }
+}
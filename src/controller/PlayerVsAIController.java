@@ -1,10 +1,10 @@
 package controller;
 import java.awt.event.ActionEvent;
 import javax.swing.*;
-import model.AIAdvisor;
 import model.AudioPlayer;
 import model.BlackjackGame;
-import view.GamePanelBuilder;
+import model.Log;
+import view.CardTableComponent;
 import view.MainMenu;
 import view.PlayerVsAIFrame;
 
@@ -15,15 +15,15 @@ import view.PlayerVsAIFrame;
  */
 public class PlayerVsAIController {
 
+  /** Logger for round outcomes. */
+  private static final Log LOG = Log.get(PlayerVsAIController.class);
+
   /** View instance for Player vs AI mode */
   private final PlayerVsAIFrame view;
 
   /** Model instance representing the core Blackjack game logic */
   private final BlackjackGame game = new BlackjackGame();
 
-  /** AI decision maker, loaded from Q-table */
-  private final AIAdvisor aiAdvisor = new AIAdvisor("q_table.json");
-
   /** Audio player for background music */
   private final AudioPlayer bgmPlayer = new AudioPlayer();
 
@@ -66,13 +66,8 @@ public class PlayerVsAIController {
   private void revealCards() {
     view.revealButton.setEnabled(false);
 
-    GamePanelBuilder.updatePanel(game.getPlayer().getHand(), view.playerPanel);
-
-    view.aiPanel.removeAll();
-    view.aiPanel.add(GamePanelBuilder.createCardLabel(game.getDealer().getHand().get(0).getImagePath()));
-    view.aiPanel.add(GamePanelBuilder.createCardLabel("assets/cards/back1.png"));
-    view.aiPanel.revalidate();
-    view.aiPanel.repaint();
+    view.table.setHand(CardTableComponent.PLAYER, game.getPlayer().getHand());
+    view.table.setHand(CardTableComponent.DEALER, game.getDealer().getHand(), 1);
 
     int playerScore = game.getPlayer().calculateScore();
 
@@ -91,7 +86,7 @@ public class PlayerVsAIController {
    */
   private void playerHit() {
     game.playerHit();
-    GamePanelBuilder.updatePanel(game.getPlayer().getHand(), view.playerPanel);
+    view.table.setHand(CardTableComponent.PLAYER, game.getPlayer().getHand());
     if (game.getPlayer().isBusted()) {
       endRound("You busted! AI wins.");
     }
@@ -122,7 +117,7 @@ public class PlayerVsAIController {
         int dealerScore = game.getDealer().calculateScore();
         if (dealerScore < 17) {
           game.opponentHit();
-          GamePanelBuilder.updatePanel(game.getDealer().getHand(), view.aiPanel);
+          view.table.setHand(CardTableComponent.DEALER, game.getDealer().getHand());
           if (game.getDealer().isBusted()) {
             aiTimer.stop();
             endRound("AI busted! You win.");
@@ -157,6 +152,8 @@ public class PlayerVsAIController {
    * @param result result message to show in status label
    */
   private void endRound(String result) {
+    LOG.debug("Round over: {} (player {}, dealer {})", result,
+        game.getPlayer().calculateScore(), game.getDealer().calculateScore());
     view.statusLabel.setText(result);
     revealAllAI();
     disablePlayerButtons();
@@ -172,10 +169,10 @@ public class PlayerVsAIController {
   }
 
   /**
-   * Reveals all dealer cards by updating the dealer panel.
+   * Reveals all dealer cards on the table.
    */
   private void revealAllAI() {
-    GamePanelBuilder.updatePanel(game.getDealer().getHand(), view.aiPanel);
+    view.table.setHand(CardTableComponent.DEALER, game.getDealer().getHand());
   }
 
   /**
@@ -183,17 +180,11 @@ public class PlayerVsAIController {
    */
   private void resetGame() {
     game.reset();
-    view.playerPanel.removeAll();
-    view.aiPanel.removeAll();
-    view.playerPanel.add(GamePanelBuilder.createCardLabel("assets/cards/back1.png"));
-    view.playerPanel.add(GamePanelBuilder.createCardLabel("assets/cards/back1.png"));
-    view.aiPanel.add(GamePanelBuilder.createCardLabel("assets/cards/back1.png"));
-    view.aiPanel.add(GamePanelBuilder.createCardLabel("assets/cards/back1.png"));
+    view.table.setFaceDown(CardTableComponent.PLAYER, 2);
+    view.table.setFaceDown(CardTableComponent.DEALER, 2);
     updateInitialUI();
     view.revealButton.setEnabled(true);
     view.statusLabel.setText("New Round! Click Flip to start.");
-    view.revalidate();
-    view.repaint();
   }
 
   /**
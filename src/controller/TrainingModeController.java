@@ -1,6 +1,7 @@
 package controller;
 
 import model.*;
+import java.util.Arrays;
 import java.util.List;
 import view.MainMenu;
 import view.TrainingModeView;
@@ -13,11 +14,14 @@ import view.TrainingModeView;
  */
 public class TrainingModeController {
 
+  /** Logger for training decisions. */
+  private static final Log LOG = Log.get(TrainingModeController.class);
+
   /** Model instance representing the core Blackjack game logic */
   private final BlackjackGame game;
 
-  /** AI decision maker, loaded from Q-table */
-  private final AIAdvisor aiAdvisor;
+  /** Q-table the AI decisions come from; loaded once and shared through {@link AdvisorRegistry} */
+  private static final String Q_TABLE_PATH = "q_table.json";
 
   /** View instance for the training mode */
   private final TrainingModeView view;
@@ -28,7 +32,8 @@ public class TrainingModeController {
 
   /**
    * Constructs the controller with a reference to the view.
-   * Initializes the game and AI advisor, sets up button listeners.
+   * Initializes the game, starts loading the AI advisor in the background
+   * if it is not loaded yet, and sets up button listeners.
    * Does not start the first round immediately to preserve welcome message.
    *
    * @param view the TrainingModeView instance to be controlled
@@ -36,7 +41,7 @@ public class TrainingModeController {
   public TrainingModeController(TrainingModeView view) {
     this.view = view;
     this.game = new BlackjackGame();
-    this.aiAdvisor = new AIAdvisor("q_table.json");
+    AdvisorRegistry.preload(Q_TABLE_PATH);
     bgmPlayer.playLoop("assets/bg_music.wav");
     initListeners();
   }
@@ -84,7 +89,9 @@ public class TrainingModeController {
   private void resetGame() {
     game.reset();
     view.resetGameView();  // shows back-side cards
-    System.arraycopy(game.getPlayerState(), 0, initialState, 0, 3);
+    initialState[0] = game.getPlayerScore();
+    initialState[1] = game.getDealerUpcard();
+    initialState[2] = game.getPlayerUsableAce();
   }
 
   /**
@@ -95,7 +102,12 @@ public class TrainingModeController {
    * @param action the player's chosen action ("Hit" or "Stand")
    */
   void makeMove(String action) {
+    AIAdvisor aiAdvisor = AdvisorRegistry.get(Q_TABLE_PATH);
     String ai = aiAdvisor.getOptimalAction(initialState[0], initialState[1], initialState[2]);
+    if (LOG.isEnabled(Log.Level.DEBUG)) {
+      LOG.debug("Player chose {} at {}, advisor says {}", action,
+          Arrays.toString(initialState), ai);
+    }
 
     if (ai.equals("Unknown")) {
       view.showFeedback("No Q-table entry for this state.");
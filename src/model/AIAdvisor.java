@@ -1,33 +1,74 @@
 package model;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-import java.io.FileReader;
-import java.lang.reflect.Type;
-import java.util.Map;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 /**
  * {@code AIAdvisor} provides advice on optimal actions (Hit or Stand)
- * based on a pre-trained Q-table loaded from a JSON file.
+ * based on a pre-trained Q-table loaded from a JSON or binary file.
  *
- * <p>The Q-table maps game states to a map of action values
- * (e.g., {"Hit": 0.6, "Stand": 0.4}) and selects the action with the highest score.</p>
+ * <p>The Q-table is a dense {@link QTable}: a flat array indexed by player total, dealer
+ * card and usable ace, holding one value per action, and the advisor selects the action
+ * with the higher value. JSON files, which store each state as a map such as
+ * {"Hit": 0.6, "Stand": 0.4}, are copied into that array at load time, so each lookup
+ * is a couple of array reads with no allocation. Binary tables stored in a quantized
+ * encoding stay quantized in memory as a {@link QuantizedQTable}; quantization keeps the
+ * preferred action of every state, so the advice is the same.</p>
+ *
+ * <p>For scoring many recorded decisions at once, {@link #getOptimalActions} and
+ * {@link #getQMargins} evaluate parallel arrays of states in one pass, reading from a
+ * per-state action table computed when the advisor is created.</p>
+ *
+ * <p>The table can be replaced while the advisor is in use. {@link #reload()} reads the
+ * file again; {@link AdvisorRegistry} calls it when it sees the file change. A new table is
+ * fully built and validated before it is published with a single volatile write, so
+ * lookups never take a lock and never see a partly loaded table.</p>
  */
 public class AIAdvisor {
 
+  /** Logger for table loading and decision tracing. */
+  private static final Log LOG = Log.get(AIAdvisor.class);
+
+  /** Batch result for states where hitting is best. Equal to {@link QTable#HIT}. */
+  public static final byte ACTION_HIT = QTable.HIT;
+
+  /** Batch result for states where standing is best. Equal to {@link QTable#STAND}. */
+  public static final byte ACTION_STAND = QTable.STAND;
+
+  /** Batch result for states missing from the Q-table. */
+  public static final byte ACTION_UNKNOWN = -1;
+
+  /** Action names by batch result, offset by one so {@link #ACTION_UNKNOWN} maps to index 0. */
+  private static final String[] ACTION_NAMES = {"Unknown", "Hit", "Stand"};
+
+  /** The Q-table file, or null if the advisor was built from a table in memory. */
+  private final Path qTablePath;
+
   /**
-   * Q-table loaded from a JSON file.
-   * Maps a game state string (e.g., "(18, 10, True)") to action-value pairs.
+   * Current Q-table with its derived lookup tables. Replaced as a whole on reload;
+   * readers take one reference and use it for the entire call.
    */
-  private final Map<String, Map<String, Double>> qTable;
+  private volatile Snapshot snapshot;
 
   /**
    * Constructs an {@code AIAdvisor} and loads the Q-table from the given path.
    *
-   * @param qTablePath Path to the Q-table JSON file
+   * @param qTablePath Path to the Q-table JSON or binary file
    */
   public AIAdvisor(String qTablePath) {
-    this.qTable = loadQTable(qTablePath);
-    System.out.println("Q-table loaded with " + qTable.size() + " entries.");
+    this.qTablePath = Paths.get(qTablePath);
+    this.snapshot = new Snapshot(loadQTable(qTablePath));
+    LOG.info("Q-table loaded with {} entries from {}", snapshot.table.size(), qTablePath);
+  }
+
+  /**
+   * Constructs an {@code AIAdvisor} around an already loaded Q-table.
+   *
+   * @param qTable the Q-table to advise from, full precision or quantized
+   */
+  AIAdvisor(PolicyTable qTable) {
+    this.qTablePath = null;
+    this.snapshot = new Snapshot(qTable);
   }
 
   /**
@@ -40,32 +81,190 @@ public class AIAdvisor {
    * @return "Hit", "Stand", or "Unknown" if state not found
    */
   public String getOptimalAction(int total, int dealerCard, int usableAce) {
-    String key = "(" + total + ", " + dealerCard + ", " + (usableAce == 1 ? "True" : "False") + ")";
-    System.out.println("🔍 Looking for key: " + key);
+    int state = QTable.stateIndex(total, dealerCard, usableAce);
+    String action = ACTION_NAMES[(state < 0 ? ACTION_UNKNOWN : snapshot.bestActions[state]) + 1];
+    if (LOG.isEnabled(Log.Level.TRACE)) {
+      // The facade takes at most three arguments, so the ace flag picks the format
+      LOG.trace(usableAce == 1 ? "Soft {} vs dealer {} -> {}" : "Hard {} vs dealer {} -> {}",
+          total, dealerCard, action);
+    }
+    return action;
+  }
+
+  /**
+   * Fills {@code actions} with the optimal action of each state in parallel input arrays.
+   *
+   * @param totals      player totals, one per state
+   * @param dealerCards dealer upcard values, one per state
+   * @param usableAces  usable ace flags (0 or 1), one per state
+   * @param actions     receives {@link #ACTION_HIT}, {@link #ACTION_STAND} or
+   *                    {@link #ACTION_UNKNOWN} for each state; its length is the number
+   *                    of states evaluated
+   * @throws IllegalArgumentException if an input array is shorter than {@code actions}
+   */
+  public void getOptimalActions(int[] totals, int[] dealerCards, int[] usableAces, byte[] actions) {
+    int n = actions.length;
+    checkLengths(totals, dealerCards, usableAces, n);
+    byte[] bestActions = snapshot.bestActions;
+    for (int i = 0; i < n; i++) {
+      int state = QTable.stateIndex(totals[i], dealerCards[i], usableAces[i]);
+      actions[i] = state < 0 ? ACTION_UNKNOWN : bestActions[state];
+    }
+  }
+
+  /**
+   * Fills {@code margins} with the hit minus stand Q-value of each state in parallel input
+   * arrays. Positive margins favour hitting; their size shows how clear-cut the decision is.
+   *
+   * @param totals      player totals, one per state
+   * @param dealerCards dealer upcard values, one per state
+   * @param usableAces  usable ace flags (0 or 1), one per state
+   * @param margins     receives each state's margin, or {@code NaN} for unknown states;
+   *                    its length is the number of states evaluated
+   * @throws IllegalArgumentException if an input array is shorter than {@code margins}
+   */
+  public void getQMargins(int[] totals, int[] dealerCards, int[] usableAces, double[] margins) {
+    int n = margins.length;
+    checkLengths(totals, dealerCards, usableAces, n);
+    PolicyTable table = snapshot.table;
+    for (int i = 0; i < n; i++) {
+      int state = QTable.stateIndex(totals[i], dealerCards[i], usableAces[i]);
+      margins[i] = state < 0 ? Double.NaN
+          : table.getQ(state, QTable.HIT) - table.getQ(state, QTable.STAND);
+    }
+  }
+
+  /**
+   * Checks that every batch input holds at least {@code n} states.
+   *
+   * @throws IllegalArgumentException if an input array is too short
+   */
+  private static void checkLengths(int[] totals, int[] dealerCards, int[] usableAces, int n) {
+    if (totals.length < n || dealerCards.length < n || usableAces.length < n) {
+      throw new IllegalArgumentException("Batch inputs must hold " + n + " states, got "
+          + totals.length + ", " + dealerCards.length + " and " + usableAces.length);
+    }
+  }
+
+  /**
+   * Returns the Q-table currently backing this advisor at full precision.
+   * A quantized table is decoded into a new copy on each call.
+   *
+   * @return the loaded Q-table
+   */
+  public QTable getQTable() {
+    return snapshot.table.toQTable();
+  }
+
+  /**
+   * Returns the table currently backing this advisor in its stored form.
+   *
+   * @return the loaded table, full precision or quantized
+   */
+  public PolicyTable getPolicyTable() {
+    return snapshot.table;
+  }
+
+  /**
+   * Reads the Q-table file again and publishes it if it is valid.
+   * On any failure the current table stays in use.
+   *
+   * @return true if a new table was published
+   * @throws IllegalStateException if the advisor was not created from a file
+   */
+  public boolean reload() {
+    if (qTablePath == null) {
+      throw new IllegalStateException("Advisor was not loaded from a file");
+    }
+    PolicyTable table;
+    try {
+      table = QTableCodec.loadPolicy(qTablePath.toString());
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Keeping current Q-table; could not reload {}: {}", qTablePath, e.getMessage());
+      return false;
+    }
+    return reload(table);
+  }
 
-    Map<String, Double> actions = qTable.get(key);
-    if (actions == null) {
-      return "Unknown";
+  /**
+   * Validates a table and publishes it in place of the current one.
+   * In-flight lookups finish on the table they started with.
+   *
+   * @param table the new table
+   * @return true if the table was valid and published
+   */
+  public boolean reload(PolicyTable table) {
+    String problem = validate(table);
+    if (problem != null) {
+      LOG.warn("Rejected new Q-table for {}: {}", qTablePath, problem);
+      return false;
     }
+    snapshot = new Snapshot(table);
+    LOG.info("Q-table reloaded with {} entries from {}", table.size(), qTablePath);
+    return true;
+  }
 
-    return actions.get("hit") > actions.get("stand") ? "Hit" : "Stand";
+  /**
+   * Checks that a table can replace the current one: it holds at least one state and
+   * every known state has finite values for both actions.
+   *
+   * @param table the candidate table
+   * @return a description of the problem, or null if the table is valid
+   */
+  static String validate(PolicyTable table) {
+    if (table.size() == 0) {
+      return "table is empty";
+    }
+    for (int state = 0; state < QTable.STATE_COUNT; state++) {
+      double hit = table.getQ(state, QTable.HIT);
+      double stand = table.getQ(state, QTable.STAND);
+      if (Double.isNaN(hit) != Double.isNaN(stand)
+          || Double.isInfinite(hit) || Double.isInfinite(stand)) {
+        return "state " + state + " has invalid values " + hit + " / " + stand;
+      }
+    }
+    return null;
   }
 
   /**
-   * Loads the Q-table from a JSON file and deserializes it into a nested map.
+   * Loads the Q-table from a JSON or binary file. JSON tables are converted once
+   * into a binary copy that later loads reuse while it is newer than the JSON.
+   * Quantized binary files stay quantized.
    *
-   * @param filename Path to the Q-table JSON file
-   * @return A nested map of state-action Q-values
+   * @param filename Path to the Q-table file
+   * @return the loaded Q-table, or an empty table if loading fails
    */
-  private Map<String, Map<String, Double>> loadQTable(String filename) {
+  private static PolicyTable loadQTable(String filename) {
     try {
-      Gson gson = new Gson();
-      FileReader reader = new FileReader(filename);
-      Type type = new TypeToken<Map<String, Map<String, Double>>>() {}.getType();
-      return gson.fromJson(reader, type);
+      return QTableCodec.loadPolicy(filename);
     } catch (Exception e) {
-      e.printStackTrace();
-      return Map.of();  // Return empty map as fallback
+      LOG.error("Could not load Q-table {}", filename, e);
+      return QTable.empty();  // Return empty table as fallback
+    }
+  }
+
+  /**
+   * An immutable Q-table together with the lookup tables derived from it.
+   */
+  private static final class Snapshot {
+
+    /** The Q-table, indexed by (player total, dealer card, usable ace) and action. */
+    final PolicyTable table;
+
+    /** Best action per state index, or {@link #ACTION_UNKNOWN}. */
+    final byte[] bestActions = new byte[QTable.STATE_COUNT];
+
+    Snapshot(PolicyTable table) {
+      this.table = table;
+      for (int state = 0; state < QTable.STATE_COUNT; state++) {
+        double hit = table.getQ(state, QTable.HIT);
+        double stand = table.getQ(state, QTable.STAND);
+        if (Double.isNaN(hit) || Double.isNaN(stand)) {
+          bestActions[state] = ACTION_UNKNOWN;
+        } else {
+          bestActions[state] = hit > stand ? ACTION_HIT : ACTION_STAND;
+        }
+      }
     }
   }
 }
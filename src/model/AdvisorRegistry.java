@@ -0,0 +1,173 @@
+package model;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide registry of {@link AIAdvisor} instances, one per policy file.
+ *
+ * <p>Each file is loaded once, on a background daemon thread, and every caller gets the same
+ * advisor. {@link #preload(String)} starts loading without waiting, so the application can
+ * warm the registry at startup. {@link #get(String)} only waits if the file has never been
+ * loaded, and otherwise does no file I/O, so it is safe to call on the event dispatch
+ * thread.</p>
+ *
+ * <p>The loader thread checks each file's modification time and size every
+ * {@value #WATCH_INTERVAL_SECONDS} seconds and, when they change, reloads the file into the
+ * existing advisor with {@link AIAdvisor#reload()}. That validates the new table and keeps
+ * the current one if the file is missing, half written or invalid, so only the very first
+ * load of a file falls back to an empty table.</p>
+ */
+public final class AdvisorRegistry {
+
+  /** Loaded or loading advisors by normalized absolute path. */
+  private static final Map<Path, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+  /** Seconds between checks of the loaded files for changes. */
+  static final int WATCH_INTERVAL_SECONDS = 2;
+
+  /** Loads policy files and watches them for changes, off the calling thread. */
+  private static final ScheduledExecutorService LOADER =
+      Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "advisor-loader");
+        thread.setDaemon(true);
+        return thread;
+      });
+
+  static {
+    LOADER.scheduleWithFixedDelay(AdvisorRegistry::checkForChanges,
+        WATCH_INTERVAL_SECONDS, WATCH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+  }
+
+  /** Utility class; not instantiable. */
+  private AdvisorRegistry() {
+  }
+
+  /**
+   * Starts loading a policy file in the background unless it is already loaded and unchanged.
+   *
+   * @param path path to a JSON or binary Q-table
+   * @return a future completing with the advisor once it has loaded or reloaded the file
+   */
+  public static CompletableFuture<AIAdvisor> preload(String path) {
+    return entryFor(path).refresh();
+  }
+
+  /**
+   * Returns the shared advisor for a policy file, waiting only if it has never been loaded.
+   * Once loaded, this reads no file attributes; changes are picked up by the loader thread.
+   *
+   * @param path path to a JSON or binary Q-table
+   * @return the shared advisor; backed by an empty table if the file could not be loaded
+   *         the first time
+   */
+  public static AIAdvisor get(String path) {
+    Entry entry = entryFor(path);
+    AIAdvisor current = entry.advisor;
+    return current != null ? current : entry.refresh().join();
+  }
+
+  /**
+   * Forgets every advisor, so later lookups load their files again. Intended for tests.
+   */
+  static void clear() {
+    ENTRIES.clear();
+  }
+
+  /**
+   * Reloads every file whose stamp changed since its last load. Called periodically on the loader thread.
+   */
+  static void checkForChanges() {
+    for (Entry entry : ENTRIES.values()) {
+      entry.refresh();
+    }
+  }
+
+  /**
+   * Returns the entry of a path, creating it if needed.
+   *
+   * @param path the policy file path as given by the caller
+   * @return the entry
+   */
+  private static Entry entryFor(String path) {
+    return ENTRIES.computeIfAbsent(Paths.get(path).toAbsolutePath().normalize(), Entry::new);
+  }
+
+  /**
+   * One policy file: its advisor and any load or reload in progress.
+   */
+  private static final class Entry {
+
+    /** The policy file. */
+    final Path path;
+
+    /** The file's advisor, or null before the first load completes. */
+    volatile AIAdvisor advisor;
+
+    /** Modification time and size the latest load or reload started from. */
+    private String stamp;
+
+    /** Latest load or reload, completed or in progress. Guarded by {@code this}. */
+    private CompletableFuture<AIAdvisor> load;
+
+    Entry(Path path) {
+      this.path = path;
+    }
+
+    /**
+     * Starts the first load, or a reload if the file changed since the last one finished.
+     *
+     * @return the latest load or reload
+     */
+    synchronized CompletableFuture<AIAdvisor> refresh() {
+      String current = stampOf(path);
+      if (load == null) {
+        stamp = current;
+        load = CompletableFuture.supplyAsync(this::loadAdvisor, LOADER);
+      } else if (!current.equals(stamp) && load.isDone()) {
+        stamp = current;
+        AIAdvisor loaded = advisor;
+        load = CompletableFuture.supplyAsync(() -> {
+          loaded.reload();
+          return loaded;
+        }, LOADER);
+      }
+      return load;
+    }
+
+    /**
+     * Creates the advisor from the file. Failures yield an empty table, as
+     * {@link AIAdvisor#AIAdvisor(String)} does.
+     *
+     * @return the new advisor
+     */
+    private AIAdvisor loadAdvisor() {
+      AIAdvisor loaded = new AIAdvisor(path.toString());
+      advisor = loaded;
+      return loaded;
+    }
+
+    /**
+     * Returns a value that changes whenever the file is modified, replaced or removed.
+     *
+     * @param path the file
+     * @return its modification time and size, or "missing"
+     */
+    private static String stampOf(Path path) {
+      try {
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return attributes.lastModifiedTime().toMillis() + ":" + attributes.size();
+      } catch (IOException e) {
+        return "missing";
+      }
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package model;
+
+/**
+ * {@link QValueStore} backed by a plain {@code double[]}; not safe for concurrent updates.
+ */
+final class ArrayQValueStore implements QValueStore {
+
+  /** The Q-values. */
+  private final double[] values;
+
+  ArrayQValueStore(int size) {
+    this.values = new double[size];
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+
+  @Override
+  public double get(int index) {
+    return values[index];
+  }
+
+  @Override
+  public void update(int index, double target, double alpha) {
+    values[index] += alpha * (target - values[index]);
+  }
+}
@@ -0,0 +1,170 @@
+package model;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Writes {@link Log} events from a bounded ring buffer on a daemon thread.
+ *
+ * <p>Producers claim a slot with one compare-and-set and never block: when the buffer is
+ * full the event is dropped and counted instead. The single consumer thread renders events
+ * in claim order and passes each line to the sink. Remaining events are drained by a
+ * shutdown hook when the JVM exits.</p>
+ *
+ * <p>The consumer only ever waits for the event at the head of the ring, so it parks with no
+ * timeout when that slot is empty and the producer who publishes the head slot unparks it.
+ * An idle application therefore has an idle logging thread. {@link #flush()} waits on this
+ * appender's monitor and is notified as events are written.</p>
+ */
+final class AsyncAppender {
+
+  /** Event slots; a slot is null until its producer has published the event. */
+  private final AtomicReferenceArray<Log.Event> slots;
+
+  /** {@code capacity - 1}, for wrapping sequence numbers into slot indexes. */
+  private final int mask;
+
+  /** Receives each rendered line. */
+  private final Consumer<String> sink;
+
+  /** Sequence number of the next slot to claim. */
+  private final AtomicLong tail = new AtomicLong();
+
+  /** Sequence number of the next slot to write out. Only the consumer advances it. */
+  private final AtomicLong head = new AtomicLong();
+
+  /** Number of events dropped because the buffer was full. */
+  private final AtomicLong dropped = new AtomicLong();
+
+  /** Thread that writes events out. */
+  private final Thread consumer;
+
+  /** Number of threads waiting in {@link #flush()}. Guarded by this appender. */
+  private int flushWaiters;
+
+  /**
+   * Creates an appender and starts its consumer thread.
+   *
+   * @param capacity number of buffered events; rounded up to a power of two
+   * @param sink     receives each rendered line, on the consumer thread
+   */
+  AsyncAppender(int capacity, Consumer<String> sink) {
+    int size = Integer.highestOneBit(Math.max(2, capacity - 1) << 1);
+    this.slots = new AtomicReferenceArray<>(size);
+    this.mask = size - 1;
+    this.sink = sink;
+    this.consumer = new Thread(this::run, "log-appender");
+    consumer.setDaemon(true);
+    consumer.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(this::drain, "log-appender-shutdown"));
+  }
+
+  /**
+   * Buffers an event for writing, or drops it if the buffer is full.
+   *
+   * @param event the event
+   * @return true if the event was buffered
+   */
+  boolean append(Log.Event event) {
+    long claimed;
+    do {
+      claimed = tail.get();
+      if (claimed - head.get() >= slots.length()) {
+        dropped.incrementAndGet();
+        return false;
+      }
+    } while (!tail.compareAndSet(claimed, claimed + 1));
+    slots.set((int) claimed & mask, event);
+    // The consumer may be parked waiting for exactly this slot; later slots are reached
+    // without parking once this one is written
+    if (head.get() == claimed) {
+      LockSupport.unpark(consumer);
+    }
+    return true;
+  }
+
+  /**
+   * Waits until every event appended before this call has been written.
+   */
+  void flush() {
+    long target = tail.get();
+    boolean interrupted = false;
+    synchronized (this) {
+      flushWaiters++;
+      try {
+        while (head.get() < target) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            interrupted = true;
+          }
+        }
+      } finally {
+        flushWaiters--;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns the number of events dropped because the buffer was full.
+   *
+   * @return the dropped event count
+   */
+  long getDroppedCount() {
+    return dropped.get();
+  }
+
+  /**
+   * Returns the consumer thread. Intended for tests.
+   *
+   * @return the thread that writes events out
+   */
+  Thread getConsumer() {
+    return consumer;
+  }
+
+  /** Consumer loop: writes events as they are published, parking while the head is empty. */
+  private void run() {
+    while (true) {
+      if (!writeNext()) {
+        LockSupport.park(this);
+      }
+    }
+  }
+
+  /** Writes out whatever has been published, for use at shutdown. */
+  private synchronized void drain() {
+    while (writeNext()) {
+      // keep writing
+    }
+  }
+
+  /**
+   * Writes the next event if its producer has published it.
+   *
+   * @return true if an event was written
+   */
+  private synchronized boolean writeNext() {
+    long next = head.get();
+    int index = (int) next & mask;
+    Log.Event event = slots.get(index);
+    if (event == null) {
+      return false;
+    }
+    slots.set(index, null);
+    head.set(next + 1);
+    try {
+      sink.accept(event.render());
+    } catch (RuntimeException e) {
+      // a failing sink must not stop the consumer; the event is lost
+    }
+    if (flushWaiters > 0) {
+      notifyAll();
+    }
+    return true;
+  }
+}
@@ -0,0 +1,38 @@
+package model;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free {@link QValueStore} holding the raw bits of each double in an
+ * {@link AtomicLongArray}. Updates retry a compare-and-set until they win, so
+ * concurrent updates to the same value are never lost and no thread ever blocks.
+ */
+final class AtomicQValueStore implements QValueStore {
+
+  /** Raw IEEE bits of each Q-value. */
+  private final AtomicLongArray bits;
+
+  AtomicQValueStore(int size) {
+    this.bits = new AtomicLongArray(size);  // all zero bits, i.e. 0.0
+  }
+
+  @Override
+  public int size() {
+    return bits.length();
+  }
+
+  @Override
+  public double get(int index) {
+    return Double.longBitsToDouble(bits.get(index));
+  }
+
+  @Override
+  public void update(int index, double target, double alpha) {
+    long current;
+    long next;
+    do {
+      current = bits.get(index);
+      double q = Double.longBitsToDouble(current);
+      next = Double.doubleToRawLongBits(q + alpha * (target - q));
+    } while (!bits.compareAndSet(index, current, next));
+  }
+}
@@ -10,6 +10,9 @@ import java.io.IOException;
  */
 public class AudioPlayer {
 
+  /** Logger for playback failures. */
+  private static final Log LOG = Log.get(AudioPlayer.class);
+
   /** The Clip object that holds and plays the audio data */
   private Clip clip;
 
@@ -28,7 +31,7 @@ public class AudioPlayer {
       clip.open(audioStream);
       clip.loop(Clip.LOOP_CONTINUOUSLY); // Loop playback
     } catch (UnsupportedAudioFileException | IOException | LineUnavailableException e) {
-      System.err.println("Failed to play music: " + e.getMessage());
+      LOG.warn("Failed to play music {}: {}", filePath, e.getMessage());
     }
   }
 
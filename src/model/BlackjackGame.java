@@ -5,8 +5,8 @@ package model;
  */
 public class BlackjackGame {
 
-  /** The deck used in the game. Automatically shuffled upon initialization or reset. */
-  private Deck deck = new Deck();
+  /** The shoe cards are dealt from. Reshuffled between rounds once its cut card is out. */
+  private final Shoe shoe;
 
   /** The player participating in the game. */
   private Player player = new Player();
@@ -15,13 +15,31 @@ public class BlackjackGame {
   private Dealer dealer = new Dealer();
 
   /**
-   * Constructs a new BlackjackGame instance and deals two cards to both the player and the dealer.
+   * Constructs a new BlackjackGame instance with a single-deck shoe
+   * and deals two cards to both the player and the dealer.
    */
   public BlackjackGame() {
-    player.addCard(deck.drawCard());
-    player.addCard(deck.drawCard());
-    dealer.addCard(deck.drawCard());
-    dealer.addCard(deck.drawCard());
+    this(new Shoe());
+  }
+
+  /**
+   * Constructs a new BlackjackGame instance dealing from the given shoe
+   * and deals two cards to both the player and the dealer.
+   *
+   * @param shoe the shoe to deal from
+   */
+  public BlackjackGame(Shoe shoe) {
+    this.shoe = shoe;
+    dealInitialCards();
+  }
+
+  /**
+   * Returns the shoe cards are dealt from.
+   *
+   * @return the shoe
+   */
+  public Shoe getShoe() {
+    return shoe;
   }
 
   /**
@@ -52,10 +70,10 @@ public class BlackjackGame {
   }
 
   /**
-   * Performs a "hit" action for the player, drawing one card from the deck.
+   * Performs a "hit" action for the player, drawing one card from the shoe.
    */
   public void playerHit() {
-    player.addCard(deck.drawCard());
+    player.addCard(shoe.drawCard());
   }
 
   /**
@@ -77,17 +95,24 @@ public class BlackjackGame {
   }
 
   /**
-   * Resets the game state by creating a new deck, player, and dealer.
-   * Deals two new cards to each participant.
+   * Resets the game state with a new player and dealer, reshuffling the shoe
+   * in place if its cut card has come out. Deals two new cards to each participant.
    */
   public void reset() {
-    this.deck = new Deck();
+    shoe.shuffleIfCutCardReached();
     this.player = new Player();
     this.dealer = new Dealer();
-    player.addCard(deck.drawCard());
-    player.addCard(deck.drawCard());
-    dealer.addCard(deck.drawCard());
-    dealer.addCard(deck.drawCard());
+    dealInitialCards();
+  }
+
+  /**
+   * Deals two cards to the player and then two to the dealer.
+   */
+  private void dealInitialCards() {
+    player.addCard(shoe.drawCard());
+    player.addCard(shoe.drawCard());
+    dealer.addCard(shoe.drawCard());
+    dealer.addCard(shoe.drawCard());
   }
 
   /**
@@ -96,15 +121,54 @@ public class BlackjackGame {
    * @return an array of [player score, dealer visible card value, player usable ace flag]
    */
   public int[] getPlayerState() {
-    int[] val = player.getHandValue();
-    return new int[]{val[0], dealer.getVisibleCardValue(), val[1]};
+    return new int[]{player.getScore(), dealer.getVisibleCardValue(), getPlayerUsableAce()};
+  }
+
+  /**
+   * Returns the player's current score without allocating a state array.
+   *
+   * @return the player's score
+   */
+  public int getPlayerScore() {
+    return player.getScore();
+  }
+
+  /**
+   * Returns the player's usable ace flag in the form the advisor expects.
+   *
+   * @return 1 if the player has a usable ace, otherwise 0
+   */
+  public int getPlayerUsableAce() {
+    return player.hasUsableAce() ? 1 : 0;
+  }
+
+  /**
+   * Returns the game value of the dealer's visible card.
+   *
+   * @return the dealer's upcard value (1 for Ace up to 10)
+   */
+  public int getDealerUpcard() {
+    return dealer.getVisibleCardValue();
+  }
+
+  /**
+   * Copies the number of cards per game value the player has not seen into {@code out}:
+   * everything still in the shoe plus the dealer's hole card.
+   *
+   * @param out array of at least 11 slots, filled as by {@link Shoe#remainingRankCounts(int[])}
+   * @return {@code out}
+   */
+  public int[] getUnseenRankCounts(int[] out) {
+    shoe.remainingRankCounts(out);
+    out[dealer.getHand().get(1).getGameValue()]++;
+    return out;
   }
 
   /**
-   * Performs a "hit" action for the dealer, drawing one card from the deck.
+   * Performs a "hit" action for the dealer, drawing one card from the shoe.
    */
   public void opponentHit() {
-    dealer.addCard(deck.drawCard());
+    dealer.addCard(shoe.drawCard());
   }
 
   /**
@@ -113,7 +177,6 @@ public class BlackjackGame {
    * @return an array of [dealer score, dealer visible card value, dealer usable ace flag]
    */
   public int[] getOpponentState() {
-    int[] val = dealer.getHandValue();
-    return new int[]{val[0], dealer.getVisibleCardValue(), val[1]};
+    return new int[]{dealer.getScore(), dealer.getVisibleCardValue(), dealer.hasUsableAce() ? 1 : 0};
   }
 }
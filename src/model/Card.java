@@ -2,17 +2,67 @@ package model;
 /**
  * Represents a playing card with a suit and value.
  * Provides utility methods for game logic and UI image support.
+ *
+ * <p>The 52 standard cards exist as canonical immutable instances that can be
+ * addressed by a byte code ({@code suitIndex * 13 + value - 1}, 0-51) through
+ * {@link #of(int)}. Game value, image file name and image path are computed once,
+ * so decks, shoes and hands can share cards and store them as compact codes.</p>
+ *
+ * <p>The view packs card images into sprite atlases whose first 52 slots hold the faces in
+ * code order, followed by the card back; {@link #getAtlasIndex()} and
+ * {@link #ATLAS_BACK_INDEX} name those slots without this class depending on AWT.</p>
  */
 public class Card {
 
+  /** Number of distinct cards in a standard deck. */
+  public static final int DISTINCT_CARDS = 52;
+
+  /** Atlas slot of the card back, directly after the 52 faces. */
+  public static final int ATLAS_BACK_INDEX = DISTINCT_CARDS;
+
+  /** Image file name of the card back. */
+  public static final String BACK_IMAGE_FILE_NAME = "back1.png";
+
+  /** Suits in code order. */
+  private static final String[] SUITS = {"Hearts", "Diamonds", "Clubs", "Spades"};
+
+  /** Canonical instance of every card, indexed by code. */
+  private static final Card[] CANONICAL = new Card[DISTINCT_CARDS];
+
+  /** Game value of every card, indexed by code. */
+  private static final byte[] GAME_VALUES = new byte[DISTINCT_CARDS];
+
+  static {
+    for (int s = 0; s < SUITS.length; s++) {
+      for (int v = 1; v <= 13; v++) {
+        Card card = new Card(SUITS[s], v);
+        CANONICAL[card.code] = card;
+        GAME_VALUES[card.code] = (byte) card.gameValue;
+      }
+    }
+  }
+
   /** The suit of the card (e.g., "Hearts", "Spades"). */
   private final String suit;
 
   /** The value of the card (1 for Ace, 11 for Jack, 12 for Queen, 13 for King). */
   private final int value;
 
+  /** Code of the card (0-51), or -1 if the suit is not a standard one. */
+  private final byte code;
+
+  /** The value used in scoring. */
+  private final int gameValue;
+
+  /** The image file name, e.g. "jack_of_clubs.png". */
+  private final String imageFileName;
+
+  /** The relative image path, e.g. "assets/cards/jack_of_clubs.png". */
+  private final String imagePath;
+
   /**
    * Constructs a Card object with the given suit and value.
+   * Prefer {@link #of(String, int)} for standard cards, which returns a shared instance.
    *
    * @param suit  the suit of the card
    * @param value the value of the card (1-13)
@@ -20,6 +70,62 @@ public class Card {
   public Card(String suit, int value) {
     this.suit = suit;
     this.value = value;
+    this.code = (byte) codeOf(suit, value);
+    this.gameValue = value >= 11 ? 10 : value;
+    this.imageFileName = buildImageFileName(suit, value);
+    this.imagePath = "assets/cards/" + imageFileName;
+  }
+
+  /**
+   * Returns the canonical card with the given code.
+   *
+   * @param code the card code (0-51)
+   * @return the shared card instance
+   * @throws IndexOutOfBoundsException if the code is not between 0 and 51
+   */
+  public static Card of(int code) {
+    return CANONICAL[code];
+  }
+
+  /**
+   * Returns the canonical card with the given suit and value.
+   *
+   * @param suit  the suit of the card (e.g., "Hearts")
+   * @param value the value of the card (1-13)
+   * @return the shared card instance
+   * @throws IllegalArgumentException if the suit or value is not a standard one
+   */
+  public static Card of(String suit, int value) {
+    int code = codeOf(suit, value);
+    if (code < 0) {
+      throw new IllegalArgumentException("Not a standard card: " + value + " of " + suit);
+    }
+    return CANONICAL[code];
+  }
+
+  /**
+   * Returns the game value of the card with the given code, without touching a card instance.
+   *
+   * @param code the card code (0-51)
+   * @return the game value (1-10)
+   */
+  public static int gameValueOf(int code) {
+    return GAME_VALUES[code];
+  }
+
+  /**
+   * Computes the code of a card.
+   *
+   * @param suit  the suit of the card
+   * @param value the value of the card
+   * @return the code (0-51), or -1 if the suit or value is not a standard one
+   */
+  private static int codeOf(String suit, int value) {
+    if (value < 1 || value > 13) return -1;
+    for (int s = 0; s < SUITS.length; s++) {
+      if (SUITS[s].equals(suit)) return s * 13 + value - 1;
+    }
+    return -1;
   }
 
   /**
@@ -31,6 +137,24 @@ public class Card {
     return value;
   }
 
+  /**
+   * Returns the code of the card.
+   *
+   * @return the code (0-51), or -1 for a card with a non-standard suit
+   */
+  public byte getCode() {
+    return code;
+  }
+
+  /**
+   * Returns the slot of this card's face in a card atlas.
+   *
+   * @return the slot (0-51, equal to the code), or -1 for a card with a non-standard suit
+   */
+  public int getAtlasIndex() {
+    return code;
+  }
+
   /**
    * Returns the game value used in scoring.
    * Face cards (Jack, Queen, King) are worth 10 points.
@@ -38,8 +162,7 @@ public class Card {
    * @return the game value of the card
    */
   public int getGameValue() {
-    if (value >= 11) return 10;
-    return value;
+    return gameValue;
   }
 
   /**
@@ -59,15 +182,7 @@ public class Card {
    * @return the image file name of the card
    */
   public String getImageFileName() {
-    String valueStr;
-    switch (value) {
-      case 1:  valueStr = "ace"; break;
-      case 11: valueStr = "jack"; break;
-      case 12: valueStr = "queen"; break;
-      case 13: valueStr = "king"; break;
-      default: valueStr = String.valueOf(value); break;
-    }
-    return valueStr + "_of_" + suit.toLowerCase() + ".png";
+    return imageFileName;
   }
 
   /**
@@ -77,10 +192,29 @@ public class Card {
    * @return the full relative image path
    */
   public String getImagePath() {
-    return "assets/cards/" + getImageFileName();
+    return imagePath;
   }
 
   public Object getSuit() {
     return suit;
   }
+
+  /**
+   * Builds the image file name of a card.
+   *
+   * @param suit  the suit of the card
+   * @param value the value of the card
+   * @return the image file name
+   */
+  private static String buildImageFileName(String suit, int value) {
+    String valueStr;
+    switch (value) {
+      case 1:  valueStr = "ace"; break;
+      case 11: valueStr = "jack"; break;
+      case 12: valueStr = "queen"; break;
+      case 13: valueStr = "king"; break;
+      default: valueStr = String.valueOf(value); break;
+    }
+    return valueStr + "_of_" + suit.toLowerCase() + ".png";
+  }
 }
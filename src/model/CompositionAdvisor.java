@@ -0,0 +1,375 @@
+package model;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code CompositionAdvisor} advises Hit or Stand from the exact cards the player has not
+ * seen yet, instead of from a table trained on an infinite deck.
+ *
+ * <p>Each query computes the dealer's outcome distribution for the unseen composition with
+ * {@link DealerOutcomeCalculator}, then the player's hit EV by recursing over the cards the
+ * player could draw, without replacement. Stand EVs reuse that one dealer distribution after
+ * every player draw, which ignores the small effect of the player's own extra cards on the
+ * dealer's hand.</p>
+ *
+ * <p>Every query runs against a latency budget. A query that would exceed it is abandoned
+ * and answered by the static {@link AIAdvisor} instead. Results are cached by a packed
+ * rank-count vector (see {@link EvCache#packKey(int, int, int, int[])}), so repeated
+ * queries for the same shoe state cost a single cache lookup. Query, cache-hit and fallback counts and a
+ * latency histogram are kept for monitoring.</p>
+ */
+public class CompositionAdvisor {
+
+  /** Default time a query may spend computing before it falls back to the static table. */
+  public static final long DEFAULT_BUDGET_NANOS = 800_000L;
+
+  /** Default number of cached results. */
+  public static final int DEFAULT_CACHE_ENTRIES = 4096;
+
+  /** Number of card ranks by game value (1 for Ace up to 10). */
+  private static final int RANKS = 10;
+
+  /** Width of one latency histogram bucket. */
+  private static final long LATENCY_BUCKET_NANOS = 10_000L;
+
+  /** Number of latency buckets; the last one collects everything from 2 ms up. */
+  private static final int LATENCY_BUCKETS = 201;
+
+  /**
+   * Hit-EV memo of each querying thread, reused across queries so a query neither boxes
+   * its entries nor allocates a new table.
+   */
+  private static final ThreadLocal<LongDoubleMap> MEMOS =
+      ThreadLocal.withInitial(() -> new LongDoubleMap(1024));
+
+  /** Static advisor used when a query exceeds its budget or cannot be evaluated. */
+  private final AIAdvisor fallback;
+
+  /** Computation budget per query, in nanoseconds. */
+  private final long budgetNanos;
+
+  /** Computes finite-shoe dealer outcome distributions. */
+  private final DealerOutcomeCalculator dealerCalculator = new DealerOutcomeCalculator();
+
+  /** Cached {hit, stand} EVs by packed key; may be shared with other advisors. */
+  private final EvCache cache;
+
+  /** Number of queries answered. */
+  private final LongAdder queries = new LongAdder();
+
+  /** Number of queries answered from the cache. */
+  private final LongAdder cacheHits = new LongAdder();
+
+  /** Number of queries answered by the static table. */
+  private final LongAdder fallbacks = new LongAdder();
+
+  /** Query latencies in {@link #LATENCY_BUCKET_NANOS}-wide buckets. */
+  private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS);
+
+  /**
+   * Constructs an advisor with the default budget and cache size.
+   *
+   * @param fallback static advisor used when a query cannot be answered in time
+   */
+  public CompositionAdvisor(AIAdvisor fallback) {
+    this(fallback, DEFAULT_BUDGET_NANOS, DEFAULT_CACHE_ENTRIES);
+  }
+
+  /**
+   * Constructs an advisor with its own LRU cache.
+   *
+   * @param fallback     static advisor used when a query cannot be answered in time
+   * @param budgetNanos  computation budget per query, in nanoseconds
+   * @param cacheEntries maximum number of cached results
+   * @throws IllegalArgumentException if the budget or cache size is not positive
+   */
+  public CompositionAdvisor(AIAdvisor fallback, long budgetNanos, int cacheEntries) {
+    this(fallback, budgetNanos, EvCache.builder().maxEntries(cacheEntries).build());
+  }
+
+  /**
+   * Constructs an advisor that stores results in the given cache, which may be shared
+   * between advisors evaluating the same shoe.
+   *
+   * @param fallback    static advisor used when a query cannot be answered in time
+   * @param budgetNanos computation budget per query, in nanoseconds
+   * @param cache       cache for {hit, stand} EVs
+   * @throws IllegalArgumentException if the budget is not positive
+   */
+  public CompositionAdvisor(AIAdvisor fallback, long budgetNanos, EvCache cache) {
+    if (budgetNanos <= 0) {
+      throw new IllegalArgumentException("Budget must be positive: " + budgetNanos);
+    }
+    this.fallback = fallback;
+    this.budgetNanos = budgetNanos;
+    this.cache = cache;
+  }
+
+  /**
+   * Returns the optimal action for the player's current hand in a game, taking into
+   * account every card the player has not seen.
+   *
+   * @param game the game in progress
+   * @return "Hit", "Stand", or "Unknown" if neither this advisor nor the fallback knows the state
+   */
+  public String getOptimalAction(BlackjackGame game) {
+    int[] unseen = game.getUnseenRankCounts(new int[RANKS + 1]);
+    return getOptimalAction(game.getPlayerScore(), game.getDealerUpcard(),
+        game.getPlayerUsableAce(), unseen);
+  }
+
+  /**
+   * Returns the optimal action for a state given the cards the player has not seen.
+   *
+   * @param total        the player's current hand total
+   * @param dealerCard   the dealer's visible card value (1-10)
+   * @param usableAce    1 if the player has a usable ace, 0 otherwise
+   * @param unseenCounts unseen cards per game value, indexed 1-10, including the dealer's
+   *                     hole card but not the upcard. Restored before returning.
+   * @return "Hit", "Stand", or "Unknown" if neither this advisor nor the fallback knows the state
+   */
+  public String getOptimalAction(int total, int dealerCard, int usableAce, int[] unseenCounts) {
+    long start = System.nanoTime();
+    queries.increment();
+    double[] ev = evaluate(total, dealerCard, usableAce, unseenCounts, start + budgetNanos);
+    String action;
+    if (ev == null) {
+      fallbacks.increment();
+      action = fallback.getOptimalAction(total, dealerCard, usableAce);
+    } else {
+      action = ev[QTable.HIT] > ev[QTable.STAND] ? "Hit" : "Stand";
+    }
+    recordLatency(System.nanoTime() - start);
+    return action;
+  }
+
+  /**
+   * Computes the hit and stand EVs of a state without any time limit.
+   * The result is neither read from nor stored in the cache.
+   *
+   * @param total        the player's current hand total
+   * @param dealerCard   the dealer's visible card value (1-10)
+   * @param usableAce    1 if the player has a usable ace, 0 otherwise
+   * @param unseenCounts unseen cards per game value, as for
+   *                     {@link #getOptimalAction(int, int, int, int[])}
+   * @return a new array indexed by {@link QTable#HIT} and {@link QTable#STAND},
+   *         or null if the state is outside the playable range
+   */
+  public double[] evaluate(int total, int dealerCard, int usableAce, int[] unseenCounts) {
+    return compute(total, dealerCard, usableAce, unseenCounts, Long.MAX_VALUE);
+  }
+
+  /**
+   * Returns the cached EVs of a state, computing and caching them if there is time.
+   *
+   * @param deadlineNanos {@link System#nanoTime()} value after which to give up
+   * @return the {hit, stand} EVs, or null if the state is unplayable or the deadline passed
+   */
+  private double[] evaluate(int total, int dealerCard, int usableAce, int[] unseenCounts,
+                            long deadlineNanos) {
+    long key = EvCache.packKey(total, dealerCard, usableAce, unseenCounts);
+    if (key >= 0) {
+      double[] cached = cache.get(key);
+      if (cached != null) {
+        cacheHits.increment();
+        return cached;
+      }
+    }
+    double[] ev = compute(total, dealerCard, usableAce, unseenCounts, deadlineNanos);
+    if (ev != null && key >= 0) {
+      cache.put(key, ev);
+    }
+    return ev;
+  }
+
+  /**
+   * Computes the hit and stand EVs of a state.
+   *
+   * @param deadlineNanos {@link System#nanoTime()} value after which to give up,
+   *                      or {@link Long#MAX_VALUE} for no deadline
+   * @return the {hit, stand} EVs, or null if the state is unplayable or the deadline passed
+   */
+  private double[] compute(int total, int dealerCard, int usableAce, int[] unseenCounts,
+                           long deadlineNanos) {
+    if (total < 2 || total > 21 || dealerCard < 1 || dealerCard > RANKS
+        || usableAce < 0 || usableAce > 1) {
+      return null;
+    }
+    int remaining = 0;
+    for (int rank = 1; rank <= RANKS; rank++) {
+      remaining += unseenCounts[rank];
+    }
+    if (remaining == 0) {
+      return null;
+    }
+
+    double[] outcomes = dealerCalculator.forComposition(dealerCard, unseenCounts, deadlineNanos);
+    if (outcomes == null) {
+      return null;
+    }
+    PlayerSearch search = new PlayerSearch(outcomes, deadlineNanos);
+    double hit = hitEv(total - 10 * usableAce, usableAce == 1, unseenCounts, remaining, 0L, search);
+    if (search.deadline.isExpired()) {
+      return null;
+    }
+    double[] ev = new double[QTable.ACTION_COUNT];
+    ev[QTable.HIT] = hit;
+    ev[QTable.STAND] = search.standEv[total];
+    return ev;
+  }
+
+  /**
+   * Recursively computes the EV of hitting once and then playing optimally.
+   * Memo keys pack the hard total, the ace flag and the cards drawn so far per rank, in
+   * the same way as the dealer recursion in {@link DealerOutcomeCalculator}.
+   *
+   * @param hard      the player's hard total
+   * @param hasAce    whether the hand holds an ace
+   * @param counts    unseen cards per rank; modified during recursion and restored
+   * @param remaining total of {@code counts}, at least 1
+   * @param drawn     packed per-rank counts of cards drawn so far
+   * @param search    stand EVs, memo and deadline of the current query
+   * @return the EV of hitting (meaningless once the search expired)
+   */
+  private static double hitEv(int hard, boolean hasAce, int[] counts, int remaining,
+                              long drawn, PlayerSearch search) {
+    long key = drawn << 6 | (long) hard << 1 | (hasAce ? 1 : 0);
+    double cached = search.memo.get(key, Double.NaN);
+    if (!Double.isNaN(cached)) {
+      return cached;
+    }
+    if (search.deadline.checkExpired()) {
+      return 0.0;
+    }
+
+    double ev = 0.0;
+    for (int rank = 1; rank <= RANKS; rank++) {
+      int count = counts[rank];
+      if (count == 0) {
+        continue;
+      }
+      int nextHard = hard + rank;
+      boolean nextAce = hasAce || rank == 1;
+      double value;
+      if (nextHard > 21) {
+        value = -1.0;
+      } else {
+        int score = nextAce && nextHard + 10 <= 21 ? nextHard + 10 : nextHard;
+        value = search.standEv[score];
+        // With the shoe empty the player can only stand; a reshuffle is not modelled
+        if (score < 21 && remaining > 1) {
+          counts[rank]--;
+          double hit = hitEv(nextHard, nextAce, counts, remaining - 1,
+              drawn + (1L << (5 * (rank - 1))), search);
+          counts[rank]++;
+          if (search.deadline.isExpired()) {
+            return 0.0;
+          }
+          value = Math.max(value, hit);
+        }
+      }
+      ev += (double) count / remaining * value;
+    }
+    search.memo.put(key, ev);
+    return ev;
+  }
+
+  /**
+   * Adds one query latency to the histogram.
+   *
+   * @param nanos the query latency
+   */
+  private void recordLatency(long nanos) {
+    int bucket = (int) Math.min(LATENCY_BUCKETS - 1, nanos / LATENCY_BUCKET_NANOS);
+    latencyHistogram.incrementAndGet(bucket);
+  }
+
+  /**
+   * Returns the number of queries answered so far.
+   *
+   * @return the query count
+   */
+  public long getQueryCount() {
+    return queries.sum();
+  }
+
+  /**
+   * Returns the number of queries answered from the cache.
+   *
+   * @return the cache hit count
+   */
+  public long getCacheHitCount() {
+    return cacheHits.sum();
+  }
+
+  /**
+   * Returns the number of queries answered by the static table, either because they
+   * exceeded the budget or because the state could not be evaluated.
+   *
+   * @return the fallback count
+   */
+  public long getFallbackCount() {
+    return fallbacks.sum();
+  }
+
+  /**
+   * Returns the cache holding this advisor's results, for its size and metrics.
+   *
+   * @return the cache
+   */
+  public EvCache getCache() {
+    return cache;
+  }
+
+  /**
+   * Returns an upper bound on the given latency percentile, at 10 microsecond resolution.
+   *
+   * @param percentile the percentile, in (0, 100]
+   * @return the latency in nanoseconds, {@link Long#MAX_VALUE} if it is 2 ms or more,
+   *         or 0 if no query has been answered
+   */
+  public long getLatencyPercentileNanos(double percentile) {
+    long total = 0;
+    long[] counts = new long[LATENCY_BUCKETS];
+    for (int i = 0; i < LATENCY_BUCKETS; i++) {
+      counts[i] = latencyHistogram.get(i);
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(total * percentile / 100.0);
+    long seen = 0;
+    for (int i = 0; i < LATENCY_BUCKETS - 1; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return (i + 1) * LATENCY_BUCKET_NANOS;
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * State of one player-side query: stand EVs, memo and deadline.
+   */
+  private static final class PlayerSearch {
+
+    /** EV of standing on each player total against the query's dealer distribution. */
+    final double[] standEv = new double[QTable.TOTAL_SLOTS];
+
+    /** Hit EVs by packed player state; the calling thread's reused memo, cleared. */
+    final LongDoubleMap memo;
+
+    /** Time budget of the query. */
+    final SearchDeadline deadline;
+
+    PlayerSearch(double[] outcomes, long deadlineNanos) {
+      for (int total = 0; total < standEv.length; total++) {
+        standEv[total] = DealerOutcomeCalculator.standEv(total, outcomes);
+      }
+      this.deadline = new SearchDeadline(deadlineNanos);
+      this.memo = MEMOS.get();
+      memo.clear();
+    }
+  }
+}
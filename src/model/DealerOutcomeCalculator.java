@@ -0,0 +1,263 @@
+package model;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Computes the exact distribution of the dealer's final total for each upcard,
+ * under the dealer rule used by the controllers: hit below 17, stand on all 17s.
+ *
+ * <p>Outcomes are indexed 0-4 for final totals 17-21 and {@link #BUST} for a bust.
+ * Infinite-deck distributions are computed once and cached for all upcards, so
+ * {@link #standEv(int, int)} is a single table read. For a finite shoe,
+ * {@link #forComposition(int, int[])} recurses over the remaining cards, memoizing
+ * each (dealer total, soft flag, remaining composition) state it reaches, and can give up
+ * at a caller-supplied deadline so real-time callers can fall back to the infinite deck.</p>
+ */
+public class DealerOutcomeCalculator {
+
+  /** Number of outcomes: final totals 17-21 and bust. */
+  public static final int OUTCOMES = 6;
+
+  /** Outcome index of a dealer bust. */
+  public static final int BUST = 5;
+
+  /** Score at or above which the dealer stands. */
+  private static final int DEALER_STANDS_ON = 17;
+
+  /** Number of card ranks by game value (1 for Ace up to 10). */
+  private static final int RANKS = 10;
+
+  /** Probability of drawing each rank (index 1-10) from an infinite deck. */
+  private static final double[] INFINITE_RANK_PROBABILITY = new double[RANKS + 1];
+
+  /** Infinite-deck outcome distribution per upcard, indexed {@code [upcard][outcome]}. */
+  private static final double[][] INFINITE_OUTCOMES = new double[RANKS + 1][];
+
+  /** Infinite-deck stand EV per upcard and player total, indexed {@code [upcard][total]}. */
+  private static final double[][] INFINITE_STAND_EV = new double[RANKS + 1][QTable.TOTAL_SLOTS];
+
+  /** Infinite-deck distribution from every dealer hand state, indexed {@code [hasAce][hard]}. */
+  private static final double[][][] INFINITE_MEMO = new double[2][32][];
+
+  static {
+    for (int rank = 1; rank <= 9; rank++) {
+      INFINITE_RANK_PROBABILITY[rank] = 1.0 / 13;
+    }
+    INFINITE_RANK_PROBABILITY[10] = 4.0 / 13;
+
+    for (int upcard = 1; upcard <= RANKS; upcard++) {
+      INFINITE_OUTCOMES[upcard] = infiniteFrom(upcard, upcard == 1, INFINITE_MEMO);
+      for (int total = 0; total < QTable.TOTAL_SLOTS; total++) {
+        INFINITE_STAND_EV[upcard][total] = standEv(total, INFINITE_OUTCOMES[upcard]);
+      }
+    }
+  }
+
+  /**
+   * Returns the infinite-deck outcome distribution for an upcard.
+   *
+   * @param upcard the dealer's visible card value (1-10)
+   * @return a new array of {@link #OUTCOMES} probabilities
+   */
+  public static double[] infiniteDeck(int upcard) {
+    return INFINITE_OUTCOMES[upcard].clone();
+  }
+
+  /**
+   * Returns the infinite-deck probability of one outcome for an upcard.
+   *
+   * @param upcard  the dealer's visible card value (1-10)
+   * @param outcome 0-4 for final totals 17-21, or {@link #BUST}
+   * @return the probability
+   */
+  public static double probability(int upcard, int outcome) {
+    return INFINITE_OUTCOMES[upcard][outcome];
+  }
+
+  /**
+   * Returns the infinite-deck expected value of standing, from a precomputed table.
+   *
+   * @param playerTotal the player's total (0-31)
+   * @param upcard      the dealer's visible card value (1-10)
+   * @return the expected value of standing, between -1 and 1
+   */
+  public static double standEv(int playerTotal, int upcard) {
+    return INFINITE_STAND_EV[upcard][playerTotal];
+  }
+
+  /**
+   * Returns the expected value of standing on a total against a dealer outcome distribution.
+   *
+   * @param playerTotal the player's total
+   * @param outcomes    the dealer's outcome distribution
+   * @return the expected value of standing, between -1 and 1
+   */
+  public static double standEv(int playerTotal, double[] outcomes) {
+    if (playerTotal > 21) {
+      return -1.0;
+    }
+    double win = outcomes[BUST];
+    double lose = 0.0;
+    for (int i = 0; i < BUST; i++) {
+      int dealerTotal = DEALER_STANDS_ON + i;
+      if (dealerTotal < playerTotal) {
+        win += outcomes[i];
+      } else if (dealerTotal > playerTotal) {
+        lose += outcomes[i];
+      }
+    }
+    return win - lose;
+  }
+
+  /**
+   * Computes the outcome distribution for an upcard dealt from a finite shoe.
+   * The hole card and every later card are drawn from {@code rankCounts} without replacement.
+   *
+   * @param upcard     the dealer's visible card value (1-10)
+   * @param rankCounts remaining cards per game value, indexed 1-10 (index 0 unused);
+   *                   must not include the upcard. The array is restored before returning.
+   * @return a new array of {@link #OUTCOMES} probabilities
+   */
+  public double[] forComposition(int upcard, int[] rankCounts) {
+    return forComposition(upcard, rankCounts, Long.MAX_VALUE);
+  }
+
+  /**
+   * Computes the outcome distribution for an upcard dealt from a finite shoe,
+   * giving up once a deadline has passed.
+   *
+   * @param upcard        the dealer's visible card value (1-10)
+   * @param rankCounts    remaining cards per game value, indexed 1-10 (index 0 unused);
+   *                      must not include the upcard. The array is restored before returning.
+   * @param deadlineNanos {@link System#nanoTime()} value after which to give up,
+   *                      or {@link Long#MAX_VALUE} for no deadline
+   * @return a new array of {@link #OUTCOMES} probabilities, or null if the deadline passed
+   */
+  public double[] forComposition(int upcard, int[] rankCounts, long deadlineNanos) {
+    int remaining = 0;
+    for (int rank = 1; rank <= RANKS; rank++) {
+      remaining += rankCounts[rank];
+    }
+    Search search = new Search(deadlineNanos);
+    double[] result = finiteFrom(upcard, upcard == 1, rankCounts, remaining, 0L, search);
+    return search.deadline.isExpired() ? null : result.clone();
+  }
+
+  /**
+   * Recursively computes the infinite-deck distribution from a dealer hand state.
+   *
+   * @param hard   the dealer's hard total
+   * @param hasAce whether the hand holds an ace
+   * @param memo   results by {@code [hasAce][hard]}
+   * @return the outcome distribution from this state
+   */
+  private static double[] infiniteFrom(int hard, boolean hasAce, double[][][] memo) {
+    double[] cached = memo[hasAce ? 1 : 0][hard];
+    if (cached != null) {
+      return cached;
+    }
+    double[] result = new double[OUTCOMES];
+    int score = score(hard, hasAce);
+    if (hard > 21) {
+      result[BUST] = 1.0;
+    } else if (score >= DEALER_STANDS_ON) {
+      result[score - DEALER_STANDS_ON] = 1.0;
+    } else {
+      for (int rank = 1; rank <= RANKS; rank++) {
+        double[] next = infiniteFrom(hard + rank, hasAce || rank == 1, memo);
+        double p = INFINITE_RANK_PROBABILITY[rank];
+        for (int i = 0; i < OUTCOMES; i++) {
+          result[i] += p * next[i];
+        }
+      }
+    }
+    memo[hasAce ? 1 : 0][hard] = result;
+    return result;
+  }
+
+  /**
+   * Recursively computes the finite-shoe distribution from a dealer hand state.
+   *
+   * <p>The memo key packs the dealer's hard total (5 bits), soft flag (1 bit) and the
+   * cards drawn so far per rank (5 bits each). Within one query the starting shoe is fixed,
+   * so the drawn cards identify the remaining composition exactly, and the key always fits
+   * in a long even for an 8-deck shoe.</p>
+   *
+   * @param hard       the dealer's hard total
+   * @param hasAce     whether the hand holds an ace
+   * @param counts     remaining cards per rank; modified during recursion and restored
+   * @param remaining  total of {@code counts}
+   * @param drawn      packed per-rank counts of cards drawn so far
+   * @param search     memo and deadline of the current query
+   * @return the outcome distribution from this state (meaningless once the search expired)
+   */
+  private static double[] finiteFrom(int hard, boolean hasAce, int[] counts, int remaining,
+                                     long drawn, Search search) {
+    int score = score(hard, hasAce);
+    if (hard > 21) {
+      double[] bust = new double[OUTCOMES];
+      bust[BUST] = 1.0;
+      return bust;
+    }
+    if (score >= DEALER_STANDS_ON) {
+      double[] stand = new double[OUTCOMES];
+      stand[score - DEALER_STANDS_ON] = 1.0;
+      return stand;
+    }
+    if (remaining == 0) {
+      // Shoe ran dry mid-hand; a real game reshuffles, so continue as if from a fresh deck
+      return infiniteFrom(hard, hasAce, INFINITE_MEMO);
+    }
+
+    long key = drawn << 6 | (long) hard << 1 | (hasAce ? 1 : 0);
+    double[] cached = search.memo.get(key);
+    if (cached != null) {
+      return cached;
+    }
+    if (search.deadline.checkExpired()) {
+      return null;
+    }
+
+    double[] result = new double[OUTCOMES];
+    for (int rank = 1; rank <= RANKS; rank++) {
+      int count = counts[rank];
+      if (count == 0) {
+        continue;
+      }
+      double p = (double) count / remaining;
+      counts[rank]--;
+      double[] next = finiteFrom(hard + rank, hasAce || rank == 1, counts, remaining - 1,
+          drawn + (1L << (5 * (rank - 1))), search);
+      counts[rank]++;
+      if (search.deadline.isExpired()) {
+        return null;
+      }
+      for (int i = 0; i < OUTCOMES; i++) {
+        result[i] += p * next[i];
+      }
+    }
+    search.memo.put(key, result);
+    return result;
+  }
+
+  /**
+   * State of one finite-shoe query: its memo and its deadline.
+   */
+  private static final class Search {
+
+    /** Distributions by packed dealer state. */
+    final Map<Long, double[]> memo = new HashMap<>();
+
+    /** Time budget of the query. */
+    final SearchDeadline deadline;
+
+    Search(long deadlineNanos) {
+      this.deadline = new SearchDeadline(deadlineNanos);
+    }
+  }
+
+  /** Returns the score of a hand, counting a usable ace as 11. */
+  private static int score(int hard, boolean hasAce) {
+    return hasAce && hard + 10 <= 21 ? hard + 10 : hard;
+  }
+}
@@ -1,5 +1,7 @@
 package model;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
  * Represents a standard 52-card deck used in card games.
@@ -15,22 +17,33 @@ public class Deck {
   /**
    * Constructs a new shuffled deck containing 52 standard playing cards.
    * Each suit has 13 cards with values from 1 (Ace) to 13 (King).
+   * The cards are the shared canonical instances from {@link Card#of(int)}.
+   * Shuffles with the calling thread's own generator, so concurrent decks do not contend.
    */
   public Deck() {
-    String[] suits = {"Hearts", "Diamonds", "Clubs", "Spades"};
+    this(ThreadLocalRandom.current());
+  }
 
-    for (String suit : suits) {
-      for (int i = 1; i <= 13; i++) {
-        cards.add(new Card(suit, i));
-      }
+  /**
+   * Constructs a new deck shuffled with the given generator.
+   * A seeded generator makes the card order reproducible.
+   *
+   * @param rng the random generator used to shuffle
+   */
+  public Deck(RandomGenerator rng) {
+    for (int code = 0; code < Card.DISTINCT_CARDS; code++) {
+      cards.add(Card.of(code));
     }
 
-    // Shuffle the deck to randomize card order
-    Collections.shuffle(cards);
+    // Shuffle the deck to randomize card order (Fisher-Yates)
+    for (int i = cards.size() - 1; i > 0; i--) {
+      Collections.swap(cards, i, rng.nextInt(i + 1));
+    }
   }
 
   /**
    * Draws (removes and returns) the top card from the deck.
+   * The top of the deck is the end of the list, so drawing never shifts the remaining cards.
    *
    * @return the drawn card
    * @throws IllegalStateException if the deck is empty
@@ -39,6 +52,6 @@ public class Deck {
     if (cards.isEmpty()) {
       throw new IllegalStateException("Deck is empty");
     }
-    return cards.remove(0);
+    return cards.remove(cards.size() - 1);
   }
 }
@@ -0,0 +1,613 @@
+package model;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code EvCache} is a bounded, thread-safe cache of EV results under {@code long} keys,
+ * built for composition-dependent evaluations that repeat across the rounds of a shoe.
+ *
+ * <p>The cache is split into independently locked stripes chosen by key hash, so parallel
+ * simulation threads rarely contend. Each stripe enforces its share of the configured entry
+ * and byte limits on every insert, so memory stays flat however long the cache is used.
+ * Two eviction policies are available:</p>
+ * <ul>
+ *   <li>{@link Eviction#LRU}: evict the least recently used entry.</li>
+ *   <li>{@link Eviction#TINY_LFU}: W-TinyLFU. New entries enter a small LRU window; entries
+ *       leaving the window only displace the main region's LRU victim if a count-min
+ *       frequency sketch says they are used more often. This keeps one-off keys from
+ *       flushing heavily reused ones.</li>
+ * </ul>
+ *
+ * <p>Instances are created with {@link Builder}. Keys for game states are built with
+ * {@link #packKey(int, int, int, int[])}.</p>
+ */
+public final class EvCache {
+
+  /** Eviction policies. */
+  public enum Eviction {
+    /** Least recently used. */
+    LRU,
+    /** Window TinyLFU: LRU window plus frequency-based admission to the main region. */
+    TINY_LFU
+  }
+
+  /** Estimated heap bytes per entry besides the value array: map entry, boxed key, array header. */
+  static final int ENTRY_OVERHEAD_BYTES = 88;
+
+  /** Fraction of a stripe's capacity given to the W-TinyLFU admission window. */
+  private static final double WINDOW_FRACTION = 0.01;
+
+  /** Largest sketch width per stripe, bounding the sketch at 4 MB per stripe. */
+  private static final int MAX_SKETCH_WIDTH = 1 << 20;
+
+  /** Stripes, indexed by the low bits of the spread key. */
+  private final Segment[] segments;
+
+  /** {@code segments.length - 1}. */
+  private final int segmentMask;
+
+  /** Number of lookups that found a value. */
+  private final LongAdder hits = new LongAdder();
+
+  /** Number of lookups that found nothing. */
+  private final LongAdder misses = new LongAdder();
+
+  /** Number of entries removed or refused to respect the limits. */
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Constructs a cache from a builder's settings.
+   *
+   * @param builder the settings
+   */
+  private EvCache(Builder builder) {
+    // Never more stripes than entries, so every stripe can hold at least one
+    int stripes = Integer.highestOneBit((int) Math.min(builder.stripes, builder.maxEntries));
+    this.segments = new Segment[stripes];
+    this.segmentMask = stripes - 1;
+    for (int i = 0; i < stripes; i++) {
+      segments[i] = new Segment(builder.eviction, share(builder.maxEntries, stripes, i),
+          share(builder.maxBytes, stripes, i));
+    }
+  }
+
+  /**
+   * Returns one stripe's share of a limit. The remainder goes one apiece to the first
+   * stripes, so the shares add up to exactly the limit.
+   *
+   * @param limit   the limit across all stripes
+   * @param stripes the stripe count
+   * @param index   the stripe
+   * @return the stripe's share
+   */
+  private static long share(long limit, int stripes, int index) {
+    return limit / stripes + (index < limit % stripes ? 1 : 0);
+  }
+
+  /**
+   * Returns a builder for a new cache.
+   *
+   * @return a builder with default settings
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the value cached under a key. The returned array is shared and must not be modified.
+   *
+   * @param key the key
+   * @return the cached value, or null if absent
+   */
+  public double[] get(long key) {
+    long spread = spread(key);
+    double[] value = segmentFor(spread).get(key, spread);
+    if (value == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return value;
+  }
+
+  /**
+   * Caches a value, possibly evicting others. The array is owned by the cache afterwards.
+   *
+   * @param key   the key
+   * @param value the value
+   */
+  public void put(long key, double[] value) {
+    long spread = spread(key);
+    evictions.add(segmentFor(spread).put(key, spread, value));
+  }
+
+  /**
+   * Removes every entry. Metrics are kept.
+   */
+  public void clear() {
+    for (Segment segment : segments) {
+      segment.clear();
+    }
+  }
+
+  /**
+   * Returns the number of cached entries.
+   *
+   * @return the entry count
+   */
+  public long size() {
+    long size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /**
+   * Returns the estimated heap used by cached entries, excluding the fixed-size sketches.
+   *
+   * @return the estimated bytes
+   */
+  public long estimatedBytes() {
+    long bytes = 0;
+    for (Segment segment : segments) {
+      bytes += segment.bytes();
+    }
+    return bytes;
+  }
+
+  /**
+   * Returns the number of lookups that found a value.
+   *
+   * @return the hit count
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of lookups that found nothing.
+   *
+   * @return the miss count
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the number of entries evicted, or refused admission, to respect the limits.
+   *
+   * @return the eviction count
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * Returns the fraction of lookups that found a value.
+   *
+   * @return the hit rate, or 0 if there were no lookups
+   */
+  public double getHitRate() {
+    long h = hits.sum();
+    long total = h + misses.sum();
+    return total == 0 ? 0.0 : (double) h / total;
+  }
+
+  /**
+   * Packs a game state into a key: the count of each rank from Ace to 9 in 5 bits,
+   * ten-value cards in 7 bits, then the total, usable-ace flag and dealer upcard.
+   *
+   * @param total      the player's hand total
+   * @param dealerCard the dealer's visible card value
+   * @param usableAce  1 if the player has a usable ace, 0 otherwise
+   * @param rankCounts cards per game value, indexed 1-10
+   * @return the key, or -1 if a count is too large to pack (early in a shoe of eight
+   *         decks, which holds 32 of each rank and 128 ten-value cards)
+   */
+  public static long packKey(int total, int dealerCard, int usableAce, int[] rankCounts) {
+    long key = 0;
+    for (int rank = 1; rank <= 9; rank++) {
+      int count = rankCounts[rank];
+      if (count > 31) {
+        return -1;
+      }
+      key |= (long) count << (5 * (rank - 1));
+    }
+    if (rankCounts[10] > 127) {
+      return -1;
+    }
+    key |= (long) rankCounts[10] << 45;
+    key |= (long) (total & 31) << 52;
+    key |= (long) (usableAce & 1) << 57;
+    key |= (long) (dealerCard & 15) << 58;
+    return key;
+  }
+
+  /**
+   * Returns the estimated heap bytes of one entry.
+   *
+   * @param value the cached value
+   * @return the estimated bytes
+   */
+  static long weigh(double[] value) {
+    return ENTRY_OVERHEAD_BYTES + 8L * value.length;
+  }
+
+  /**
+   * Mixes a key so that the stripe and sketch indexes use well-distributed bits
+   * (SplitMix64 finalizer).
+   *
+   * @param key the key
+   * @return the mixed key
+   */
+  private static long spread(long key) {
+    long z = key + 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Returns the stripe responsible for a spread key.
+   *
+   * @param spread the mixed key
+   * @return the stripe
+   */
+  private Segment segmentFor(long spread) {
+    return segments[(int) spread & segmentMask];
+  }
+
+  /**
+   * Settings for a new {@link EvCache}.
+   */
+  public static final class Builder {
+
+    /** Maximum number of entries across all stripes. */
+    private long maxEntries = Long.MAX_VALUE;
+
+    /** Maximum estimated bytes across all stripes. */
+    private long maxBytes = Long.MAX_VALUE;
+
+    /** Number of stripes, rounded down to a power of two. */
+    private int stripes = 16;
+
+    /** Eviction policy. */
+    private Eviction eviction = Eviction.LRU;
+
+    /**
+     * Limits the number of entries.
+     *
+     * @param maxEntries the maximum entry count, at least 1
+     * @return this builder
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public Builder maxEntries(long maxEntries) {
+      if (maxEntries <= 0) {
+        throw new IllegalArgumentException("Entry limit must be positive: " + maxEntries);
+      }
+      this.maxEntries = maxEntries;
+      return this;
+    }
+
+    /**
+     * Limits the estimated heap used by entries.
+     *
+     * @param maxBytes the maximum estimated bytes, at least 1
+     * @return this builder
+     * @throws IllegalArgumentException if the limit is not positive
+     */
+    public Builder maxBytes(long maxBytes) {
+      if (maxBytes <= 0) {
+        throw new IllegalArgumentException("Byte limit must be positive: " + maxBytes);
+      }
+      this.maxBytes = maxBytes;
+      return this;
+    }
+
+    /**
+     * Sets the number of independently locked stripes.
+     *
+     * @param stripes the stripe count, at least 1; capped at the entry limit and rounded down
+     *                to a power of two
+     * @return this builder
+     * @throws IllegalArgumentException if the count is not positive
+     */
+    public Builder stripes(int stripes) {
+      if (stripes <= 0) {
+        throw new IllegalArgumentException("Stripe count must be positive: " + stripes);
+      }
+      this.stripes = stripes;
+      return this;
+    }
+
+    /**
+     * Sets the eviction policy.
+     *
+     * @param eviction the policy
+     * @return this builder
+     */
+    public Builder eviction(Eviction eviction) {
+      this.eviction = eviction;
+      return this;
+    }
+
+    /**
+     * Builds the cache.
+     *
+     * @return the new cache
+     * @throws IllegalStateException if neither an entry nor a byte limit was set
+     */
+    public EvCache build() {
+      if (maxEntries == Long.MAX_VALUE && maxBytes == Long.MAX_VALUE) {
+        throw new IllegalStateException("An entry or byte limit is required");
+      }
+      return new EvCache(this);
+    }
+  }
+
+  /**
+   * An access-ordered map with entry and byte limits.
+   */
+  private static final class Region {
+
+    /** Entries, least recently used first. */
+    final LinkedHashMap<Long, double[]> map = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Maximum number of entries. */
+    final long maxEntries;
+
+    /** Maximum estimated bytes. */
+    final long maxBytes;
+
+    /** Estimated bytes of the current entries. */
+    long bytes;
+
+    Region(long maxEntries, long maxBytes) {
+      this.maxEntries = maxEntries;
+      this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns whether adding an entry of the given weight would exceed a limit.
+     *
+     * @param weight the estimated bytes of the entry
+     * @return true if the entry does not fit
+     */
+    boolean wouldOverflow(long weight) {
+      return map.size() + 1 > maxEntries || bytes + weight > maxBytes;
+    }
+
+    /**
+     * Returns whether a limit is currently exceeded.
+     *
+     * @return true if the region is over its limits
+     */
+    boolean isOver() {
+      return map.size() > maxEntries || bytes > maxBytes;
+    }
+
+    void add(long key, double[] value) {
+      map.put(key, value);
+      bytes += weigh(value);
+    }
+
+    double[] replace(long key, double[] value) {
+      double[] old = map.put(key, value);
+      bytes += weigh(value) - weigh(old);
+      return old;
+    }
+
+    /**
+     * Removes and returns the least recently used entry.
+     *
+     * @return the removed entry
+     */
+    Map.Entry<Long, double[]> removeEldest() {
+      Iterator<Map.Entry<Long, double[]>> it = map.entrySet().iterator();
+      Map.Entry<Long, double[]> eldest = it.next();
+      Map.Entry<Long, double[]> removed = Map.entry(eldest.getKey(), eldest.getValue());
+      it.remove();
+      bytes -= weigh(removed.getValue());
+      return removed;
+    }
+
+    void clear() {
+      map.clear();
+      bytes = 0;
+    }
+  }
+
+  /**
+   * One independently locked stripe of the cache.
+   */
+  private static final class Segment {
+
+    /** Eviction policy of this stripe. */
+    final Eviction eviction;
+
+    /** Admission window; only used by {@link Eviction#TINY_LFU}. */
+    final Region window;
+
+    /** Main region holding most entries. */
+    final Region main;
+
+    /** Access frequency estimates; only used by {@link Eviction#TINY_LFU}. */
+    final FrequencySketch sketch;
+
+    Segment(Eviction eviction, long maxEntries, long maxBytes) {
+      this.eviction = eviction;
+      if (eviction == Eviction.TINY_LFU) {
+        long windowEntries = Math.max(1, (long) (maxEntries * WINDOW_FRACTION));
+        long windowBytes = Math.max(1, (long) (maxBytes * WINDOW_FRACTION));
+        this.window = new Region(windowEntries, windowBytes);
+        this.main = new Region(maxEntries - windowEntries, Math.max(0, maxBytes - windowBytes));
+        long expected = maxEntries != Long.MAX_VALUE ? maxEntries
+            : maxBytes / (ENTRY_OVERHEAD_BYTES + 2 * Double.BYTES);
+        this.sketch = new FrequencySketch((int) Math.min(MAX_SKETCH_WIDTH, Math.max(16, expected)));
+      } else {
+        this.window = null;
+        this.main = new Region(maxEntries, maxBytes);
+        this.sketch = null;
+      }
+    }
+
+    synchronized double[] get(long key, long spread) {
+      if (sketch != null) {
+        sketch.increment(spread);
+        double[] value = window.map.get(key);
+        if (value != null) {
+          return value;
+        }
+      }
+      return main.map.get(key);
+    }
+
+    /**
+     * Inserts or replaces an entry and restores the limits.
+     *
+     * @return the number of entries evicted or refused
+     */
+    synchronized int put(long key, long spread, double[] value) {
+      if (sketch == null) {
+        if (main.map.containsKey(key)) {
+          main.replace(key, value);
+        } else {
+          main.add(key, value);
+        }
+        int evicted = 0;
+        while (main.isOver() && !main.map.isEmpty()) {
+          main.removeEldest();
+          evicted++;
+        }
+        return evicted;
+      }
+
+      sketch.increment(spread);
+      if (window.map.containsKey(key)) {
+        window.replace(key, value);
+        return 0;
+      }
+      if (main.map.containsKey(key)) {
+        main.replace(key, value);
+        int evicted = 0;
+        while (main.isOver() && !main.map.isEmpty()) {
+          main.removeEldest();
+          evicted++;
+        }
+        return evicted;
+      }
+      window.add(key, value);
+      int evicted = 0;
+      while (window.isOver() && !window.map.isEmpty()) {
+        evicted += admit(window.removeEldest());
+      }
+      return evicted;
+    }
+
+    /**
+     * Offers an entry leaving the window to the main region. While the main region is full,
+     * the candidate and the main region's LRU victim compete on estimated frequency and the
+     * loser is dropped.
+     *
+     * @param candidate the entry leaving the window
+     * @return the number of entries dropped
+     */
+    private int admit(Map.Entry<Long, double[]> candidate) {
+      long weight = weigh(candidate.getValue());
+      int candidateFrequency = sketch.frequency(spread(candidate.getKey()));
+      int evicted = 0;
+      while (main.wouldOverflow(weight)) {
+        if (main.map.isEmpty()) {
+          return evicted + 1;
+        }
+        long victim = main.map.keySet().iterator().next();
+        if (candidateFrequency <= sketch.frequency(spread(victim))) {
+          return evicted + 1;
+        }
+        main.removeEldest();
+        evicted++;
+      }
+      main.add(candidate.getKey(), candidate.getValue());
+      return evicted;
+    }
+
+    synchronized void clear() {
+      main.clear();
+      if (window != null) {
+        window.clear();
+      }
+    }
+
+    synchronized int size() {
+      return main.map.size() + (window == null ? 0 : window.map.size());
+    }
+
+    synchronized long bytes() {
+      return main.bytes + (window == null ? 0 : window.bytes);
+    }
+  }
+
+  /**
+   * A count-min sketch of 4-bit counters, four rows deep, that halves every counter after a
+   * fixed number of increments so estimates follow recent popularity. Not thread-safe;
+   * each stripe guards its own.
+   */
+  private static final class FrequencySketch {
+
+    /** Counters per row; a power of two. */
+    private final int width;
+
+    /** Four rows of counters, one byte per counter. */
+    private final byte[] counters;
+
+    /** Increments between halvings. */
+    private final int sampleSize;
+
+    /** Increments since the last halving. */
+    private int increments;
+
+    FrequencySketch(int expectedEntries) {
+      this.width = Integer.highestOneBit(Math.max(16, expectedEntries - 1) << 1);
+      this.counters = new byte[4 * width];
+      this.sampleSize = 10 * width;
+    }
+
+    /**
+     * Returns the counter index of a hash in a row.
+     *
+     * @param spread the mixed key
+     * @param row    the row (0-3)
+     * @return the index into {@link #counters}
+     */
+    private int index(long spread, int row) {
+      int h = (int) (spread >>> (16 * row)) ^ (int) (spread >>> 32) * (2 * row + 1);
+      return row * width + (h & (width - 1));
+    }
+
+    void increment(long spread) {
+      for (int row = 0; row < 4; row++) {
+        int i = index(spread, row);
+        if (counters[i] < 15) {
+          counters[i]++;
+        }
+      }
+      if (++increments >= sampleSize) {
+        for (int i = 0; i < counters.length; i++) {
+          counters[i] >>= 1;
+        }
+        increments /= 2;
+      }
+    }
+
+    int frequency(long spread) {
+      int min = 15;
+      for (int row = 0; row < 4; row++) {
+        min = Math.min(min, counters[index(spread, row)]);
+      }
+      return min;
+    }
+  }
+}
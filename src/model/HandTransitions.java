@@ -0,0 +1,144 @@
+package model;
+
+/**
+ * Precomputed transitions between Blackjack hand states, so a hand advances by one
+ * array read per card instead of re-deriving its soft and hard totals.
+ *
+ * <p>A hand state is an {@code int} whose low bits encode the hard total (0-31, counting
+ * every ace as 1) and whether the hand holds an ace. Two terminal flags are folded into
+ * the same value: {@link #BUST} and {@link #TWENTY_ONE}. {@link #next(int, int)} returns
+ * the state after drawing a card of a given game value, with its flags already set, and
+ * {@link #score(int)} and {@link #usableAce(int)} are table reads as well.</p>
+ *
+ * <p>Hard totals are capped at 31, so a busted hand stays busted whatever it draws.</p>
+ */
+public final class HandTransitions {
+
+  /** State of a hand with no cards. */
+  public static final int EMPTY = 0;
+
+  /** Number of distinct hand states (hard total 0-31 times ace flag). */
+  public static final int HAND_STATES = 64;
+
+  /** Flag set on states whose hard total is over 21. */
+  public static final int BUST = 1 << 6;
+
+  /** Flag set on states whose score is exactly 21. */
+  public static final int TWENTY_ONE = 1 << 7;
+
+  /** Bits of a state that identify the hand, without flags. */
+  private static final int HAND_MASK = HAND_STATES - 1;
+
+  /** Largest hard total kept in a state. */
+  private static final int MAX_HARD = 31;
+
+  /** Transition slots per state: game values 1-10, with slot 0 unused. */
+  private static final int RANK_SLOTS = 11;
+
+  /** Next state, flags included, indexed {@code [hand * RANK_SLOTS + rank]}. */
+  private static final int[] NEXT = new int[HAND_STATES * RANK_SLOTS];
+
+  /** Score of each hand, counting a usable ace as 11. */
+  private static final byte[] SCORE = new byte[HAND_STATES];
+
+  /** 1 if the hand has a usable ace, otherwise 0. */
+  private static final byte[] USABLE_ACE = new byte[HAND_STATES];
+
+  static {
+    for (int hand = 0; hand < HAND_STATES; hand++) {
+      int hard = hand >> 1;
+      boolean hasAce = (hand & 1) != 0;
+      boolean usable = hasAce && hard + 10 <= 21;
+      SCORE[hand] = (byte) (usable ? hard + 10 : hard);
+      USABLE_ACE[hand] = (byte) (usable ? 1 : 0);
+    }
+    for (int hand = 0; hand < HAND_STATES; hand++) {
+      int hard = hand >> 1;
+      boolean hasAce = (hand & 1) != 0;
+      for (int rank = 1; rank < RANK_SLOTS; rank++) {
+        NEXT[hand * RANK_SLOTS + rank] = of(Math.min(MAX_HARD, hard + rank), hasAce || rank == 1);
+      }
+    }
+  }
+
+  private HandTransitions() {
+  }
+
+  /**
+   * Returns the state of a hand with the given hard total and ace flag.
+   *
+   * @param hard   the hard total, counting every ace as 1 (capped at 31)
+   * @param hasAce whether the hand holds an ace
+   * @return the hand state with its flags set
+   */
+  public static int of(int hard, boolean hasAce) {
+    int capped = Math.min(MAX_HARD, hard);
+    int hand = capped << 1 | (hasAce ? 1 : 0);
+    if (capped > 21) {
+      return hand | BUST;
+    }
+    boolean usable = hasAce && capped + 10 <= 21;
+    return (usable ? capped + 10 : capped) == 21 ? hand | TWENTY_ONE : hand;
+  }
+
+  /**
+   * Returns the state after drawing a card.
+   *
+   * @param state the current state (flags are ignored)
+   * @param rank  the game value of the drawn card (1 for Ace up to 10)
+   * @return the next state with its flags set
+   */
+  public static int next(int state, int rank) {
+    return NEXT[(state & HAND_MASK) * RANK_SLOTS + rank];
+  }
+
+  /**
+   * Returns the score of a hand, counting a usable ace as 11.
+   *
+   * @param state the hand state
+   * @return the score
+   */
+  public static int score(int state) {
+    return SCORE[state & HAND_MASK];
+  }
+
+  /**
+   * Returns the usable ace flag of a hand in the form the Q-table expects.
+   *
+   * @param state the hand state
+   * @return 1 if the hand has a usable ace, otherwise 0
+   */
+  public static int usableAce(int state) {
+    return USABLE_ACE[state & HAND_MASK];
+  }
+
+  /**
+   * Returns the hard total of a hand, capped at 31.
+   *
+   * @param state the hand state
+   * @return the hard total
+   */
+  public static int hardTotal(int state) {
+    return (state & HAND_MASK) >> 1;
+  }
+
+  /**
+   * Returns whether a hand is bust.
+   *
+   * @param state the hand state
+   * @return true if the hard total is over 21
+   */
+  public static boolean isBust(int state) {
+    return (state & BUST) != 0;
+  }
+
+  /**
+   * Returns whether a hand scores exactly 21.
+   *
+   * @param state the hand state
+   * @return true if the score is 21
+   */
+  public static boolean isTwentyOne(int state) {
+    return (state & TWENTY_ONE) != 0;
+  }
+}
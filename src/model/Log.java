@@ -0,0 +1,318 @@
+package model;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.Instant;
+
+/**
+ * {@code Log} is a small logging facade shared by the model and controller packages.
+ *
+ * <p>Each class holds its own named logger from {@link #get(Class)}. Messages use
+ * {@code {}} placeholders and fixed-arity argument overloads, so a disabled level costs a
+ * single comparison: no varargs array, no string building. Enabled messages are handed to
+ * an {@link AsyncAppender}, which formats and writes them on a background thread, so the
+ * calling thread never blocks on {@code System.err}. A trailing {@link Throwable} argument
+ * that no placeholder consumes is printed with its stack trace.</p>
+ *
+ * <p>The threshold is global. It defaults to {@link Level#INFO} and can be set with the
+ * {@code blackjack.log.level} system property or {@link #setLevel(Level)}. Primitive
+ * arguments are boxed at the call site, so hot paths should still check
+ * {@link #isEnabled(Level)} first.</p>
+ */
+public final class Log {
+
+  /** Severity levels, from most to least verbose. */
+  public enum Level {
+    TRACE, DEBUG, INFO, WARN, ERROR, OFF
+  }
+
+  /** Ordinal of the lowest level that is written. */
+  private static volatile int threshold = initialLevel().ordinal();
+
+  /** Shared background appender writing to {@code System.err}. */
+  private static final AsyncAppender APPENDER = new AsyncAppender(8192, System.err::println);
+
+  /** Name printed with every message, normally the owning class. */
+  private final String name;
+
+  /**
+   * Creates a logger with the given name.
+   *
+   * @param name the logger name
+   */
+  private Log(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Returns a logger named after a class.
+   *
+   * @param owner the class that logs
+   * @return a logger
+   */
+  public static Log get(Class<?> owner) {
+    return new Log(owner.getName());
+  }
+
+  /**
+   * Sets the lowest level that is written, for every logger.
+   *
+   * @param level the new threshold
+   */
+  public static void setLevel(Level level) {
+    threshold = level.ordinal();
+  }
+
+  /**
+   * Returns the lowest level that is written.
+   *
+   * @return the current threshold
+   */
+  public static Level getLevel() {
+    return Level.values()[threshold];
+  }
+
+  /**
+   * Waits until every message logged so far has been written.
+   */
+  public static void flush() {
+    APPENDER.flush();
+  }
+
+  /**
+   * Returns the number of messages dropped because the appender's buffer was full.
+   *
+   * @return the dropped message count
+   */
+  public static long getDroppedCount() {
+    return APPENDER.getDroppedCount();
+  }
+
+  /**
+   * Returns whether messages at a level are written.
+   *
+   * @param level the level
+   * @return true if the level is at or above the threshold
+   */
+  public boolean isEnabled(Level level) {
+    return level.ordinal() >= threshold;
+  }
+
+  /** Logs a message at TRACE. */
+  public void trace(String message) {
+    log(Level.TRACE, message, null, null, null, 0);
+  }
+
+  /** Logs a message with one argument at TRACE. */
+  public void trace(String format, Object a) {
+    log(Level.TRACE, format, a, null, null, 1);
+  }
+
+  /** Logs a message with two arguments at TRACE. */
+  public void trace(String format, Object a, Object b) {
+    log(Level.TRACE, format, a, b, null, 2);
+  }
+
+  /** Logs a message with three arguments at TRACE. */
+  public void trace(String format, Object a, Object b, Object c) {
+    log(Level.TRACE, format, a, b, c, 3);
+  }
+
+  /** Logs a message at DEBUG. */
+  public void debug(String message) {
+    log(Level.DEBUG, message, null, null, null, 0);
+  }
+
+  /** Logs a message with one argument at DEBUG. */
+  public void debug(String format, Object a) {
+    log(Level.DEBUG, format, a, null, null, 1);
+  }
+
+  /** Logs a message with two arguments at DEBUG. */
+  public void debug(String format, Object a, Object b) {
+    log(Level.DEBUG, format, a, b, null, 2);
+  }
+
+  /** Logs a message with three arguments at DEBUG. */
+  public void debug(String format, Object a, Object b, Object c) {
+    log(Level.DEBUG, format, a, b, c, 3);
+  }
+
+  /** Logs a message at INFO. */
+  public void info(String message) {
+    log(Level.INFO, message, null, null, null, 0);
+  }
+
+  /** Logs a message with one argument at INFO. */
+  public void info(String format, Object a) {
+    log(Level.INFO, format, a, null, null, 1);
+  }
+
+  /** Logs a message with two arguments at INFO. */
+  public void info(String format, Object a, Object b) {
+    log(Level.INFO, format, a, b, null, 2);
+  }
+
+  /** Logs a message with three arguments at INFO. */
+  public void info(String format, Object a, Object b, Object c) {
+    log(Level.INFO, format, a, b, c, 3);
+  }
+
+  /** Logs a message at WARN. */
+  public void warn(String message) {
+    log(Level.WARN, message, null, null, null, 0);
+  }
+
+  /** Logs a message with one argument at WARN. */
+  public void warn(String format, Object a) {
+    log(Level.WARN, format, a, null, null, 1);
+  }
+
+  /** Logs a message with two arguments at WARN. */
+  public void warn(String format, Object a, Object b) {
+    log(Level.WARN, format, a, b, null, 2);
+  }
+
+  /** Logs a message with three arguments at WARN. */
+  public void warn(String format, Object a, Object b, Object c) {
+    log(Level.WARN, format, a, b, c, 3);
+  }
+
+  /** Logs a message at ERROR. */
+  public void error(String message) {
+    log(Level.ERROR, message, null, null, null, 0);
+  }
+
+  /** Logs a message with one argument at ERROR. */
+  public void error(String format, Object a) {
+    log(Level.ERROR, format, a, null, null, 1);
+  }
+
+  /** Logs a message with two arguments at ERROR. */
+  public void error(String format, Object a, Object b) {
+    log(Level.ERROR, format, a, b, null, 2);
+  }
+
+  /** Logs a message with three arguments at ERROR. */
+  public void error(String format, Object a, Object b, Object c) {
+    log(Level.ERROR, format, a, b, c, 3);
+  }
+
+  /**
+   * Hands an enabled message to the appender without formatting it.
+   */
+  private void log(Level level, String format, Object a, Object b, Object c, int argCount) {
+    if (level.ordinal() < threshold) {
+      return;
+    }
+    APPENDER.append(new Event(System.currentTimeMillis(), level, name,
+        Thread.currentThread().getName(), format, a, b, c, argCount));
+  }
+
+  /**
+   * Reads the initial threshold from the {@code blackjack.log.level} system property.
+   *
+   * @return the configured level, or INFO if unset or invalid
+   */
+  private static Level initialLevel() {
+    String configured = System.getProperty("blackjack.log.level");
+    if (configured != null) {
+      try {
+        return Level.valueOf(configured.trim().toUpperCase());
+      } catch (IllegalArgumentException e) {
+        // fall through to the default
+      }
+    }
+    return Level.INFO;
+  }
+
+  /**
+   * Substitutes arguments for {@code {}} placeholders in order. Placeholders without an
+   * argument are left as they are.
+   *
+   * @param format   the message pattern
+   * @param args     the arguments
+   * @param argCount number of arguments to use
+   * @return the formatted message
+   */
+  static String format(String format, Object[] args, int argCount) {
+    if (argCount == 0) {
+      return format;
+    }
+    StringBuilder sb = new StringBuilder(format.length() + 16 * argCount);
+    int from = 0;
+    int used = 0;
+    int at;
+    while (used < argCount && (at = format.indexOf("{}", from)) >= 0) {
+      sb.append(format, from, at).append(args[used++]);
+      from = at + 2;
+    }
+    return sb.append(format, from, format.length()).toString();
+  }
+
+  /**
+   * One log message as captured on the calling thread. Formatting happens in
+   * {@link #render()}, on the appender thread.
+   */
+  static final class Event {
+
+    /** Wall-clock time of the call, in epoch milliseconds. */
+    final long timeMillis;
+
+    /** Severity of the message. */
+    final Level level;
+
+    /** Name of the logger. */
+    final String logger;
+
+    /** Name of the calling thread. */
+    final String thread;
+
+    /** Message pattern with {@code {}} placeholders. */
+    final String format;
+
+    /** Arguments; unused slots are null. */
+    final Object[] args;
+
+    /** Number of arguments passed. */
+    final int argCount;
+
+    Event(long timeMillis, Level level, String logger, String thread, String format,
+          Object a, Object b, Object c, int argCount) {
+      this.timeMillis = timeMillis;
+      this.level = level;
+      this.logger = logger;
+      this.thread = thread;
+      this.format = format;
+      this.args = new Object[]{a, b, c};
+      this.argCount = argCount;
+    }
+
+    /**
+     * Formats the message as one line, followed by the stack trace of a trailing
+     * {@link Throwable} argument that no placeholder consumed.
+     *
+     * @return the rendered message
+     */
+    String render() {
+      int placeholders = 0;
+      for (int at = format.indexOf("{}"); at >= 0; at = format.indexOf("{}", at + 2)) {
+        placeholders++;
+      }
+      Throwable thrown = null;
+      int count = argCount;
+      if (count > placeholders && args[count - 1] instanceof Throwable) {
+        thrown = (Throwable) args[--count];
+      }
+      StringBuilder line = new StringBuilder(96)
+          .append(Instant.ofEpochMilli(timeMillis)).append(' ')
+          .append(String.format("%-5s", level)).append(" [").append(thread).append("] ")
+          .append(logger).append(" - ").append(format(format, args, count));
+      if (thrown != null) {
+        StringWriter trace = new StringWriter();
+        thrown.printStackTrace(new PrintWriter(trace));
+        line.append(System.lineSeparator()).append(trace.toString().stripTrailing());
+      }
+      return line.toString();
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package model;
+import java.util.Arrays;
+
+/**
+ * LongDoubleMap is an open-addressed hash map from {@code long} keys to {@code double}
+ * values, for memo tables on latency-sensitive paths.
+ *
+ * <p>Keys and values live in parallel primitive arrays, so lookups and insertions allocate
+ * nothing and nothing is boxed. Collisions are resolved by linear probing, and the arrays
+ * double once they are half full. A slot is in use only if its generation matches the
+ * map's, so {@link #clear()} just starts a new generation and a cleared map can be reused
+ * without touching its arrays. The map is not thread-safe.</p>
+ */
+final class LongDoubleMap {
+
+  /** Smallest table size; always a power of two. */
+  private static final int MIN_CAPACITY = 64;
+
+  /** Key of each slot. */
+  private long[] keys;
+
+  /** Value of each slot. */
+  private double[] values;
+
+  /** Generation each slot was last written in; other slots are empty. */
+  private int[] generations;
+
+  /** Current generation; never 0, so fresh arrays start out empty. */
+  private int generation = 1;
+
+  /** Number of keys in the current generation. */
+  private int size;
+
+  /**
+   * Creates an empty map.
+   *
+   * @param expectedSize number of keys to make room for before the first resize
+   */
+  LongDoubleMap(int expectedSize) {
+    int capacity = MIN_CAPACITY;
+    while (capacity < expectedSize * 2L) {
+      capacity <<= 1;
+    }
+    allocate(capacity);
+  }
+
+  /**
+   * Returns the value of a key.
+   *
+   * @param key     the key
+   * @param missing value to return if the key is absent
+   * @return the value, or {@code missing}
+   */
+  double get(long key, double missing) {
+    int mask = keys.length - 1;
+    for (int slot = indexFor(key, mask); generations[slot] == generation; slot = (slot + 1) & mask) {
+      if (keys[slot] == key) {
+        return values[slot];
+      }
+    }
+    return missing;
+  }
+
+  /**
+   * Sets the value of a key, adding the key if it is absent.
+   *
+   * @param key   the key
+   * @param value the value
+   */
+  void put(long key, double value) {
+    int mask = keys.length - 1;
+    int slot = indexFor(key, mask);
+    while (generations[slot] == generation) {
+      if (keys[slot] == key) {
+        values[slot] = value;
+        return;
+      }
+      slot = (slot + 1) & mask;
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    generations[slot] = generation;
+    if (++size * 2 > keys.length) {
+      grow();
+    }
+  }
+
+  /**
+   * Returns the number of keys.
+   *
+   * @return the key count
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Removes every key, keeping the arrays for reuse.
+   */
+  void clear() {
+    size = 0;
+    if (++generation == 0) {
+      Arrays.fill(generations, 0);
+      generation = 1;
+    }
+  }
+
+  /**
+   * Returns the number of slots. Intended for tests.
+   *
+   * @return the table size
+   */
+  int capacity() {
+    return keys.length;
+  }
+
+  /** Doubles the table and reinserts the current keys. */
+  private void grow() {
+    long[] oldKeys = keys;
+    double[] oldValues = values;
+    int[] oldGenerations = generations;
+    int oldGeneration = generation;
+    allocate(oldKeys.length * 2);
+    generation = 1;
+    int mask = keys.length - 1;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldGenerations[i] == oldGeneration) {
+        int slot = indexFor(oldKeys[i], mask);
+        while (generations[slot] == generation) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+        generations[slot] = generation;
+      }
+    }
+  }
+
+  /**
+   * Replaces the arrays with empty ones.
+   *
+   * @param capacity the new table size, a power of two
+   */
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new double[capacity];
+    generations = new int[capacity];
+  }
+
+  /**
+   * Returns the home slot of a key. Packed memo keys differ mostly in their high bits, so
+   * they are mixed before masking.
+   *
+   * @param key  the key
+   * @param mask table size minus one
+   * @return the slot index
+   */
+  private static int indexFor(long key, int mask) {
+    long h = key * 0x9E3779B97F4A7C15L;
+    return (int) (h ^ (h >>> 32)) & mask;
+  }
+}
@@ -0,0 +1,179 @@
+package model;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Runs {@link SimulationEngine} rounds across all cores with a {@link ForkJoinPool}.
+ *
+ * <p>The requested hand count is cut into fixed-size chunks. Every chunk gets its own
+ * shoe driven by a {@link SplittableRandom} whose seed is derived from the master seed
+ * and the chunk's position, and its own primitive {@link SimulationResult}. Chunk results
+ * are summed as the fork-join tree unwinds. Because chunking and seeding do not depend
+ * on how many threads run the chunks, the merged result is bit-for-bit identical for a
+ * given seed on any pool size.</p>
+ */
+public class ParallelSimulation {
+
+  /** Hands per chunk unless configured; large enough to amortize task overhead. */
+  public static final int DEFAULT_CHUNK_HANDS = 1 << 16;
+
+  /** Number of decks in every chunk's shoe. */
+  private final int decks;
+
+  /** Cut-card penetration of every chunk's shoe. */
+  private final double penetration;
+
+  /** The player's decision rule; shared by all workers, so it must be stateless. */
+  private final SimulationEngine.Policy policy;
+
+  /** Master seed all chunk streams are derived from. */
+  private final long seed;
+
+  /** Hands played per chunk. */
+  private final int chunkHands;
+
+  /**
+   * Constructs a parallel simulation with the default chunk size.
+   *
+   * @param decks       number of decks per shoe (1-8)
+   * @param penetration cut-card penetration of each shoe
+   * @param policy      the player's decision rule; must be safe to share between threads
+   * @param seed        master seed
+   */
+  public ParallelSimulation(int decks, double penetration, SimulationEngine.Policy policy, long seed) {
+    this(decks, penetration, policy, seed, DEFAULT_CHUNK_HANDS);
+  }
+
+  /**
+   * Constructs a parallel simulation.
+   *
+   * @param decks       number of decks per shoe (1-8)
+   * @param penetration cut-card penetration of each shoe
+   * @param policy      the player's decision rule; must be safe to share between threads
+   * @param seed        master seed
+   * @param chunkHands  hands per chunk; part of the result's identity, like the seed
+   * @throws IllegalArgumentException if the chunk size is not positive
+   */
+  public ParallelSimulation(int decks, double penetration, SimulationEngine.Policy policy,
+                            long seed, int chunkHands) {
+    if (chunkHands <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive: " + chunkHands);
+    }
+    this.decks = decks;
+    this.penetration = penetration;
+    this.policy = policy;
+    this.seed = seed;
+    this.chunkHands = chunkHands;
+  }
+
+  /**
+   * Plays the given number of hands on the common fork-join pool.
+   *
+   * @param hands number of hands to play
+   * @return the merged results
+   */
+  public SimulationResult run(long hands) {
+    return run(hands, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Plays the given number of hands on the given pool.
+   *
+   * @param hands number of hands to play
+   * @param pool  the pool to run on
+   * @return the merged results
+   */
+  public SimulationResult run(long hands, ForkJoinPool pool) {
+    long chunks = (hands + chunkHands - 1) / chunkHands;
+    if (chunks == 0) {
+      return new SimulationResult();
+    }
+    return pool.invoke(new ChunkTask(0, chunks, hands));
+  }
+
+  /**
+   * Derives the seed of a chunk's stream from the master seed (SplitMix64 finalizer),
+   * so any chunk's stream can be created independently of the others.
+   *
+   * @param chunk the chunk index
+   * @return the chunk's seed
+   */
+  long chunkSeed(long chunk) {
+    long z = seed + (chunk + 1) * 0x9E3779B97F4A7C15L;
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * Plays a range of chunks, splitting it in half until a single chunk remains.
+   */
+  private final class ChunkTask extends RecursiveTask<SimulationResult> {
+
+    /** Serialization version; tasks are never serialized. */
+    private static final long serialVersionUID = 1L;
+
+    /** First chunk of the range (inclusive). */
+    private final long from;
+
+    /** Last chunk of the range (exclusive). */
+    private final long to;
+
+    /** Total hands requested, used to size the final chunk. */
+    private final long totalHands;
+
+    ChunkTask(long from, long to, long totalHands) {
+      this.from = from;
+      this.to = to;
+      this.totalHands = totalHands;
+    }
+
+    @Override
+    protected SimulationResult compute() {
+      if (to - from == 1) {
+        Shoe shoe = new Shoe(decks, penetration, new SplittableRandom(chunkSeed(from)));
+        long hands = Math.min(chunkHands, totalHands - from * chunkHands);
+        return new SimulationEngine(shoe, policy).run(hands);
+      }
+      long mid = (from + to) >>> 1;
+      ChunkTask left = new ChunkTask(from, mid, totalHands);
+      ChunkTask right = new ChunkTask(mid, to, totalHands);
+      left.fork();
+      SimulationResult result = right.compute();
+      result.merge(left.join());
+      return result;
+    }
+  }
+
+  /**
+   * Runs a parallel simulation from the command line and reports throughput.
+   * Usage: {@code java model.ParallelSimulation [hands] [decks] [threads] [seed] [q_table.json]}
+   *
+   * @param args optional hand count, deck count, thread count, seed and Q-table path
+   * @throws IOException if the Q-table cannot be loaded
+   */
+  public static void main(String[] args) throws IOException {
+    long hands = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000L;
+    int decks = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+    int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+    long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+    SimulationEngine.Policy policy = args.length > 4
+        ? SimulationEngine.tablePolicy(QTableCodec.load(args[4])) : SimulationEngine.DEALER_RULE;
+
+    ParallelSimulation simulation =
+        new ParallelSimulation(decks, Shoe.DEFAULT_PENETRATION, policy, seed);
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      simulation.run(Math.min(hands, 10_000_000L), pool);  // warm-up
+      long start = System.nanoTime();
+      SimulationResult result = simulation.run(hands, pool);
+      double seconds = (System.nanoTime() - start) / 1e9;
+      System.out.println(result);
+      System.out.printf("%d threads: %.1f M hands/s%n", threads, hands / seconds / 1e6);
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -5,12 +5,24 @@ import java.util.*;
  * Represents a generic player in a Blackjack game.
  * Manages the player's hand and provides methods for game-related evaluations
  * such as calculating hand value, checking for busts, and scoring.
+ *
+ * <p>The hard total and ace count are updated as each card is added,
+ * so score, soft-hand and bust checks are O(1) and allocation-free.</p>
  */
 public class Player {
 
   /** The list of cards currently held by the player. */
   protected final List<Card> hand = new ArrayList<>();
 
+  /** Read-only view of {@link #hand} handed out to callers. */
+  private final List<Card> handView = Collections.unmodifiableList(hand);
+
+  /** Sum of the game values in the hand, counting every ace as 1. */
+  private int hardTotal;
+
+  /** Number of aces in the hand. */
+  private int aceCount;
+
   /**
    * Adds a card to the player's hand.
    *
@@ -18,35 +30,69 @@ public class Player {
    */
   public void addCard(Card c) {
     hand.add(c);
+    int val = c.getGameValue();
+    if (val == 1) aceCount++;
+    hardTotal += val;
   }
 
   /**
    * Returns the list of cards in the player's hand.
+   * The list is a read-only view; cards are added through {@link #addCard(Card)}.
    *
    * @return the player's current hand
    */
   public List<Card> getHand() {
-    return hand;
+    return handView;
+  }
+
+  /**
+   * Returns the hand total counting every ace as 1.
+   *
+   * @return the hard total of the hand
+   */
+  public int getHardTotal() {
+    return hardTotal;
+  }
+
+  /**
+   * Returns the number of aces in the hand.
+   *
+   * @return the ace count
+   */
+  public int getAceCount() {
+    return aceCount;
+  }
+
+  /**
+   * Returns whether the hand holds an ace that can count as 11 without busting.
+   *
+   * @return true if the hand is soft
+   */
+  public boolean hasUsableAce() {
+    return aceCount > 0 && hardTotal + 10 <= 21;
+  }
+
+  /**
+   * Returns the hand total, counting a usable ace as 11.
+   *
+   * @return the score of the hand
+   */
+  public int getScore() {
+    return hasUsableAce() ? hardTotal + 10 : hardTotal;
   }
 
   /**
    * Computes the total value of the player's hand.
    * Considers the special rule of a usable Ace (counted as 11 if it doesn't bust the hand).
+   * Kept for callers that want both values at once; prefer {@link #getScore()}
+   * and {@link #hasUsableAce()}, which do not allocate.
    *
    * @return an array where:
    *         - index 0 is the total hand value (with usable ace as 11 if possible),
    *         - index 1 is 1 if a usable ace is used, otherwise 0
    */
   public int[] getHandValue() {
-    int sum = 0;
-    int aceCount = 0;
-    for (Card c : hand) {
-      int val = c.getGameValue();
-      if (val == 1) aceCount++;
-      sum += val;
-    }
-    boolean usableAce = aceCount > 0 && sum + 10 <= 21;
-    return new int[]{usableAce ? sum + 10 : sum, usableAce ? 1 : 0};
+    return new int[]{getScore(), hasUsableAce() ? 1 : 0};
   }
 
   /**
@@ -55,7 +101,7 @@ public class Player {
    * @return true if the player is busted; false otherwise
    */
   public boolean isBusted() {
-    return getHandValue()[0] > 21;
+    return hardTotal > 21;
   }
 
   /**
@@ -65,6 +111,6 @@ public class Player {
    * @return the final score of the hand
    */
   public int calculateScore() {
-    return getHandValue()[0];
+    return getScore();
   }
 }
@@ -0,0 +1,55 @@
+package model;
+
+/**
+ * Read-only view of per-state action values laid out like {@link QTable}:
+ * (player total, dealer upcard, usable ace) x (hit, stand).
+ *
+ * <p>{@link QTable} stores full-precision doubles; {@link QuantizedQTable} stores them in
+ * 16 or 8 bits, or keeps only the preferred action and its margin. {@link AIAdvisor}
+ * works with any of them.</p>
+ */
+public interface PolicyTable {
+
+  /**
+   * Returns the number of states that hold values.
+   *
+   * @return the number of known states
+   */
+  int size();
+
+  /**
+   * Returns the value of an action at a raw state index.
+   *
+   * @param state  the state index from {@link QTable#stateIndex(int, int, int)}
+   * @param action {@link QTable#HIT} or {@link QTable#STAND}
+   * @return the value, or {@code NaN} if the state is unknown
+   */
+  double getQ(int state, int action);
+
+  /**
+   * Returns the approximate heap used by the stored values.
+   *
+   * @return the size of the value storage in bytes
+   */
+  long memoryBytes();
+
+  /**
+   * Returns the values as a full-precision table.
+   *
+   * @return this table, or a decoded copy
+   */
+  QTable toQTable();
+
+  /**
+   * Returns whether the table holds values for the given state.
+   *
+   * @param total      the player's hand total
+   * @param dealerCard the dealer's visible card value
+   * @param usableAce  1 if the player has a usable ace, 0 otherwise
+   * @return true if the state is known
+   */
+  default boolean contains(int total, int dealerCard, int usableAce) {
+    int state = QTable.stateIndex(total, dealerCard, usableAce);
+    return state >= 0 && !Double.isNaN(getQ(state, QTable.HIT));
+  }
+}
@@ -0,0 +1,288 @@
+package model;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/**
+ * Trains a Blackjack Q-table with tabular Q-learning, as {@code blackjack_q_train.py} does,
+ * but on primitive arrays laid out exactly like {@link QTable}.
+ *
+ * <p>Training can run on one thread, or on several threads that update one shared
+ * {@link QValueStore} at once without a global lock (see {@link #trainParallel(long, int)}).</p>
+ *
+ * <p>The rules and hyperparameters match the Python script: cards are drawn from an
+ * infinite deck ({@code [1..9, 10, 10, 10, 10]}), the agent picks actions epsilon-greedily
+ * (ties go to "hit"), a bust is rewarded -1, and standing lets the dealer hit below 17
+ * before the hand is scored +1/0/-1. As in the script, every state an update touches
+ * (including the bust state after a losing hit) is recorded with zero-initialized values,
+ * so the resulting table has the same shape as the JSON the script writes.</p>
+ */
+public class QLearningTrainer {
+
+  /** Learning rate used by the training script. */
+  public static final double ALPHA = 0.1;
+
+  /** Discount factor used by the training script. */
+  public static final double GAMMA = 0.9;
+
+  /** Exploration rate used by the training script. */
+  public static final double EPSILON = 0.1;
+
+  /** Number of training episodes used by the training script. */
+  public static final long EPISODES = 100_000_000L;
+
+  /** Card values of the infinite deck; 1 is an Ace and 10 covers the face cards. */
+  private static final byte[] DECK = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10};
+
+  /** Learning rate. */
+  private final double alpha;
+
+  /** Discount factor. */
+  private final double gamma;
+
+  /** Exploration rate. */
+  private final double epsilon;
+
+  /** Source of per-worker random streams. */
+  private final SplittableRandom rng;
+
+  /** Q-values laid out like {@link QTable}: index {@code state * 2 + action}. */
+  private final QValueStore store;
+
+  /**
+   * Whether an update has touched each state yet. Workers only ever set entries to true,
+   * so racing writes are harmless; they are published when the workers are joined.
+   */
+  private final boolean[] visited = new boolean[QTable.STATE_COUNT];
+
+  /** Worker used by single-threaded {@link #train(long)} calls. */
+  private final Worker mainWorker;
+
+  /**
+   * Constructs a single-threaded trainer with the training script's hyperparameters.
+   *
+   * @param seed seed for card draws and exploration
+   */
+  public QLearningTrainer(long seed) {
+    this(QValueStore.plain(QTable.STATE_COUNT * QTable.ACTION_COUNT), ALPHA, GAMMA, EPSILON, seed);
+  }
+
+  /**
+   * Constructs a single-threaded trainer with custom hyperparameters.
+   *
+   * @param alpha   learning rate
+   * @param gamma   discount factor
+   * @param epsilon exploration rate
+   * @param seed    seed for card draws and exploration
+   */
+  public QLearningTrainer(double alpha, double gamma, double epsilon, long seed) {
+    this(QValueStore.plain(QTable.STATE_COUNT * QTable.ACTION_COUNT), alpha, gamma, epsilon, seed);
+  }
+
+  /**
+   * Constructs a trainer updating the given store. Use a {@link QValueStore#lockFree(int)}
+   * or {@link QValueStore#striped(int, int)} store for {@link #trainParallel(long, int)}.
+   *
+   * @param store   Q-value storage sized for the whole table
+   * @param alpha   learning rate
+   * @param gamma   discount factor
+   * @param epsilon exploration rate
+   * @param seed    seed for card draws and exploration
+   * @throws IllegalArgumentException if the store does not match the table size
+   */
+  public QLearningTrainer(QValueStore store, double alpha, double gamma, double epsilon, long seed) {
+    if (store.size() != QTable.STATE_COUNT * QTable.ACTION_COUNT) {
+      throw new IllegalArgumentException("Store holds " + store.size() + " values, expected "
+          + QTable.STATE_COUNT * QTable.ACTION_COUNT);
+    }
+    this.store = store;
+    this.alpha = alpha;
+    this.gamma = gamma;
+    this.epsilon = epsilon;
+    this.rng = new SplittableRandom(seed);
+    this.mainWorker = new Worker(rng.split());
+  }
+
+  /**
+   * Runs the given number of training episodes on the calling thread.
+   *
+   * @param episodes number of episodes
+   */
+  public void train(long episodes) {
+    mainWorker.train(episodes);
+  }
+
+  /**
+   * Runs the given number of episodes split across several threads that all update the
+   * shared store at once, Hogwild-style, without any global lock. The store must be safe
+   * for concurrent updates.
+   *
+   * @param episodes number of episodes in total
+   * @param threads  number of worker threads
+   * @throws InterruptedException if interrupted while waiting for the workers
+   */
+  public void trainParallel(long episodes, int threads) throws InterruptedException {
+    if (store instanceof ArrayQValueStore && threads > 1) {
+      throw new IllegalStateException("A plain store cannot be shared between threads");
+    }
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      long share = episodes / threads + (t < episodes % threads ? 1 : 0);
+      Worker worker = new Worker(rng.split());
+      workers[t] = new Thread(() -> worker.train(share), "q-trainer-" + t);
+      workers[t].start();
+    }
+    for (Thread worker : workers) {
+      worker.join();
+    }
+  }
+
+  /**
+   * Plays training episodes with its own random stream; several workers may share the store.
+   */
+  private final class Worker {
+
+    /** Source of card draws and exploration decisions for this worker. */
+    private final SplittableRandom random;
+
+    Worker(SplittableRandom random) {
+      this.random = random;
+    }
+
+    /** Plays the given number of episodes. */
+    void train(long episodes) {
+      for (long e = 0; e < episodes; e++) {
+        playEpisode();
+      }
+    }
+
+    /**
+     * Plays one episode, updating the Q-values after every action.
+     */
+    private void playEpisode() {
+      int player = HandTransitions.next(HandTransitions.next(HandTransitions.EMPTY, drawCard()), drawCard());
+      int dealerCard = drawCard();
+      int hole = drawCard();
+
+      int state = stateOf(player, dealerCard);
+      while (true) {
+        visited[state] = true;
+        if (chooseAction(state) == QTable.HIT) {
+          player = HandTransitions.next(player, drawCard());
+          int next = stateOf(player, dealerCard);
+          visited[next] = true;
+          if (HandTransitions.isBust(player)) {
+            store.update(state * 2 + QTable.HIT, -1, alpha);
+            return;
+          }
+          double future = Math.max(store.get(next * 2 + QTable.HIT), store.get(next * 2 + QTable.STAND));
+          store.update(state * 2 + QTable.HIT, gamma * future, alpha);
+          state = next;
+        } else {
+          int reward = dealerReward(HandTransitions.score(player), dealerCard, hole);
+          store.update(state * 2 + QTable.STAND, reward, alpha);
+          return;
+        }
+      }
+    }
+
+    /**
+     * Picks an action epsilon-greedily; ties between equal values go to hit.
+     *
+     * @param state the current state index
+     * @return {@link QTable#HIT} or {@link QTable#STAND}
+     */
+    private int chooseAction(int state) {
+      if (random.nextDouble() < epsilon) {
+        return random.nextInt(QTable.ACTION_COUNT);
+      }
+      return store.get(state * 2 + QTable.HIT) >= store.get(state * 2 + QTable.STAND)
+          ? QTable.HIT : QTable.STAND;
+    }
+
+    /**
+     * Plays out the dealer's hand and scores the player's standing total against it.
+     *
+     * @param playerScore the player's final score (at most 21)
+     * @param dealerCard  the dealer's visible card
+     * @param hole        the dealer's hidden card
+     * @return +1 for a win, 0 for a tie, -1 for a loss
+     */
+    private int dealerReward(int playerScore, int dealerCard, int hole) {
+      int dealer = HandTransitions.next(HandTransitions.next(HandTransitions.EMPTY, dealerCard), hole);
+      while (HandTransitions.score(dealer) < 17) {
+        dealer = HandTransitions.next(dealer, drawCard());
+      }
+      int dealerScore = HandTransitions.score(dealer);
+      if (HandTransitions.isBust(dealer) || playerScore > dealerScore) return 1;
+      return playerScore == dealerScore ? 0 : -1;
+    }
+
+    /** Draws a card value from the infinite deck. */
+    private int drawCard() {
+      return DECK[random.nextInt(DECK.length)];
+    }
+  }
+
+  /** Returns the table state of a player hand against a dealer upcard. */
+  private static int stateOf(int hand, int dealerCard) {
+    return QTable.stateIndex(HandTransitions.score(hand), dealerCard, HandTransitions.usableAce(hand));
+  }
+
+  /**
+   * Returns the trained values as a table; states no update touched are unknown.
+   *
+   * @return a snapshot of the trained Q-table
+   */
+  public QTable toQTable() {
+    double[] values = QTable.newValueArray();
+    for (int s = 0; s < QTable.STATE_COUNT; s++) {
+      if (visited[s]) {
+        values[s * 2] = store.get(s * 2);
+        values[s * 2 + 1] = store.get(s * 2 + 1);
+      }
+    }
+    return new QTable(values);
+  }
+
+  /**
+   * Trains a Q-table and writes it as JSON plus its binary copy. With more than one
+   * thread, workers share a lock-free store.
+   * Usage: {@code java model.QLearningTrainer [episodes] [q_table.json] [seed] [threads]}
+   *
+   * @param args optional episode count, output path, seed and thread count
+   * @throws IOException if the table cannot be written
+   * @throws InterruptedException if interrupted while waiting for the workers
+   */
+  public static void main(String[] args) throws IOException, InterruptedException {
+    long episodes = args.length > 0 ? Long.parseLong(args[0]) : EPISODES;
+    Path output = Paths.get(args.length > 1 ? args[1] : "q_table.json");
+    long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+    int threads = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+
+    System.out.println("Training Q-learning agent on Blackjack...");
+    int size = QTable.STATE_COUNT * QTable.ACTION_COUNT;
+    QLearningTrainer trainer = threads > 1
+        ? new QLearningTrainer(QValueStore.lockFree(size), ALPHA, GAMMA, EPSILON, seed)
+        : new QLearningTrainer(seed);
+    long start = System.nanoTime();
+    long step = Math.max(1, episodes / 10);
+    for (long done = 0; done < episodes; done += step) {
+      long batch = Math.min(step, episodes - done);
+      if (threads > 1) {
+        trainer.trainParallel(batch, threads);
+      } else {
+        trainer.train(batch);
+      }
+      System.out.println("Episode " + (done + batch) + " complete");
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.printf("Trained %d episodes in %.1f s%n", episodes, seconds);
+
+    QTable table = trainer.toQTable();
+    QTableCodec.writeJson(table, output);
+    QTableCodec.writeBinary(table, QTableCodec.binaryPathFor(output));
+    System.out.println("Q-table saved to " + output);
+  }
+}
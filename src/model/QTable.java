@@ -0,0 +1,209 @@
+package model;
+import java.util.Arrays;
+
+/**
+ * {@code QTable} is a dense, array-backed table of Q-values for the Blackjack state space
+ * used by {@link AIAdvisor}: (player total, dealer upcard, usable ace) x (hit, stand).
+ *
+ * <p>All values live in a single primitive {@code double[]} indexed by state and action,
+ * so lookups are plain array reads with no hashing, boxing or string building.
+ * States that were never seen in the source data are stored as {@code NaN}.</p>
+ *
+ * <p>Instances are immutable once built; use {@link Builder} to fill one.</p>
+ */
+public final class QTable implements PolicyTable {
+
+  /** Largest player total stored in the table (21 plus a drawn ten). */
+  public static final int MAX_TOTAL = 31;
+
+  /** Number of player-total slots (0 to {@link #MAX_TOTAL}). */
+  public static final int TOTAL_SLOTS = MAX_TOTAL + 1;
+
+  /** Number of dealer upcard slots (1 for Ace up to 10). */
+  public static final int DEALER_SLOTS = 10;
+
+  /** Number of usable-ace slots (0 or 1). */
+  public static final int ACE_SLOTS = 2;
+
+  /** Number of actions per state. */
+  public static final int ACTION_COUNT = 2;
+
+  /** Action index of "hit". */
+  public static final int HIT = 0;
+
+  /** Action index of "stand". */
+  public static final int STAND = 1;
+
+  /** Total number of states in the table. */
+  public static final int STATE_COUNT = TOTAL_SLOTS * DEALER_SLOTS * ACE_SLOTS;
+
+  /** Q-values laid out as {@code values[stateIndex * ACTION_COUNT + action]}. */
+  private final double[] values;
+
+  /** Number of states holding values. */
+  private final int size;
+
+  /**
+   * Wraps an already filled value array. The array is owned by the table afterwards.
+   *
+   * @param values Q-values laid out by {@link #stateIndex(int, int, int)} and action
+   */
+  QTable(double[] values) {
+    if (values.length != STATE_COUNT * ACTION_COUNT) {
+      throw new IllegalArgumentException("Expected " + STATE_COUNT * ACTION_COUNT
+          + " Q-values but got " + values.length);
+    }
+    this.values = values;
+    int count = 0;
+    for (int s = 0; s < STATE_COUNT; s++) {
+      if (!Double.isNaN(values[s * ACTION_COUNT])) count++;
+    }
+    this.size = count;
+  }
+
+  /**
+   * Returns an empty table where every state is unknown.
+   *
+   * @return an empty table
+   */
+  public static QTable empty() {
+    return new Builder().build();
+  }
+
+  /**
+   * Maps a game state to its slot in the table.
+   *
+   * @param total      the player's hand total (0-31)
+   * @param dealerCard the dealer's visible card value (1-10)
+   * @param usableAce  1 if the player has a usable ace, 0 otherwise
+   * @return the state index, or -1 if the state is outside the table
+   */
+  public static int stateIndex(int total, int dealerCard, int usableAce) {
+    if (total < 0 || total > MAX_TOTAL
+        || dealerCard < 1 || dealerCard > DEALER_SLOTS
+        || usableAce < 0 || usableAce >= ACE_SLOTS) {
+      return -1;
+    }
+    return (total * DEALER_SLOTS + (dealerCard - 1)) * ACE_SLOTS + usableAce;
+  }
+
+  /**
+   * Returns whether the table holds values for the given state.
+   *
+   * @param total      the player's hand total
+   * @param dealerCard the dealer's visible card value
+   * @param usableAce  1 if the player has a usable ace, 0 otherwise
+   * @return true if the state is known
+   */
+  @Override
+  public boolean contains(int total, int dealerCard, int usableAce) {
+    int state = stateIndex(total, dealerCard, usableAce);
+    return state >= 0 && !Double.isNaN(values[state * ACTION_COUNT]);
+  }
+
+  /**
+   * Returns the Q-value of an action in a state.
+   *
+   * @param total      the player's hand total
+   * @param dealerCard the dealer's visible card value
+   * @param usableAce  1 if the player has a usable ace, 0 otherwise
+   * @param action     {@link #HIT} or {@link #STAND}
+   * @return the Q-value, or {@code NaN} if the state is unknown
+   */
+  public double getQ(int total, int dealerCard, int usableAce, int action) {
+    int state = stateIndex(total, dealerCard, usableAce);
+    return state < 0 ? Double.NaN : values[state * ACTION_COUNT + action];
+  }
+
+  /**
+   * Returns the Q-value stored at a raw state index.
+   *
+   * @param state  the state index from {@link #stateIndex(int, int, int)}
+   * @param action {@link #HIT} or {@link #STAND}
+   * @return the Q-value, or {@code NaN} if the state is unknown
+   */
+  @Override
+  public double getQ(int state, int action) {
+    return values[state * ACTION_COUNT + action];
+  }
+
+  /**
+   * Returns the number of states that hold values.
+   *
+   * @return the number of known states
+   */
+  @Override
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the heap used by the value array.
+   *
+   * @return the size of the value storage in bytes
+   */
+  @Override
+  public long memoryBytes() {
+    return (long) values.length * Double.BYTES;
+  }
+
+  /**
+   * Returns this table, which is already full precision.
+   *
+   * @return this table
+   */
+  @Override
+  public QTable toQTable() {
+    return this;
+  }
+
+  /**
+   * Mutable builder used by loaders to fill a table before it is published.
+   */
+  public static final class Builder {
+
+    /** Values being filled; unknown states stay {@code NaN}. */
+    private double[] values = newValueArray();
+
+    /**
+     * Stores the hit and stand values of a state. States outside the table are ignored.
+     *
+     * @param total      the player's hand total
+     * @param dealerCard the dealer's visible card value
+     * @param usableAce  1 if the player has a usable ace, 0 otherwise
+     * @param hit        the Q-value of hitting
+     * @param stand      the Q-value of standing
+     * @return this builder
+     */
+    public Builder put(int total, int dealerCard, int usableAce, double hit, double stand) {
+      int state = stateIndex(total, dealerCard, usableAce);
+      if (state >= 0) {
+        values[state * ACTION_COUNT + HIT] = hit;
+        values[state * ACTION_COUNT + STAND] = stand;
+      }
+      return this;
+    }
+
+    /**
+     * Builds the immutable table. The builder must not be used afterwards.
+     *
+     * @return the filled table
+     */
+    public QTable build() {
+      QTable table = new QTable(values);
+      values = null;
+      return table;
+    }
+  }
+
+  /**
+   * Allocates a value array with every state marked unknown.
+   *
+   * @return a {@code NaN}-filled array sized for the whole table
+   */
+  static double[] newValueArray() {
+    double[] values = new double[STATE_COUNT * ACTION_COUNT];
+    Arrays.fill(values, Double.NaN);
+    return values;
+  }
+}
@@ -0,0 +1,507 @@
+package model;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * {@code QTableCodec} reads and writes Q-tables in the two formats the game understands:
+ * the JSON export of {@code blackjack_q_train.py} and a compact binary format.
+ *
+ * <p>The binary format is a fixed 40-byte big-endian header followed by the packed values:</p>
+ * <pre>
+ *   int    magic        "BJQT"
+ *   int    version      {@link #VERSION}
+ *   int    encoding     {@link #ENCODING_F64}, {@link #ENCODING_Q16}, {@link #ENCODING_Q8}
+ *                       or {@link #ENCODING_POLICY}
+ *   int    totalSlots, dealerSlots, aceSlots, actionCount
+ *   int    valueCount
+ *   long   checksum     CRC32 of the payload
+ *   payload             F64: double values[valueCount]
+ *                       Q16: double scale, short codes[valueCount]
+ *                       Q8, POLICY: double scale, byte codes[valueCount]
+ * </pre>
+ *
+ * <p>The quantized encodings hold a {@link QuantizedQTable}; POLICY stores one margin per
+ * state rather than one value per action. {@link #readBinary(Path)} decodes any encoding to
+ * full precision, while {@link #readPolicyTable(Path)} keeps quantized tables compact.</p>
+ *
+ * <p>Binary files are loaded through a memory-mapped {@link FileChannel}, so reading a
+ * table is a bounds check, a checksum and one bulk copy. {@link #load(String)} keeps a
+ * binary copy next to each JSON file and reuses it while it is newer than the JSON.</p>
+ */
+public final class QTableCodec {
+
+  /** Magic number at the start of every binary Q-table ("BJQT"). */
+  public static final int MAGIC = 0x424A5154;
+
+  /** Current binary format version. */
+  public static final int VERSION = 1;
+
+  /** Payload encoding: one big-endian IEEE double per value. */
+  public static final int ENCODING_F64 = 0;
+
+  /** Payload encoding: a double scale, then one big-endian 16-bit code per value. */
+  public static final int ENCODING_Q16 = 1;
+
+  /** Payload encoding: a double scale, then one 8-bit code per value. */
+  public static final int ENCODING_Q8 = 2;
+
+  /** Payload encoding: a double scale, then one 8-bit hit-minus-stand margin per state. */
+  public static final int ENCODING_POLICY = 3;
+
+  /** File extension of binary Q-tables. */
+  public static final String BINARY_EXTENSION = ".qtb";
+
+  /** Size of the binary header in bytes. */
+  static final int HEADER_BYTES = 40;
+
+  /** Logger for cache problems that do not prevent loading. */
+  private static final Log LOG = Log.get(QTableCodec.class);
+
+  /** Utility class; not instantiable. */
+  private QTableCodec() {
+  }
+
+  /**
+   * Loads a Q-table from either format. For a JSON file, a binary copy with the
+   * {@link #BINARY_EXTENSION} extension is reused when it is newer than the JSON,
+   * and regenerated otherwise.
+   *
+   * @param filename path to a JSON or binary Q-table
+   * @return the loaded table
+   * @throws IOException if the file cannot be read or is malformed
+   */
+  public static QTable load(String filename) throws IOException {
+    Path source = Paths.get(filename);
+    if (filename.endsWith(BINARY_EXTENSION)) {
+      return readBinary(source);
+    }
+
+    Path binary = binaryPathFor(source);
+    if (isNewer(binary, source)) {
+      try {
+        return readBinary(binary);
+      } catch (IOException e) {
+        LOG.warn("Ignoring unreadable Q-table cache {}: {}", binary, e.getMessage());
+      }
+    }
+
+    QTable table = readJson(source);
+    try {
+      writeBinary(table, binary);
+    } catch (IOException e) {
+      LOG.warn("Could not write Q-table cache {}: {}", binary, e.getMessage());
+    }
+    return table;
+  }
+
+  /**
+   * Loads a table for advising, keeping binary tables in their stored encoding.
+   * JSON files are loaded as by {@link #load(String)}.
+   *
+   * @param filename path to a JSON or binary Q-table
+   * @return the loaded table, quantized if the binary file is
+   * @throws IOException if the file cannot be read or is malformed
+   */
+  public static PolicyTable loadPolicy(String filename) throws IOException {
+    if (filename.endsWith(BINARY_EXTENSION)) {
+      return readPolicyTable(Paths.get(filename));
+    }
+    return load(filename);
+  }
+
+  /**
+   * Returns the path of the binary copy kept for a JSON Q-table.
+   *
+   * @param json path to the JSON file
+   * @return the sibling path ending in {@link #BINARY_EXTENSION}
+   */
+  public static Path binaryPathFor(Path json) {
+    String name = json.getFileName().toString();
+    String base = name.endsWith(".json") ? name.substring(0, name.length() - 5) : name;
+    return json.resolveSibling(base + BINARY_EXTENSION);
+  }
+
+  /**
+   * Reads a Q-table exported as JSON by the training script,
+   * e.g. {@code {"(18, 10, True)": {"hit": 0.4, "stand": 0.6}}}.
+   *
+   * <p>The file is streamed token by token: each state key is parsed straight into
+   * its integer coordinates and the action values are written into the table as
+   * primitives, so no intermediate map or boxed values are built.</p>
+   *
+   * @param json path to the JSON file
+   * @return the loaded table
+   * @throws IOException if the file cannot be read or parsed
+   */
+  public static QTable readJson(Path json) throws IOException {
+    QTable.Builder builder = new QTable.Builder();
+    try (JsonReader reader = new JsonReader(Files.newBufferedReader(json))) {
+      reader.setLenient(true);
+      if (reader.peek() == JsonToken.END_DOCUMENT) {
+        return builder.build();
+      }
+      reader.beginObject();
+      while (reader.hasNext()) {
+        int state = parseStateKey(reader.nextName());
+        double hit = Double.NaN;
+        double stand = Double.NaN;
+        reader.beginObject();
+        while (reader.hasNext()) {
+          String action = reader.nextName();
+          if (action.equals("hit")) {
+            hit = reader.nextDouble();
+          } else if (action.equals("stand")) {
+            stand = reader.nextDouble();
+          } else {
+            reader.skipValue();
+          }
+        }
+        reader.endObject();
+        // Skip malformed keys and entries missing an action
+        if (state >= 0 && !Double.isNaN(hit) && !Double.isNaN(stand)) {
+          builder.put(state >>> 8, (state >>> 1) & 0x7F, state & 1, hit, stand);
+        }
+      }
+      reader.endObject();
+      return builder.build();
+    } catch (IllegalStateException | NumberFormatException e) {
+      throw new IOException("Malformed Q-table JSON " + json + ": " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Writes a Q-table as JSON in the same layout as the training script,
+   * e.g. {@code {"(18, 10, True)": {"hit": 0.4, "stand": 0.6}}}. Unknown states are omitted.
+   *
+   * @param table the table to write
+   * @param json  the destination path
+   * @throws IOException if the file cannot be written
+   */
+  public static void writeJson(QTable table, Path json) throws IOException {
+    Path temp = Files.createTempFile(json.toAbsolutePath().getParent(),
+        json.getFileName().toString(), ".tmp");
+    try {
+      try (JsonWriter writer = new JsonWriter(Files.newBufferedWriter(temp))) {
+        writer.setIndent("  ");
+        writer.beginObject();
+        for (int total = 0; total <= QTable.MAX_TOTAL; total++) {
+          for (int dealerCard = 1; dealerCard <= QTable.DEALER_SLOTS; dealerCard++) {
+            for (int usableAce = 0; usableAce < QTable.ACE_SLOTS; usableAce++) {
+              int state = QTable.stateIndex(total, dealerCard, usableAce);
+              double hit = table.getQ(state, QTable.HIT);
+              double stand = table.getQ(state, QTable.STAND);
+              if (Double.isNaN(hit) || Double.isNaN(stand)) {
+                continue;
+              }
+              writer.name("(" + total + ", " + dealerCard + ", " + (usableAce == 1 ? "True" : "False") + ")");
+              writer.beginObject().name("hit").value(hit).name("stand").value(stand).endObject();
+            }
+          }
+        }
+        writer.endObject();
+      }
+      Files.move(temp, json, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Parses a state key such as "(18, 10, True)" in place, without splitting it.
+   *
+   * @param key the state key written by the training script
+   * @return the state packed as {@code total << 8 | dealerCard << 1 | usableAce},
+   *         or -1 if the key is not a well-formed state
+   */
+  static int parseStateKey(String key) {
+    int length = key.length();
+    int pos = 0;
+    int total = -1;
+    int dealerCard = -1;
+    int field = 0;
+    while (pos < length && field < 2) {
+      char c = key.charAt(pos);
+      if (c >= '0' && c <= '9') {
+        int value = 0;
+        while (pos < length && (c = key.charAt(pos)) >= '0' && c <= '9') {
+          value = value * 10 + (c - '0');
+          if (value > 0xFFFF) {
+            return -1;
+          }
+          pos++;
+        }
+        if (field == 0) {
+          total = value;
+        } else {
+          dealerCard = value;
+        }
+        field++;
+      } else if (c == '(' || c == ',' || c == ' ') {
+        pos++;
+      } else {
+        return -1;
+      }
+    }
+    if (field < 2 || dealerCard > 0x7F) {
+      return -1;
+    }
+    int usableAce;
+    if (key.startsWith(", True)", pos)) {
+      usableAce = 1;
+      pos += 7;
+    } else if (key.startsWith(", False)", pos)) {
+      usableAce = 0;
+      pos += 8;
+    } else {
+      return -1;
+    }
+    return pos == length ? total << 8 | dealerCard << 1 | usableAce : -1;
+  }
+
+  /**
+   * Reads a binary Q-table through a memory-mapped file. Quantized tables are decoded
+   * to full precision.
+   *
+   * @param file path to the binary file
+   * @return the loaded table
+   * @throws IOException if the file cannot be read, or its header or checksum is invalid
+   */
+  public static QTable readBinary(Path file) throws IOException {
+    return readPolicyTable(file).toQTable();
+  }
+
+  /**
+   * Reads a binary Q-table through a memory-mapped file in its stored encoding.
+   *
+   * @param file path to the binary file
+   * @return a {@link QTable} for {@link #ENCODING_F64}, otherwise a {@link QuantizedQTable}
+   * @throws IOException if the file cannot be read, or its header or checksum is invalid
+   */
+  public static PolicyTable readPolicyTable(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long length = channel.size();
+      if (length < HEADER_BYTES) {
+        throw new IOException("Truncated Q-table header in " + file);
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not a binary Q-table: " + file);
+      }
+      int version = buffer.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported Q-table version " + version + " in " + file);
+      }
+      int encoding = buffer.getInt();
+      if (encoding < ENCODING_F64 || encoding > ENCODING_POLICY) {
+        throw new IOException("Unsupported Q-table encoding " + encoding + " in " + file);
+      }
+      if (buffer.getInt() != QTable.TOTAL_SLOTS || buffer.getInt() != QTable.DEALER_SLOTS
+          || buffer.getInt() != QTable.ACE_SLOTS || buffer.getInt() != QTable.ACTION_COUNT) {
+        throw new IOException("Q-table dimensions in " + file + " do not match this build");
+      }
+      int valueCount = buffer.getInt();
+      long checksum = buffer.getLong();
+      if (valueCount != codeCount(encoding)
+          || length != HEADER_BYTES + payloadBytes(encoding, valueCount)) {
+        throw new IOException("Q-table payload size in " + file + " does not match its header");
+      }
+
+      CRC32 crc = new CRC32();
+      crc.update(buffer.duplicate());
+      if (crc.getValue() != checksum) {
+        throw new IOException("Q-table checksum mismatch in " + file);
+      }
+
+      if (encoding == ENCODING_F64) {
+        double[] values = new double[valueCount];
+        buffer.asDoubleBuffer().get(values);
+        return new QTable(values);
+      }
+      double scale = buffer.getDouble();
+      try {
+        if (encoding == ENCODING_Q16) {
+          short[] codes = new short[valueCount];
+          buffer.asShortBuffer().get(codes);
+          return new QuantizedQTable(QuantizedQTable.Encoding.Q16, scale, codes, null);
+        }
+        byte[] codes = new byte[valueCount];
+        buffer.get(codes);
+        return new QuantizedQTable(encoding == ENCODING_Q8
+            ? QuantizedQTable.Encoding.Q8 : QuantizedQTable.Encoding.POLICY, scale, null, codes);
+      } catch (IllegalArgumentException e) {
+        throw new IOException("Invalid quantized Q-table in " + file + ": " + e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * Writes a Q-table in the binary format. The file is written to a temporary
+   * sibling first and moved into place, so readers never see a partial file.
+   *
+   * @param table the table to write
+   * @param file  the destination path
+   * @throws IOException if the file cannot be written
+   */
+  public static void writeBinary(QTable table, Path file) throws IOException {
+    int valueCount = codeCount(ENCODING_F64);
+    ByteBuffer payload = ByteBuffer.allocate((int) payloadBytes(ENCODING_F64, valueCount));
+    for (int state = 0; state < QTable.STATE_COUNT; state++) {
+      payload.putDouble(table.getQ(state, QTable.HIT));
+      payload.putDouble(table.getQ(state, QTable.STAND));
+    }
+    writePayload(file, ENCODING_F64, valueCount, payload);
+  }
+
+  /**
+   * Writes a quantized Q-table in the binary format, keeping its encoding.
+   * The file is replaced atomically as by {@link #writeBinary(QTable, Path)}.
+   *
+   * @param table the table to write
+   * @param file  the destination path
+   * @throws IOException if the file cannot be written
+   */
+  public static void writeBinary(QuantizedQTable table, Path file) throws IOException {
+    QuantizedQTable.Encoding stored = table.getEncoding();
+    int encoding = stored == QuantizedQTable.Encoding.Q16 ? ENCODING_Q16
+        : stored == QuantizedQTable.Encoding.Q8 ? ENCODING_Q8 : ENCODING_POLICY;
+    int valueCount = codeCount(encoding);
+    ByteBuffer payload = ByteBuffer.allocate((int) payloadBytes(encoding, valueCount));
+    payload.putDouble(table.getScale());
+    if (encoding == ENCODING_Q16) {
+      payload.asShortBuffer().put(table.shortCodes());
+      payload.position(payload.limit());
+    } else {
+      payload.put(table.byteCodes());
+    }
+    writePayload(file, encoding, valueCount, payload);
+  }
+
+  /**
+   * Writes the header and a filled payload to a uniquely named temporary sibling and moves it
+   * into place, so concurrent writers of the same file never truncate each other's output.
+   *
+   * @param file       the destination path
+   * @param encoding   the payload encoding
+   * @param valueCount number of stored values or codes
+   * @param payload    the payload, positioned at its end
+   * @throws IOException if the file cannot be written
+   */
+  private static void writePayload(Path file, int encoding, int valueCount, ByteBuffer payload)
+      throws IOException {
+    payload.flip();
+
+    CRC32 crc = new CRC32();
+    crc.update(payload.duplicate());
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    header.putInt(MAGIC).putInt(VERSION).putInt(encoding)
+        .putInt(QTable.TOTAL_SLOTS).putInt(QTable.DEALER_SLOTS)
+        .putInt(QTable.ACE_SLOTS).putInt(QTable.ACTION_COUNT)
+        .putInt(valueCount).putLong(crc.getValue());
+    header.flip();
+
+    Path temp = Files.createTempFile(file.toAbsolutePath().getParent(),
+        file.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING)) {
+        while (header.hasRemaining() || payload.hasRemaining()) {
+          channel.write(new ByteBuffer[]{header, payload});
+        }
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Returns the number of values or codes an encoding stores.
+   *
+   * @param encoding the payload encoding
+   * @return one per state for {@link #ENCODING_POLICY}, otherwise one per state and action
+   */
+  private static int codeCount(int encoding) {
+    return encoding == ENCODING_POLICY
+        ? QTable.STATE_COUNT : QTable.STATE_COUNT * QTable.ACTION_COUNT;
+  }
+
+  /**
+   * Returns the payload size of an encoding.
+   *
+   * @param encoding   the payload encoding
+   * @param valueCount number of stored values or codes
+   * @return the payload size in bytes, including the scale of quantized encodings
+   */
+  private static long payloadBytes(int encoding, int valueCount) {
+    switch (encoding) {
+      case ENCODING_F64:
+        return (long) valueCount * Double.BYTES;
+      case ENCODING_Q16:
+        return Double.BYTES + (long) valueCount * Short.BYTES;
+      default:
+        return Double.BYTES + (long) valueCount;
+    }
+  }
+
+  /**
+   * Returns whether {@code candidate} exists and was modified after {@code reference}.
+   *
+   * @param candidate the file that should be newer
+   * @param reference the file to compare against
+   * @return true if {@code candidate} is strictly newer
+   */
+  private static boolean isNewer(Path candidate, Path reference) {
+    try {
+      return Files.isRegularFile(candidate)
+          && Files.getLastModifiedTime(candidate).compareTo(Files.getLastModifiedTime(reference)) > 0;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Converts a JSON Q-table into the binary format, optionally quantized, and prints
+   * the precision lost by quantization.
+   * Usage: {@code java model.QTableCodec q_table.json [q_table.qtb] [f64|q16|q8|policy]}
+   *
+   * @param args the JSON source, an optional binary destination and an optional encoding
+   * @throws IOException if either file cannot be accessed
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: java model.QTableCodec <q_table.json> [output.qtb] [f64|q16|q8|policy]");
+      return;
+    }
+    Path json = Paths.get(args[0]);
+    Path binary = args.length > 1 ? Paths.get(args[1]) : binaryPathFor(json);
+    String encoding = args.length > 2 ? args[2].toUpperCase() : "F64";
+    QTable table = readJson(json);
+    if (encoding.equals("F64")) {
+      writeBinary(table, binary);
+      System.out.println("Wrote " + table.size() + " states to " + binary);
+      return;
+    }
+    QuantizedQTable quantized;
+    try {
+      quantized = QuantizedQTable.quantize(table, QuantizedQTable.Encoding.valueOf(encoding));
+    } catch (IllegalArgumentException e) {
+      System.err.println("Unknown encoding " + args[2] + "; expected f64, q16, q8 or policy");
+      return;
+    }
+    writeBinary(quantized, binary);
+    System.out.println("Wrote " + quantized + " to " + binary);
+  }
+}
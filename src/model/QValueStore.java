@@ -0,0 +1,67 @@
+package model;
+
+/**
+ * Storage for the Q-values a {@link QLearningTrainer} updates.
+ *
+ * <p>Values are addressed by a flat index ({@code state * 2 + action}, as in {@link QTable}).
+ * The only write is the Q-learning step {@code q += alpha * (target - q)}, a tiny
+ * read-modify-write, so implementations differ only in how they make that step safe
+ * when several training threads share one table.</p>
+ */
+public interface QValueStore {
+
+  /**
+   * Returns the number of values in the store.
+   *
+   * @return the value count
+   */
+  int size();
+
+  /**
+   * Returns the current value at an index.
+   *
+   * @param index the flat state-action index
+   * @return the current Q-value
+   */
+  double get(int index);
+
+  /**
+   * Moves the value at an index toward a target: {@code q += alpha * (target - q)}.
+   *
+   * @param index  the flat state-action index
+   * @param target the update target (reward plus discounted future value)
+   * @param alpha  the learning rate
+   */
+  void update(int index, double target, double alpha);
+
+  /**
+   * Returns a store backed by a plain array, for use by a single thread.
+   *
+   * @param size number of values
+   * @return the new store, filled with zeros
+   */
+  static QValueStore plain(int size) {
+    return new ArrayQValueStore(size);
+  }
+
+  /**
+   * Returns a store that guards updates with a fixed set of striped locks.
+   *
+   * @param size    number of values
+   * @param stripes number of locks; indices share the lock {@code index % stripes}
+   * @return the new store, filled with zeros
+   */
+  static QValueStore striped(int size, int stripes) {
+    return new StripedQValueStore(size, stripes);
+  }
+
+  /**
+   * Returns a lock-free store that applies updates with compare-and-set on the value bits.
+   *
+   * @param size number of values
+   * @return the new store, filled with zeros
+   */
+  static QValueStore lockFree(int size) {
+    return new AtomicQValueStore(size);
+  }
+}
@@ -0,0 +1,326 @@
+package model;
+
+/**
+ * A compact, immutable {@link PolicyTable} that stores Q-values in fixed point with one
+ * scale for the whole table.
+ *
+ * <p>Three encodings are available:</p>
+ * <ul>
+ *   <li>{@link Encoding#Q16}: each value as a 16-bit integer (4x smaller than doubles).</li>
+ *   <li>{@link Encoding#Q8}: each value as an 8-bit integer (8x smaller).</li>
+ *   <li>{@link Encoding#POLICY}: one signed 8-bit margin per state, hit minus stand
+ *       (16x smaller). {@link #getQ(int, int)} then reports the margin as the hit value
+ *       and 0 as the stand value, so the preferred action and the margin are kept but
+ *       the absolute values are not.</li>
+ * </ul>
+ *
+ * <p>Whatever the encoding, the preferred action of every state is the same as in the
+ * source table: where rounding would flip or tie a hit/stand comparison, the smaller
+ * possible nudge of one step is applied, and such states are counted in
+ * {@link #getAdjustedStates()}. The largest and mean absolute error introduced by
+ * quantization are recorded when the table is built.</p>
+ */
+public final class QuantizedQTable implements PolicyTable {
+
+  /** Storage encodings. */
+  public enum Encoding {
+    /** 16-bit fixed point per value. */
+    Q16(Short.MAX_VALUE),
+    /** 8-bit fixed point per value. */
+    Q8(Byte.MAX_VALUE),
+    /** 8-bit fixed-point margin per state, hit minus stand. */
+    POLICY(Byte.MAX_VALUE);
+
+    /** Largest stored magnitude; the most negative code marks unknown states. */
+    final int maxCode;
+
+    Encoding(int maxCode) {
+      this.maxCode = maxCode;
+    }
+  }
+
+  /** Storage encoding. */
+  private final Encoding encoding;
+
+  /** Value of one fixed-point step. */
+  private final double scale;
+
+  /** Codes for {@link Encoding#Q16}, laid out like {@link QTable}; null otherwise. */
+  private final short[] shortCodes;
+
+  /** Codes for {@link Encoding#Q8} (per value) or {@link Encoding#POLICY} (per state). */
+  private final byte[] byteCodes;
+
+  /** Number of states that hold values. */
+  private final int size;
+
+  /** Largest absolute error of a decoded value (of a margin for {@link Encoding#POLICY}). */
+  private final double maxError;
+
+  /** Mean absolute error of decoded values (of margins for {@link Encoding#POLICY}). */
+  private final double meanError;
+
+  /** Number of states whose codes were nudged to keep the preferred action. */
+  private final int adjustedStates;
+
+  /**
+   * Wraps decoded storage. Precision statistics are not known for tables read from disk.
+   *
+   * @param encoding   storage encoding
+   * @param scale      value of one fixed-point step
+   * @param shortCodes codes for {@link Encoding#Q16}, otherwise null
+   * @param byteCodes  codes for the 8-bit encodings, otherwise null
+   */
+  QuantizedQTable(Encoding encoding, double scale, short[] shortCodes, byte[] byteCodes) {
+    this(encoding, scale, shortCodes, byteCodes, Double.NaN, Double.NaN, 0);
+  }
+
+  private QuantizedQTable(Encoding encoding, double scale, short[] shortCodes, byte[] byteCodes,
+                          double maxError, double meanError, int adjustedStates) {
+    int expected = encoding == Encoding.POLICY
+        ? QTable.STATE_COUNT : QTable.STATE_COUNT * QTable.ACTION_COUNT;
+    int length = encoding == Encoding.Q16 ? shortCodes.length : byteCodes.length;
+    if (length != expected) {
+      throw new IllegalArgumentException("Expected " + expected + " codes but got " + length);
+    }
+    if (!(scale > 0) || Double.isInfinite(scale)) {
+      throw new IllegalArgumentException("Scale must be positive and finite: " + scale);
+    }
+    this.encoding = encoding;
+    this.scale = scale;
+    this.shortCodes = shortCodes;
+    this.byteCodes = byteCodes;
+    this.maxError = maxError;
+    this.meanError = meanError;
+    this.adjustedStates = adjustedStates;
+    int count = 0;
+    for (int state = 0; state < QTable.STATE_COUNT; state++) {
+      if (code(encoding == Encoding.POLICY ? state : state * QTable.ACTION_COUNT) != unknownCode()) {
+        count++;
+      }
+    }
+    this.size = count;
+  }
+
+  /**
+   * Quantizes a full-precision table.
+   *
+   * @param table    the source table
+   * @param encoding the storage encoding
+   * @return the quantized table, with its precision statistics
+   */
+  public static QuantizedQTable quantize(QTable table, Encoding encoding) {
+    double maxMagnitude = 0;
+    for (int state = 0; state < QTable.STATE_COUNT; state++) {
+      double hit = table.getQ(state, QTable.HIT);
+      double stand = table.getQ(state, QTable.STAND);
+      if (Double.isNaN(hit) || Double.isNaN(stand)) {
+        continue;
+      }
+      maxMagnitude = encoding == Encoding.POLICY
+          ? Math.max(maxMagnitude, Math.abs(hit - stand))
+          : Math.max(maxMagnitude, Math.max(Math.abs(hit), Math.abs(stand)));
+    }
+    double scale = maxMagnitude > 0 ? maxMagnitude / encoding.maxCode : 1.0;
+    int max = encoding.maxCode;
+
+    int[] codes = new int[encoding == Encoding.POLICY
+        ? QTable.STATE_COUNT : QTable.STATE_COUNT * QTable.ACTION_COUNT];
+    double errorSum = 0;
+    double maxError = 0;
+    int errorCount = 0;
+    int adjusted = 0;
+    for (int state = 0; state < QTable.STATE_COUNT; state++) {
+      double hit = table.getQ(state, QTable.HIT);
+      double stand = table.getQ(state, QTable.STAND);
+      boolean known = !Double.isNaN(hit) && !Double.isNaN(stand);
+      if (encoding == Encoding.POLICY) {
+        if (!known) {
+          codes[state] = -max - 1;
+          continue;
+        }
+        int margin = (int) Math.round((hit - stand) / scale);
+        // Hit wins only on a strictly positive margin; keep that sign
+        if (hit > stand && margin <= 0) {
+          margin = 1;
+          adjusted++;
+        } else if (hit <= stand && margin > 0) {
+          margin = 0;
+          adjusted++;
+        }
+        codes[state] = margin;
+        double error = Math.abs(margin * scale - (hit - stand));
+        errorSum += error;
+        maxError = Math.max(maxError, error);
+        errorCount++;
+      } else {
+        int base = state * QTable.ACTION_COUNT;
+        if (!known) {
+          codes[base + QTable.HIT] = -max - 1;
+          codes[base + QTable.STAND] = -max - 1;
+          continue;
+        }
+        int hitCode = (int) Math.round(hit / scale);
+        int standCode = (int) Math.round(stand / scale);
+        if (hit > stand && hitCode <= standCode) {
+          if (standCode < max) {
+            hitCode = standCode + 1;
+          } else {
+            standCode = hitCode - 1;
+          }
+          adjusted++;
+        } else if (hit <= stand && hitCode > standCode) {
+          hitCode = standCode;
+          adjusted++;
+        }
+        codes[base + QTable.HIT] = hitCode;
+        codes[base + QTable.STAND] = standCode;
+        for (int action = 0; action < QTable.ACTION_COUNT; action++) {
+          double error = Math.abs(codes[base + action] * scale - table.getQ(state, action));
+          errorSum += error;
+          maxError = Math.max(maxError, error);
+          errorCount++;
+        }
+      }
+    }
+
+    short[] shortCodes = null;
+    byte[] byteCodes = null;
+    if (encoding == Encoding.Q16) {
+      shortCodes = new short[codes.length];
+      for (int i = 0; i < codes.length; i++) {
+        shortCodes[i] = (short) codes[i];
+      }
+    } else {
+      byteCodes = new byte[codes.length];
+      for (int i = 0; i < codes.length; i++) {
+        byteCodes[i] = (byte) codes[i];
+      }
+    }
+    return new QuantizedQTable(encoding, scale, shortCodes, byteCodes,
+        maxError, errorCount == 0 ? 0.0 : errorSum / errorCount, adjusted);
+  }
+
+  @Override
+  public double getQ(int state, int action) {
+    if (encoding == Encoding.POLICY) {
+      int margin = byteCodes[state];
+      if (margin == unknownCode()) {
+        return Double.NaN;
+      }
+      return action == QTable.HIT ? margin * scale : 0.0;
+    }
+    int code = code(state * QTable.ACTION_COUNT + action);
+    return code == unknownCode() ? Double.NaN : code * scale;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public long memoryBytes() {
+    return encoding == Encoding.Q16 ? (long) shortCodes.length * Short.BYTES : byteCodes.length;
+  }
+
+  @Override
+  public QTable toQTable() {
+    double[] values = QTable.newValueArray();
+    for (int state = 0; state < QTable.STATE_COUNT; state++) {
+      values[state * QTable.ACTION_COUNT + QTable.HIT] = getQ(state, QTable.HIT);
+      values[state * QTable.ACTION_COUNT + QTable.STAND] = getQ(state, QTable.STAND);
+    }
+    return new QTable(values);
+  }
+
+  /**
+   * Returns the storage encoding.
+   *
+   * @return the encoding
+   */
+  public Encoding getEncoding() {
+    return encoding;
+  }
+
+  /**
+   * Returns the value of one fixed-point step.
+   *
+   * @return the scale
+   */
+  public double getScale() {
+    return scale;
+  }
+
+  /**
+   * Returns the largest absolute error of a decoded value, or of a decoded margin for
+   * {@link Encoding#POLICY}.
+   *
+   * @return the error, or {@code NaN} if the table was read from disk
+   */
+  public double getMaxError() {
+    return maxError;
+  }
+
+  /**
+   * Returns the mean absolute error of decoded values, or of decoded margins for
+   * {@link Encoding#POLICY}.
+   *
+   * @return the error, or {@code NaN} if the table was read from disk
+   */
+  public double getMeanError() {
+    return meanError;
+  }
+
+  /**
+   * Returns how many states had their codes nudged so the preferred action stayed the same.
+   *
+   * @return the number of adjusted states
+   */
+  public int getAdjustedStates() {
+    return adjustedStates;
+  }
+
+  /**
+   * Returns the raw 16-bit codes for {@link Encoding#Q16}. Shared, not copied.
+   *
+   * @return the codes, or null for other encodings
+   */
+  short[] shortCodes() {
+    return shortCodes;
+  }
+
+  /**
+   * Returns the raw 8-bit codes for {@link Encoding#Q8} and {@link Encoding#POLICY}.
+   * Shared, not copied.
+   *
+   * @return the codes, or null for {@link Encoding#Q16}
+   */
+  byte[] byteCodes() {
+    return byteCodes;
+  }
+
+  /**
+   * Summarizes the encoding, size and precision of the table.
+   *
+   * @return a one-line report
+   */
+  @Override
+  public String toString() {
+    return String.format("%s: %d states, %d bytes (%.0fx smaller), scale=%.3g, "
+            + "max error=%.3g, mean error=%.3g, adjusted states=%d",
+        encoding, size, memoryBytes(),
+        (double) QTable.STATE_COUNT * QTable.ACTION_COUNT * Double.BYTES / memoryBytes(),
+        scale, maxError, meanError, adjustedStates);
+  }
+
+  /** Returns the stored code at an index, whichever array holds it. */
+  private int code(int index) {
+    return encoding == Encoding.Q16 ? shortCodes[index] : byteCodes[index];
+  }
+
+  /** Returns the code marking unknown states. */
+  private int unknownCode() {
+    return -encoding.maxCode - 1;
+  }
+}
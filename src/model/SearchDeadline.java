@@ -0,0 +1,56 @@
+package model;
+
+/**
+ * SearchDeadline tracks the time budget of one recursive search.
+ *
+ * <p>Reading the clock costs far more than expanding a state, so {@link #checkExpired()}
+ * reads it only on the first and every 64th expansion. Checking the first expansion means
+ * even searches smaller than that notice a deadline that has already passed. Once expired,
+ * a deadline stays expired.</p>
+ */
+final class SearchDeadline {
+
+  /** Expansions between clock reads, minus one; the interval is a power of two. */
+  private static final int CHECK_MASK = 63;
+
+  /** {@link System#nanoTime()} value after which the search gives up. */
+  private final long deadlineNanos;
+
+  /** Number of states expanded so far. */
+  private int expanded;
+
+  /** Whether the deadline has passed. */
+  private boolean expired;
+
+  /**
+   * Creates a deadline for one search.
+   *
+   * @param deadlineNanos {@link System#nanoTime()} value after which to give up,
+   *                      or {@link Long#MAX_VALUE} for no deadline
+   */
+  SearchDeadline(long deadlineNanos) {
+    this.deadlineNanos = deadlineNanos;
+  }
+
+  /**
+   * Counts one expanded state, reading the clock if this expansion is due a check.
+   *
+   * @return true if the deadline has passed
+   */
+  boolean checkExpired() {
+    if (deadlineNanos != Long.MAX_VALUE && (expanded++ & CHECK_MASK) == 0
+        && System.nanoTime() - deadlineNanos > 0) {
+      expired = true;
+    }
+    return expired;
+  }
+
+  /**
+   * Returns whether an earlier check found the deadline passed.
+   *
+   * @return true if the search has expired
+   */
+  boolean isExpired() {
+    return expired;
+  }
+}
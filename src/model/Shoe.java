@@ -0,0 +1,225 @@
+package model;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Represents a casino-style shoe holding one or more standard 52-card decks.
+ *
+ * <p>Cards are kept as {@link Card} codes in a primitive array and dealt by advancing a read
+ * cursor, so drawing is O(1) and never shifts or reallocates the remaining cards.
+ * A cut card is placed at the configured penetration; once it has come out,
+ * {@link #shuffleIfCutCardReached()} reshuffles the same array in place.</p>
+ *
+ * <p>{@link #shuffleIfCutCardReached()} also marks the start of a round. If the shoe runs out
+ * during a round, only the cards discarded in earlier rounds are reshuffled; the cards dealt
+ * since the round began are still on the table and stay out of the shoe.</p>
+ */
+public class Shoe {
+
+  /** Smallest number of decks a shoe may hold. */
+  public static final int MIN_DECKS = 1;
+
+  /** Largest number of decks a shoe may hold. */
+  public static final int MAX_DECKS = 8;
+
+  /** Fraction of the shoe dealt before the cut card comes out, unless configured. */
+  public static final double DEFAULT_PENETRATION = 0.75;
+
+  /** Card codes (see {@link Card#of(int)}) in dealing order. */
+  private final byte[] cards;
+
+  /** Index of the cut card; reaching it marks the shoe for reshuffling. */
+  private final int cutCard;
+
+  /** Source of randomness for shuffling. */
+  private final RandomGenerator rng;
+
+  /** Number of decks in the shoe. */
+  private final int decks;
+
+  /** Undealt cards per game value, indexed 1-10 (index 0 unused). */
+  private final int[] rankCounts = new int[11];
+
+  /** Index of the next card to deal. */
+  private int cursor;
+
+  /** Index of the first card dealt in the current round; earlier cards are discards. */
+  private int roundStart;
+
+  /**
+   * Constructs a shuffled single-deck shoe with the default penetration.
+   */
+  public Shoe() {
+    this(1);
+  }
+
+  /**
+   * Constructs a shuffled shoe with the given number of decks and the default penetration.
+   *
+   * @param decks number of decks (1-8)
+   */
+  public Shoe(int decks) {
+    this(decks, DEFAULT_PENETRATION, new Random());
+  }
+
+  /**
+   * Constructs a shuffled shoe.
+   *
+   * @param decks       number of decks (1-8)
+   * @param penetration fraction of the shoe dealt before the cut card, in (0, 1]
+   * @param rng         random generator used for every shuffle of this shoe
+   * @throws IllegalArgumentException if the deck count or penetration is out of range
+   */
+  public Shoe(int decks, double penetration, RandomGenerator rng) {
+    if (decks < MIN_DECKS || decks > MAX_DECKS) {
+      throw new IllegalArgumentException("Deck count must be between " + MIN_DECKS
+          + " and " + MAX_DECKS + ": " + decks);
+    }
+    if (!(penetration > 0 && penetration <= 1)) {
+      throw new IllegalArgumentException("Penetration must be in (0, 1]: " + penetration);
+    }
+    this.decks = decks;
+    this.rng = rng;
+    this.cards = new byte[decks * Card.DISTINCT_CARDS];
+    this.cutCard = Math.max(1, (int) Math.round(cards.length * penetration));
+
+    for (int i = 0; i < cards.length; i++) {
+      cards[i] = (byte) (i % Card.DISTINCT_CARDS);
+    }
+    shuffle();
+  }
+
+  /**
+   * Deals the next card. If the shoe has run out completely, the discards are reshuffled first.
+   *
+   * @return the dealt card
+   */
+  public Card drawCard() {
+    return Card.of(drawCode());
+  }
+
+  /**
+   * Deals the next card as its code. If the shoe has run out completely, the discards are
+   * reshuffled first.
+   *
+   * @return the code of the dealt card (0-51)
+   */
+  public int drawCode() {
+    if (cursor == cards.length) {
+      reshuffleDiscards();
+    }
+    byte code = cards[cursor++];
+    rankCounts[Card.gameValueOf(code)]--;
+    return code;
+  }
+
+  /**
+   * Returns whether the cut card has come out.
+   *
+   * @return true if the shoe should be reshuffled before the next round
+   */
+  public boolean isCutCardReached() {
+    return cursor >= cutCard;
+  }
+
+  /**
+   * Reshuffles the shoe if the cut card has come out. Intended to be called between rounds.
+   *
+   * @return true if the shoe was reshuffled
+   */
+  public boolean shuffleIfCutCardReached() {
+    boolean reached = isCutCardReached();
+    if (reached) {
+      shuffle();
+    }
+    roundStart = cursor;
+    return reached;
+  }
+
+  /**
+   * Returns every card to the shoe and shuffles it in place (Fisher-Yates).
+   */
+  public void shuffle() {
+    for (int i = cards.length - 1; i > 0; i--) {
+      int j = rng.nextInt(i + 1);
+      byte tmp = cards[i];
+      cards[i] = cards[j];
+      cards[j] = tmp;
+    }
+    cursor = 0;
+    roundStart = 0;
+    for (int rank = 1; rank <= 9; rank++) {
+      rankCounts[rank] = 4 * decks;
+    }
+    rankCounts[10] = 16 * decks;
+  }
+
+  /**
+   * Refills an exhausted shoe from the discards of earlier rounds. The cards of the current
+   * round are moved to the front as already dealt and the discards after them are shuffled.
+   * With no earlier rounds to draw on, every card is returned to the shoe.
+   */
+  private void reshuffleDiscards() {
+    if (roundStart == 0) {
+      shuffle();
+      return;
+    }
+    int onTable = cards.length - roundStart;
+    byte[] table = new byte[onTable];
+    System.arraycopy(cards, roundStart, table, 0, onTable);
+    System.arraycopy(cards, 0, cards, onTable, roundStart);
+    System.arraycopy(table, 0, cards, 0, onTable);
+    for (int i = cards.length - 1; i > onTable; i--) {
+      int j = onTable + rng.nextInt(i - onTable + 1);
+      byte tmp = cards[i];
+      cards[i] = cards[j];
+      cards[j] = tmp;
+    }
+    cursor = onTable;
+    roundStart = 0;
+    Arrays.fill(rankCounts, 0);
+    for (int i = onTable; i < cards.length; i++) {
+      rankCounts[Card.gameValueOf(cards[i])]++;
+    }
+  }
+
+  /**
+   * Returns the number of cards not yet dealt.
+   *
+   * @return the remaining card count
+   */
+  public int remaining() {
+    return cards.length - cursor;
+  }
+
+  /**
+   * Copies the number of undealt cards per game value into {@code out}.
+   *
+   * @param out array of at least 11 slots; slots 1-10 receive the counts for Ace to ten-value
+   *            cards and slot 0 is set to zero
+   * @return {@code out}
+   */
+  public int[] remainingRankCounts(int[] out) {
+    System.arraycopy(rankCounts, 0, out, 0, rankCounts.length);
+    return out;
+  }
+
+  /**
+   * Returns the total number of cards in the shoe.
+   *
+   * @return the shoe size
+   */
+  public int size() {
+    return cards.length;
+  }
+
+  /**
+   * Returns the number of decks in the shoe.
+   *
+   * @return the deck count
+   */
+  public int getDeckCount() {
+    return decks;
+  }
+}
@@ -0,0 +1,168 @@
+package model;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+/**
+ * Plays complete Blackjack rounds without any UI, for measuring policies at scale.
+ *
+ * <p>Rounds follow the same rules as {@link BlackjackGame} and the controllers:
+ * two cards each (player first), a two-card 21 wins outright, the player acts
+ * according to a {@link Policy}, a player bust loses, and the dealer hits below 17
+ * (standing on soft 17). Hands are tracked as primitive hard totals and ace counts and
+ * cards are dealt as codes from a {@link Shoe}, so a round allocates nothing.</p>
+ */
+public class SimulationEngine {
+
+  /**
+   * Decides whether the player hits in a given state.
+   */
+  @FunctionalInterface
+  public interface Policy {
+
+    /**
+     * Returns whether to hit.
+     *
+     * @param total      the player's current hand total
+     * @param dealerCard the dealer's visible card value (1-10)
+     * @param usableAce  1 if the player has a usable ace, 0 otherwise
+     * @return true to hit, false to stand
+     */
+    boolean shouldHit(int total, int dealerCard, int usableAce);
+  }
+
+  /** Policy that plays like the dealer: hit below 17. */
+  public static final Policy DEALER_RULE = (total, dealerCard, usableAce) -> total < 17;
+
+  /** Score at or above which the dealer stands. */
+  private static final int DEALER_STANDS_ON = 17;
+
+  /** The shoe cards are dealt from. */
+  private final Shoe shoe;
+
+  /** The player's decision rule. */
+  private final Policy policy;
+
+  /**
+   * Constructs an engine dealing from the given shoe and playing the given policy.
+   *
+   * @param shoe   the shoe to deal from; reshuffled between rounds at its cut card
+   * @param policy the player's decision rule
+   */
+  public SimulationEngine(Shoe shoe, Policy policy) {
+    this.shoe = shoe;
+    this.policy = policy;
+  }
+
+  /**
+   * Returns a policy that follows a Q-table, hitting when the hit value is higher.
+   * States missing from the table fall back to {@link #DEALER_RULE}.
+   *
+   * @param table the Q-table to follow
+   * @return the table-driven policy
+   */
+  public static Policy tablePolicy(QTable table) {
+    return (total, dealerCard, usableAce) -> {
+      int state = QTable.stateIndex(total, dealerCard, usableAce);
+      double hit = state < 0 ? Double.NaN : table.getQ(state, QTable.HIT);
+      double stand = state < 0 ? Double.NaN : table.getQ(state, QTable.STAND);
+      if (Double.isNaN(hit) || Double.isNaN(stand)) {
+        return DEALER_RULE.shouldHit(total, dealerCard, usableAce);
+      }
+      return hit > stand;
+    };
+  }
+
+  /**
+   * Plays the given number of rounds and returns their outcomes.
+   *
+   * @param hands number of rounds to play
+   * @return the accumulated results
+   */
+  public SimulationResult run(long hands) {
+    SimulationResult result = new SimulationResult();
+    run(hands, result);
+    return result;
+  }
+
+  /**
+   * Plays the given number of rounds, adding their outcomes to an existing result.
+   *
+   * @param hands  number of rounds to play
+   * @param result the result to add to
+   */
+  public void run(long hands, SimulationResult result) {
+    for (long i = 0; i < hands; i++) {
+      shoe.shuffleIfCutCardReached();
+      playRound(result);
+    }
+  }
+
+  /**
+   * Plays one round and records its outcome.
+   *
+   * @param result the result to record into
+   */
+  private void playRound(SimulationResult result) {
+    int p1 = Card.gameValueOf(shoe.drawCode());
+    int p2 = Card.gameValueOf(shoe.drawCode());
+    int upcard = Card.gameValueOf(shoe.drawCode());
+    int hole = Card.gameValueOf(shoe.drawCode());
+
+    int player = HandTransitions.next(HandTransitions.next(HandTransitions.EMPTY, p1), p2);
+    if (HandTransitions.isTwentyOne(player)) {
+      result.recordWin(true, false);
+      return;
+    }
+
+    while ((player & (HandTransitions.BUST | HandTransitions.TWENTY_ONE)) == 0
+        && policy.shouldHit(HandTransitions.score(player), upcard, HandTransitions.usableAce(player))) {
+      player = HandTransitions.next(player, Card.gameValueOf(shoe.drawCode()));
+    }
+    if (HandTransitions.isBust(player)) {
+      result.recordLoss(true);
+      return;
+    }
+
+    int dealer = HandTransitions.next(HandTransitions.next(HandTransitions.EMPTY, upcard), hole);
+    while (HandTransitions.score(dealer) < DEALER_STANDS_ON) {
+      dealer = HandTransitions.next(dealer, Card.gameValueOf(shoe.drawCode()));
+    }
+
+    int playerScore = HandTransitions.score(player);
+    int dealerScore = HandTransitions.score(dealer);
+    if (HandTransitions.isBust(dealer)) {
+      result.recordWin(false, true);
+    } else if (playerScore > dealerScore) {
+      result.recordWin(false, false);
+    } else if (playerScore < dealerScore) {
+      result.recordLoss(false);
+    } else {
+      result.recordPush();
+    }
+  }
+
+  /**
+   * Runs a headless simulation from the command line.
+   * Usage: {@code java model.SimulationEngine [hands] [decks] [q_table.json] [seed]};
+   * without a Q-table the player follows the dealer rule.
+   *
+   * @param args optional hand count, deck count, Q-table path and seed
+   * @throws IOException if the Q-table cannot be loaded
+   */
+  public static void main(String[] args) throws IOException {
+    long hands = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+    int decks = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+    Policy policy = args.length > 2 ? tablePolicy(QTableCodec.load(args[2])) : DEALER_RULE;
+    long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+
+    Shoe shoe = new Shoe(decks, Shoe.DEFAULT_PENETRATION, new SplittableRandom(seed));
+    SimulationEngine engine = new SimulationEngine(shoe, policy);
+    engine.run(Math.min(hands, 1_000_000L));  // warm-up
+
+    long start = System.nanoTime();
+    SimulationResult result = engine.run(hands);
+    double seconds = (System.nanoTime() - start) / 1e9;
+    System.out.println(result);
+    System.out.printf("%.1f M hands/s%n", hands / seconds / 1e6);
+  }
+}
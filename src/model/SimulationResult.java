@@ -0,0 +1,148 @@
+package model;
+
+/**
+ * Accumulates the outcomes of simulated Blackjack hands.
+ * All counters are primitives, so recording a hand never allocates,
+ * and results from separate runs can be combined with {@link #merge(SimulationResult)}.
+ */
+public class SimulationResult {
+
+  /** Number of hands the player won, including naturals. */
+  private long wins;
+
+  /** Number of hands the player lost, including busts. */
+  private long losses;
+
+  /** Number of tied hands. */
+  private long pushes;
+
+  /** Number of hands won with a two-card 21. */
+  private long naturals;
+
+  /** Number of hands lost by going over 21. */
+  private long playerBusts;
+
+  /** Number of hands won because the dealer went over 21. */
+  private long dealerBusts;
+
+  /** Records a win; {@code natural} marks a two-card 21, {@code dealerBust} a dealer bust. */
+  void recordWin(boolean natural, boolean dealerBust) {
+    wins++;
+    if (natural) naturals++;
+    if (dealerBust) dealerBusts++;
+  }
+
+  /** Records a loss; {@code bust} marks a player bust. */
+  void recordLoss(boolean bust) {
+    losses++;
+    if (bust) playerBusts++;
+  }
+
+  /** Records a tie. */
+  void recordPush() {
+    pushes++;
+  }
+
+  /**
+   * Adds the counts of another result to this one.
+   *
+   * @param other the result to add
+   */
+  public void merge(SimulationResult other) {
+    wins += other.wins;
+    losses += other.losses;
+    pushes += other.pushes;
+    naturals += other.naturals;
+    playerBusts += other.playerBusts;
+    dealerBusts += other.dealerBusts;
+  }
+
+  /**
+   * Returns the number of hands played.
+   *
+   * @return the hand count
+   */
+  public long getHands() {
+    return wins + losses + pushes;
+  }
+
+  /**
+   * Returns the number of hands won.
+   *
+   * @return the win count
+   */
+  public long getWins() {
+    return wins;
+  }
+
+  /**
+   * Returns the number of hands lost.
+   *
+   * @return the loss count
+   */
+  public long getLosses() {
+    return losses;
+  }
+
+  /**
+   * Returns the number of tied hands.
+   *
+   * @return the push count
+   */
+  public long getPushes() {
+    return pushes;
+  }
+
+  /**
+   * Returns the number of hands won with a two-card 21.
+   *
+   * @return the natural count
+   */
+  public long getNaturals() {
+    return naturals;
+  }
+
+  /**
+   * Returns the number of hands lost by going over 21.
+   *
+   * @return the player bust count
+   */
+  public long getPlayerBusts() {
+    return playerBusts;
+  }
+
+  /**
+   * Returns the number of hands won because the dealer went over 21.
+   *
+   * @return the dealer bust count
+   */
+  public long getDealerBusts() {
+    return dealerBusts;
+  }
+
+  /**
+   * Returns the player's expected value per hand at even-money payouts.
+   *
+   * @return (wins - losses) / hands, or 0 if no hands were played
+   */
+  public double getExpectedValue() {
+    long hands = getHands();
+    return hands == 0 ? 0.0 : (double) (wins - losses) / hands;
+  }
+
+  /**
+   * Returns a one-line summary of the result.
+   *
+   * @return the summary
+   */
+  @Override
+  public String toString() {
+    long hands = getHands();
+    return String.format("hands=%d win=%.4f loss=%.4f push=%.4f EV=%+.5f",
+        hands, ratio(wins, hands), ratio(losses, hands), ratio(pushes, hands), getExpectedValue());
+  }
+
+  private static double ratio(long count, long hands) {
+    return hands == 0 ? 0.0 : (double) count / hands;
+  }
+}
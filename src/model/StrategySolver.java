@@ -0,0 +1,172 @@
+package model;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Solves the (player total, dealer upcard, usable ace) game exactly by value iteration,
+ * producing the true hit and stand EVs that {@code blackjack_q_train.py} only estimates.
+ *
+ * <p>Rules match the controllers: the dealer hits below 17 and stands on all 17s, and cards
+ * come from an infinite deck as in the training script. Stand EVs come from
+ * {@link DealerOutcomeCalculator}; hit EVs average over the next card, where a bust is worth
+ * -1 and any other hand is worth the better of its own hit and stand EVs. Hitting only ever
+ * moves to larger hard totals, so sweeps converge to the exact values after a handful of
+ * passes and the whole solve takes a few milliseconds.</p>
+ *
+ * <p>The resulting table holds every reachable playing state (hard 4-21, soft 12-21) and
+ * none of the unreachable or bust states that appear in trained tables.</p>
+ */
+public final class StrategySolver {
+
+  /** Probability of drawing each game value (index 1-10) from an infinite deck. */
+  private static final double[] RANK_PROBABILITY = new double[11];
+
+  /** Sweeps stop once no value moves by more than this. */
+  private static final double TOLERANCE = 1e-15;
+
+  /** Upper bound on sweeps; the state graph is acyclic, so far fewer are needed. */
+  private static final int MAX_SWEEPS = 64;
+
+  static {
+    for (int rank = 1; rank <= 9; rank++) {
+      RANK_PROBABILITY[rank] = 1.0 / 13;
+    }
+    RANK_PROBABILITY[10] = 4.0 / 13;
+  }
+
+  /** Utility class; not instantiable. */
+  private StrategySolver() {
+  }
+
+  /**
+   * Computes the exact strategy table.
+   *
+   * @return a table of exact hit and stand EVs for every reachable state
+   */
+  public static QTable solve() {
+    // value[ace][total][upcard] = max(hit, stand); unreachable totals stay 0 and are never read
+    double[][][] value = new double[2][22][11];
+    double[][][] hit = new double[2][22][11];
+    double[][][] stand = new double[2][22][11];
+    for (int ace = 0; ace < 2; ace++) {
+      for (int total = minTotal(ace); total <= 21; total++) {
+        for (int upcard = 1; upcard <= 10; upcard++) {
+          stand[ace][total][upcard] = DealerOutcomeCalculator.standEv(total, upcard);
+          value[ace][total][upcard] = stand[ace][total][upcard];
+        }
+      }
+    }
+
+    for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+      double delta = 0;
+      for (int ace = 0; ace < 2; ace++) {
+        for (int total = 21; total >= minTotal(ace); total--) {
+          for (int upcard = 1; upcard <= 10; upcard++) {
+            double ev = hitEv(total, ace, upcard, value);
+            hit[ace][total][upcard] = ev;
+            double best = Math.max(ev, stand[ace][total][upcard]);
+            delta = Math.max(delta, Math.abs(best - value[ace][total][upcard]));
+            value[ace][total][upcard] = best;
+          }
+        }
+      }
+      if (delta <= TOLERANCE) {
+        break;
+      }
+    }
+
+    QTable.Builder builder = new QTable.Builder();
+    for (int ace = 0; ace < 2; ace++) {
+      for (int total = minTotal(ace); total <= 21; total++) {
+        for (int upcard = 1; upcard <= 10; upcard++) {
+          builder.put(total, upcard, ace, hit[ace][total][upcard], stand[ace][total][upcard]);
+        }
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns the expected value of hitting once and then playing optimally.
+   *
+   * @param total  the player's total
+   * @param ace    1 if the total counts an ace as 11
+   * @param upcard the dealer's visible card
+   * @param value  current best values by {@code [ace][total][upcard]}
+   * @return the expected value of hitting
+   */
+  private static double hitEv(int total, int ace, int upcard, double[][][] value) {
+    int hard = ace == 1 ? total - 10 : total;
+    double ev = 0;
+    for (int rank = 1; rank <= 10; rank++) {
+      int nextHard = hard + rank;
+      boolean hasAce = ace == 1 || rank == 1;
+      double next;
+      if (nextHard > 21) {
+        next = -1.0;
+      } else if (hasAce && nextHard + 10 <= 21) {
+        next = value[1][nextHard + 10][upcard];
+      } else {
+        next = value[0][nextHard][upcard];
+      }
+      ev += RANK_PROBABILITY[rank] * next;
+    }
+    return ev;
+  }
+
+  /** Returns the smallest reachable total for hard (0) or soft (1) hands. */
+  private static int minTotal(int ace) {
+    return ace == 1 ? 12 : 4;
+  }
+
+  /**
+   * Counts the states where two tables recommend different actions.
+   * Only states known to both tables are compared.
+   *
+   * @param expected the reference table, e.g. from {@link #solve()}
+   * @param actual   the table to check, e.g. a trained one
+   * @return the number of disagreeing states
+   */
+  public static int countDisagreements(QTable expected, QTable actual) {
+    int disagreements = 0;
+    for (int state = 0; state < QTable.STATE_COUNT; state++) {
+      double eHit = expected.getQ(state, QTable.HIT);
+      double eStand = expected.getQ(state, QTable.STAND);
+      double aHit = actual.getQ(state, QTable.HIT);
+      double aStand = actual.getQ(state, QTable.STAND);
+      if (Double.isNaN(eHit) || Double.isNaN(eStand) || Double.isNaN(aHit) || Double.isNaN(aStand)) {
+        continue;
+      }
+      if ((eHit > eStand) != (aHit > aStand)) {
+        disagreements++;
+      }
+    }
+    return disagreements;
+  }
+
+  /**
+   * Solves the game and writes the table as JSON plus its binary copy. When a trained
+   * table is given, reports the states where it disagrees with the exact strategy.
+   * Usage: {@code java model.StrategySolver [optimal_q_table.json] [trained_q_table.json]}
+   *
+   * @param args optional output path and trained table to check
+   * @throws IOException if a table cannot be read or written
+   */
+  public static void main(String[] args) throws IOException {
+    Path output = Paths.get(args.length > 0 ? args[0] : "optimal_q_table.json");
+    long start = System.nanoTime();
+    QTable exact = solve();
+    System.out.printf("Solved %d states in %.2f ms%n", exact.size(), (System.nanoTime() - start) / 1e6);
+
+    QTableCodec.writeJson(exact, output);
+    QTableCodec.writeBinary(exact, QTableCodec.binaryPathFor(output));
+    System.out.println("Strategy table saved to " + output);
+
+    if (args.length > 1) {
+      QTable trained = QTableCodec.load(args[1]);
+      System.out.println(args[1] + " disagrees with the exact strategy in "
+          + countDisagreements(exact, trained) + " states");
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package model;
+
+/**
+ * {@link QValueStore} that guards each value with one of a fixed set of locks.
+ * Reads take the lock too, so every value is seen consistently.
+ */
+final class StripedQValueStore implements QValueStore {
+
+  /** The Q-values. */
+  private final double[] values;
+
+  /** Locks; index {@code i} is guarded by {@code locks[i % locks.length]}. */
+  private final Object[] locks;
+
+  StripedQValueStore(int size, int stripes) {
+    if (stripes <= 0) {
+      throw new IllegalArgumentException("Stripe count must be positive: " + stripes);
+    }
+    this.values = new double[size];
+    this.locks = new Object[stripes];
+    for (int i = 0; i < stripes; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+
+  @Override
+  public double get(int index) {
+    synchronized (locks[index % locks.length]) {
+      return values[index];
+    }
+  }
+
+  @Override
+  public void update(int index, double target, double alpha) {
+    synchronized (locks[index % locks.length]) {
+      values[index] += alpha * (target - values[index]);
+    }
+  }
+}
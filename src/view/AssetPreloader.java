@@ -0,0 +1,179 @@
+package view;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.*;
+import model.Card;
+import model.Log;
+
+/**
+ * AssetPreloader decodes and pre-scales every image the game screens show, in parallel on a
+ * small worker pool, so opening a mode does not stall on disk I/O.
+ *
+ * <p>{@link #start()} is called when the main menu is created and can be called again
+ * safely: only the first call schedules work. Each image is loaded into {@link ImageCache}
+ * at every size a view displays it, so the views' own lookups are cache hits once
+ * {@link #getFuture()} has completed. Images that cannot be read become blank icons and do
+ * not fail the future.</p>
+ *
+ * <p>{@code assets/table_background.jpg} is deliberately left out: no view draws it, since the
+ * table screens paint a solid green background instead. Add it here if a view starts using
+ * it.</p>
+ */
+public final class AssetPreloader {
+
+  /** Image shown for face-down cards. */
+  public static final String CARD_BACK = "assets/cards/back1.png";
+
+  /** Dealer avatar image. */
+  public static final String DEALER_AVATAR = "assets/dealer_avatar.png";
+
+  /** Player avatar image. */
+  public static final String PLAYER_AVATAR = "assets/player_avatar.png";
+
+  /** Displayed dealer avatar width. */
+  public static final int DEALER_AVATAR_WIDTH = 123;
+
+  /** Displayed dealer avatar height. */
+  public static final int DEALER_AVATAR_HEIGHT = 160;
+
+  /** Displayed player avatar width. */
+  public static final int PLAYER_AVATAR_WIDTH = 113;
+
+  /** Displayed player avatar height. */
+  public static final int PLAYER_AVATAR_HEIGHT = 142;
+
+  /** Logger for preload timing. */
+  private static final Log LOG = Log.get(AssetPreloader.class);
+
+  /** Number of preload tasks finished so far, including any that failed. */
+  private static final AtomicInteger LOADED = new AtomicInteger();
+
+  /** Number of images to preload; set when loading starts. */
+  private static volatile int total;
+
+  /** The preload, or null before {@link #start()} is first called. Guarded by the class. */
+  private static CompletableFuture<Void> future;
+
+  /** Utility class; not instantiable. */
+  private AssetPreloader() {
+  }
+
+  /**
+   * Starts preloading on a worker pool unless it has already started.
+   *
+   * @return a future completing once every image is cached
+   */
+  public static synchronized CompletableFuture<Void> start() {
+    if (future != null) {
+      return future;
+    }
+    List<Runnable> tasks = tasks();
+    total = tasks.size();
+    int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    AtomicInteger threadIndex = new AtomicInteger();
+    ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+      Thread thread = new Thread(task, "asset-loader-" + threadIndex.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    long start = System.nanoTime();
+    future = runAll(tasks, pool, LOADED).whenComplete((ignored, error) -> {
+      pool.shutdown();
+      LOG.info("Preloaded {} images in {} ms: {}", total,
+          (System.nanoTime() - start) / 1_000_000, ImageCache.report());
+    });
+    return future;
+  }
+
+  /**
+   * Runs every task on an executor, counting each one as it finishes. A task that throws is
+   * counted and logged too, so progress always reaches the task count.
+   *
+   * @param tasks    the tasks
+   * @param executor runs the tasks
+   * @param finished incremented once per finished task, whether or not it failed
+   * @return a future completing once every task has finished, exceptionally if any failed
+   */
+  static CompletableFuture<Void> runAll(List<Runnable> tasks, Executor executor,
+                                        AtomicInteger finished) {
+    CompletableFuture<?>[] runs = new CompletableFuture<?>[tasks.size()];
+    for (int i = 0; i < runs.length; i++) {
+      CompletableFuture<Void> run = CompletableFuture.runAsync(tasks.get(i), executor);
+      runs[i] = run.whenComplete((ignored, error) -> {
+        finished.incrementAndGet();
+        if (error != null) {
+          LOG.warn("Image preload task failed: {}", error.getCause() != null ? error.getCause() : error);
+        }
+      });
+    }
+    return CompletableFuture.allOf(runs);
+  }
+
+  /**
+   * Returns the preload future, starting the preload if needed.
+   *
+   * @return a future completing once every image is cached
+   */
+  public static CompletableFuture<Void> getFuture() {
+    return start();
+  }
+
+  /**
+   * Runs an action on the Event Dispatch Thread once preloading has finished,
+   * immediately if it already has.
+   *
+   * @param action the action to run
+   */
+  public static void whenReady(Runnable action) {
+    CompletableFuture<Void> preload = start();
+    if (preload.isDone() && SwingUtilities.isEventDispatchThread()) {
+      action.run();
+    } else {
+      preload.whenComplete((ignored, error) -> SwingUtilities.invokeLater(action));
+    }
+  }
+
+  /**
+   * Returns how many images have been preloaded. Images whose task failed are counted too,
+   * so the count reaches {@link #getTotalCount()} once the preload is over.
+   *
+   * @return the finished image count
+   */
+  public static int getLoadedCount() {
+    return LOADED.get();
+  }
+
+  /**
+   * Returns how many images the preload covers.
+   *
+   * @return the total image count, or 0 before {@link #start()}
+   */
+  public static int getTotalCount() {
+    return total;
+  }
+
+  /**
+   * Lists one task per image and displayed size.
+   *
+   * @return the load tasks
+   */
+  private static List<Runnable> tasks() {
+    List<Runnable> tasks = new ArrayList<>();
+    tasks.add(() -> ImageCache.getIcon(DEALER_AVATAR, DEALER_AVATAR_WIDTH, DEALER_AVATAR_HEIGHT));
+    tasks.add(() -> ImageCache.getIcon(PLAYER_AVATAR, PLAYER_AVATAR_WIDTH, PLAYER_AVATAR_HEIGHT));
+    for (int[] size : CardAtlas.SIZES) {
+      tasks.add(() -> ImageCache.getIcon(CARD_BACK, size[0], size[1]));
+      for (int code = 0; code < Card.DISTINCT_CARDS; code++) {
+        String path = Card.of(code).getImagePath();
+        tasks.add(() -> ImageCache.getIcon(path, size[0], size[1]));
+      }
+    }
+    return tasks;
+  }
+}
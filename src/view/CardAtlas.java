@@ -0,0 +1,591 @@
+package view;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import model.Card;
+import model.Log;
+
+/**
+ * CardAtlas packs every card image, pre-scaled to one display size, into a single sprite
+ * atlas, so the game reads one file per size instead of opening each card image.
+ *
+ * <p>Slots are laid out as {@link Card} expects: the 52 faces in code order, then the card
+ * back ({@link Card#ATLAS_BACK_INDEX}), then any other images in the card directory by file
+ * name. The atlas file is a big-endian header and name index followed by raw ARGB pixels:</p>
+ * <pre>
+ *   int    magic        "BJCA"
+ *   int    version      {@link #VERSION}
+ *   int    cellWidth, cellHeight, slotCount
+ *   long   sourcesModified    newest card image modification time, in milliseconds
+ *   long   directoryModified  card directory modification time when last found current
+ *   long   checksum     CRC32 of the names and pixels
+ *   names  slotCount x (short length, UTF-8 file name)
+ *   int    pixels[slotCount * cellHeight * cellWidth]
+ * </pre>
+ *
+ * <p>Reading an atlas streams the file once, checking the CRC as it goes, and copies each
+ * slot's pixels into one ordinary heap image whose slots are shared sub-images. A standard
+ * raster keeps card painting on Java2D's fast paths.</p>
+ *
+ * <p>{@link #forSize(int, int)} builds the atlas file next to the card images when it is
+ * missing, unreadable or stale, as {@link #main(String[])} does ahead of time. Staleness
+ * costs one attribute read while nothing changes: the atlas is current if the card
+ * directory's modification time still equals the one in its header. Otherwise the images
+ * are listed once, and the atlas is rebuilt if any is newer than the recorded
+ * {@code sourcesModified}, or re-stamped with the directory's new time if none is. Adding,
+ * removing or replacing an image changes the directory's time; a tool that rewrites an
+ * image in place does not, so run {@link #main(String[])} after such an edit.</p>
+ */
+public final class CardAtlas {
+
+  /** Magic number at the start of every atlas file ("BJCA"). */
+  public static final int MAGIC = 0x424A4341;
+
+  /** Current atlas format version. */
+  public static final int VERSION = 2;
+
+  /** Directory holding the card images and their atlases. */
+  public static final Path CARD_DIRECTORY = Paths.get("assets", "cards");
+
+  /** File extension of atlas files. */
+  public static final String EXTENSION = ".atlas";
+
+  /** Display sizes that have an atlas, as {width, height}. */
+  static final int[][] SIZES = {
+      {GamePanelBuilder.CARD_WIDTH, GamePanelBuilder.CARD_HEIGHT},
+      {TrainingModeView.CARD_WIDTH, TrainingModeView.CARD_HEIGHT}
+  };
+
+  /** Size of the fixed header in bytes, before the name index. */
+  static final int HEADER_BYTES = 44;
+
+  /** Offset of the {@code directoryModified} header field, which is updated in place. */
+  private static final int DIRECTORY_MODIFIED_OFFSET = 28;
+
+  /** Read buffer size; large enough that the names and header come in one read. */
+  private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+  /** Logger for atlas builds and failures. */
+  private static final Log LOG = Log.get(CardAtlas.class);
+
+  /** Loaded atlases by {@code width << 16 | height}; completes with null if unavailable. */
+  private static final Map<Integer, CompletableFuture<CardAtlas>> ATLASES = new ConcurrentHashMap<>();
+
+  /** Width of each slot. */
+  private final int cellWidth;
+
+  /** Height of each slot. */
+  private final int cellHeight;
+
+  /** Slot images, sharing the atlas raster. */
+  private final BufferedImage[] slots;
+
+  /** Slot index by image file name. */
+  private final Map<String, Integer> slotsByName;
+
+  /** Modification time of the newest card image packed, in milliseconds. */
+  private final long sourcesModified;
+
+  /** Card directory modification time recorded in the file read, or 0 for a new atlas. */
+  private final long directoryModified;
+
+  /**
+   * Wraps a packed atlas image.
+   *
+   * @param cellWidth         width of each slot
+   * @param cellHeight        height of each slot
+   * @param names             image file name of each slot
+   * @param atlas             the slots stacked vertically
+   * @param sourcesModified   modification time of the newest card image packed
+   * @param directoryModified card directory modification time recorded, or 0
+   */
+  private CardAtlas(int cellWidth, int cellHeight, List<String> names, BufferedImage atlas,
+                    long sourcesModified, long directoryModified) {
+    this.cellWidth = cellWidth;
+    this.cellHeight = cellHeight;
+    this.sourcesModified = sourcesModified;
+    this.directoryModified = directoryModified;
+    this.slots = new BufferedImage[names.size()];
+    Map<String, Integer> byName = new HashMap<>();
+    for (int slot = 0; slot < slots.length; slot++) {
+      slots[slot] = atlas.getSubimage(0, slot * cellHeight, cellWidth, cellHeight);
+      byName.put(names.get(slot), slot);
+    }
+    this.slotsByName = Collections.unmodifiableMap(byName);
+  }
+
+  /**
+   * Returns the shared atlas for a display size, reading or building it on first use.
+   *
+   * @param width  slot width
+   * @param height slot height
+   * @return the atlas, or null if it could neither be read nor built
+   */
+  public static CardAtlas forSize(int width, int height) {
+    Integer key = width << 16 | height;
+    CompletableFuture<CardAtlas> atlas = ATLASES.get(key);
+    if (atlas == null) {
+      CompletableFuture<CardAtlas> created = new CompletableFuture<>();
+      atlas = ATLASES.putIfAbsent(key, created);
+      if (atlas == null) {
+        created.complete(loadOrBuild(CARD_DIRECTORY, width, height));
+        return created.join();
+      }
+    }
+    return atlas.join();
+  }
+
+  /**
+   * Returns the image for a path from the atlas of a display size, if the path names a
+   * card image.
+   *
+   * @param path   image path, e.g. "assets/cards/king_of_spades.png"
+   * @param width  display width
+   * @param height display height
+   * @return the shared slot image, or null if the size has no atlas, the path is not in
+   *         the card directory, or no atlas is available
+   */
+  static BufferedImage lookup(String path, int width, int height) {
+    if (!hasAtlas(width, height)) {
+      return null;
+    }
+    Path file = Paths.get(path);
+    Path parent = file.getParent();
+    if (parent == null || !parent.normalize().equals(CARD_DIRECTORY)) {
+      return null;
+    }
+    CardAtlas atlas = forSize(width, height);
+    return atlas == null ? null : atlas.image(file.getFileName().toString());
+  }
+
+  /**
+   * Returns whether a display size is one the views use, and so has an atlas.
+   *
+   * @param width  display width
+   * @param height display height
+   * @return true for the sizes in {@link #SIZES}
+   */
+  static boolean hasAtlas(int width, int height) {
+    for (int[] size : SIZES) {
+      if (size[0] == width && size[1] == height) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the image of a card's face.
+   *
+   * @param card the card
+   * @return the shared slot image, or null if the card is not in the atlas
+   */
+  public BufferedImage image(Card card) {
+    int slot = card.getAtlasIndex();
+    return slot >= 0 ? slots[slot] : image(card.getImageFileName());
+  }
+
+  /**
+   * Returns the image of a slot.
+   *
+   * @param slot the slot index, e.g. {@link Card#ATLAS_BACK_INDEX}
+   * @return the shared slot image
+   * @throws IndexOutOfBoundsException if there is no such slot
+   */
+  public BufferedImage image(int slot) {
+    return slots[slot];
+  }
+
+  /**
+   * Returns the image packed from a file of the card directory.
+   *
+   * @param fileName image file name, e.g. "back1.png"
+   * @return the shared slot image, or null if no such image was packed
+   */
+  public BufferedImage image(String fileName) {
+    Integer slot = slotsByName.get(fileName);
+    return slot == null ? null : slots[slot];
+  }
+
+  /**
+   * Returns the number of slots.
+   *
+   * @return the slot count
+   */
+  public int size() {
+    return slots.length;
+  }
+
+  /**
+   * Returns the width of each slot.
+   *
+   * @return the slot width
+   */
+  public int getCellWidth() {
+    return cellWidth;
+  }
+
+  /**
+   * Returns the height of each slot.
+   *
+   * @return the slot height
+   */
+  public int getCellHeight() {
+    return cellHeight;
+  }
+
+  /**
+   * Returns the path of the atlas file for a display size.
+   *
+   * @param directory the card directory
+   * @param width     slot width
+   * @param height    slot height
+   * @return e.g. {@code assets/cards/cards_100x145.atlas}
+   */
+  public static Path atlasPathFor(Path directory, int width, int height) {
+    return directory.resolve("cards_" + width + "x" + height + EXTENSION);
+  }
+
+  /**
+   * Reads the atlas of a size, or builds and writes it if it is missing, unreadable or stale.
+   *
+   * @param directory the card directory
+   * @param width     slot width
+   * @param height    slot height
+   * @return the atlas, or null if the card images cannot be read either
+   */
+  static CardAtlas loadOrBuild(Path directory, int width, int height) {
+    Path file = atlasPathFor(directory, width, height);
+    try {
+      CardAtlas current = readIfCurrent(directory, file);
+      if (current != null) {
+        return current;
+      }
+      long start = System.nanoTime();
+      CardAtlas atlas = build(sourceImages(directory), width, height);
+      try {
+        atlas.write(file);
+      } catch (IOException e) {
+        LOG.warn("Could not write card atlas {}: {}", file, e.getMessage());
+      }
+      LOG.info("Built card atlas {} of {} images in {} ms", file, atlas.size(),
+          (System.nanoTime() - start) / 1_000_000);
+      return atlas;
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("No {}x{} card atlas available: {}", width, height, e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Reads an atlas file if it exists, is valid and is at least as new as the card images.
+   * The images are only listed if the card directory changed since the atlas was stamped.
+   *
+   * @param directory the card directory
+   * @param file      the atlas file
+   * @return the atlas, or null if it has to be built
+   */
+  private static CardAtlas readIfCurrent(Path directory, Path file) {
+    CardAtlas atlas;
+    try {
+      atlas = read(file);
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      LOG.warn("Rebuilding unreadable card atlas {}: {}", file, e.getMessage());
+      return null;
+    }
+    try {
+      long directoryTime = Files.getLastModifiedTime(directory).toMillis();
+      if (directoryTime == atlas.directoryModified) {
+        return atlas;
+      }
+      if (newestModified(sourceImages(directory)) > atlas.sourcesModified) {
+        LOG.info("Rebuilding card atlas {}: card images changed", file);
+        return null;
+      }
+      stampDirectory(file, directoryTime);
+    } catch (IOException e) {
+      LOG.warn("Using card atlas {} without checking the card images: {}", file, e.getMessage());
+    }
+    return atlas;
+  }
+
+  /**
+   * Returns the modification time of the newest of some files.
+   *
+   * @param files the files
+   * @return the latest modification time, in milliseconds
+   * @throws IOException if a file's time cannot be read
+   */
+  private static long newestModified(List<Path> files) throws IOException {
+    long newest = 0;
+    for (Path file : files) {
+      newest = Math.max(newest, Files.getLastModifiedTime(file).toMillis());
+    }
+    return newest;
+  }
+
+  /**
+   * Records the card directory's modification time in an atlas file's header, in place.
+   * The field is outside the checksum, and rewriting a file's contents leaves its
+   * directory's modification time alone.
+   *
+   * @param file          the atlas file
+   * @param directoryTime the card directory's modification time, in milliseconds
+   * @throws IOException if the file cannot be written
+   */
+  private static void stampDirectory(Path file, long directoryTime) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+      ByteBuffer stamp = ByteBuffer.allocate(Long.BYTES).putLong(0, directoryTime);
+      while (stamp.hasRemaining()) {
+        channel.write(stamp, DIRECTORY_MODIFIED_OFFSET + stamp.position());
+      }
+    }
+  }
+
+  /**
+   * Lists the card images in atlas slot order.
+   *
+   * @param directory the card directory
+   * @return faces in code order, the back, then other PNG files by name
+   * @throws IOException if the directory cannot be listed or a face is missing
+   */
+  static List<Path> sourceImages(Path directory) throws IOException {
+    List<Path> sources = new ArrayList<>();
+    for (int code = 0; code < Card.DISTINCT_CARDS; code++) {
+      sources.add(directory.resolve(Card.of(code).getImageFileName()));
+    }
+    sources.add(directory.resolve(Card.BACK_IMAGE_FILE_NAME));
+    List<Path> others = new ArrayList<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.png")) {
+      for (Path file : files) {
+        if (!sources.contains(file)) {
+          others.add(file);
+        }
+      }
+    }
+    Collections.sort(others);
+    sources.addAll(others);
+    for (int slot = 0; slot <= Card.ATLAS_BACK_INDEX; slot++) {
+      if (!Files.isRegularFile(sources.get(slot))) {
+        throw new IOException("Missing card image " + sources.get(slot));
+      }
+    }
+    return sources;
+  }
+
+  /**
+   * Decodes and scales every source image into a new atlas.
+   *
+   * @param sources images in slot order
+   * @param width   slot width
+   * @param height  slot height
+   * @return the atlas
+   * @throws IOException if an image cannot be read
+   */
+  static CardAtlas build(List<Path> sources, int width, int height) throws IOException {
+    BufferedImage atlas = new BufferedImage(width, height * sources.size(), BufferedImage.TYPE_INT_ARGB);
+    WritableRaster raster = atlas.getRaster();
+    List<String> names = new ArrayList<>(sources.size());
+    int[] cell = new int[width * height];
+    for (int slot = 0; slot < sources.size(); slot++) {
+      Path source = sources.get(slot);
+      ImageLoader.load(source, width, height).getRGB(0, 0, width, height, cell, 0, width);
+      raster.setDataElements(0, slot * height, width, height, cell);
+      names.add(source.getFileName().toString());
+    }
+    return new CardAtlas(width, height, names, atlas, newestModified(sources), 0);
+  }
+
+  /**
+   * Reads an atlas in one sequential pass, checking the header and layout before allocating
+   * the image and the checksum as the data streams in. Each slot's pixels are copied
+   * straight into the image.
+   *
+   * @param file the atlas file
+   * @return the atlas
+   * @throws IOException if the file cannot be read, or its header, layout or checksum is invalid
+   */
+  public static CardAtlas read(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long length = channel.size();
+      if (length < HEADER_BYTES) {
+        throw new IOException("Truncated card atlas header in " + file);
+      }
+      CRC32 crc = new CRC32();
+      DataInputStream in = new DataInputStream(new CheckedInputStream(
+          new BufferedInputStream(Channels.newInputStream(channel), READ_BUFFER_BYTES), crc));
+      if (in.readInt() != MAGIC) {
+        throw new IOException("Not a card atlas: " + file);
+      }
+      int version = in.readInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported card atlas version " + version + " in " + file);
+      }
+      int width = in.readInt();
+      int height = in.readInt();
+      int slotCount = in.readInt();
+      long sourcesModified = in.readLong();
+      long directoryModified = in.readLong();
+      long checksum = in.readLong();
+      if (width <= 0 || height <= 0 || slotCount <= Card.ATLAS_BACK_INDEX
+          || (long) width * height * slotCount > Integer.MAX_VALUE) {
+        throw new IOException("Invalid card atlas dimensions in " + file);
+      }
+      // The checksum covers only what follows the header
+      crc.reset();
+
+      List<String> names = new ArrayList<>(slotCount);
+      long indexBytes = 0;
+      try {
+        for (int slot = 0; slot < slotCount; slot++) {
+          byte[] name = new byte[in.readUnsignedShort()];
+          in.readFully(name);
+          names.add(new String(name, StandardCharsets.UTF_8));
+          indexBytes += Short.BYTES + name.length;
+        }
+      } catch (EOFException e) {
+        throw new IOException("Truncated card atlas index in " + file, e);
+      }
+      for (int code = 0; code < Card.DISTINCT_CARDS; code++) {
+        if (!names.get(code).equals(Card.of(code).getImageFileName())) {
+          throw new IOException("Card atlas " + file + " does not hold the faces in code order");
+        }
+      }
+      int cellInts = width * height;
+      if (length - HEADER_BYTES - indexBytes != (long) cellInts * slotCount * Integer.BYTES) {
+        throw new IOException("Card atlas pixel size in " + file + " does not match its header");
+      }
+
+      BufferedImage atlas = new BufferedImage(width, height * slotCount, BufferedImage.TYPE_INT_ARGB);
+      WritableRaster raster = atlas.getRaster();
+      byte[] cellBytes = new byte[cellInts * Integer.BYTES];
+      IntBuffer cellPixels = ByteBuffer.wrap(cellBytes).asIntBuffer();
+      int[] cell = new int[cellInts];
+      for (int slot = 0; slot < slotCount; slot++) {
+        in.readFully(cellBytes);
+        cellPixels.get(0, cell);
+        raster.setDataElements(0, slot * height, width, height, cell);
+      }
+      if (crc.getValue() != checksum) {
+        throw new IOException("Card atlas checksum mismatch in " + file);
+      }
+      return new CardAtlas(width, height, names, atlas, sourcesModified, directoryModified);
+    }
+  }
+
+  /**
+   * Writes the atlas to a file. The file is written to a uniquely named temporary sibling
+   * first and moved into place, so readers never see a partial file and concurrent writers
+   * do not share a temporary file. The directory's modification time after the move is then
+   * recorded in the header.
+   *
+   * @param file the destination path
+   * @throws IOException if the file cannot be written
+   */
+  public void write(Path file) throws IOException {
+    List<byte[]> names = new ArrayList<>(slots.length);
+    int indexBytes = 0;
+    for (int slot = 0; slot < slots.length; slot++) {
+      names.add(null);
+    }
+    for (Map.Entry<String, Integer> entry : slotsByName.entrySet()) {
+      byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+      names.set(entry.getValue(), name);
+      indexBytes += Short.BYTES + name.length;
+    }
+    int cellInts = cellWidth * cellHeight;
+    ByteBuffer payload = ByteBuffer.allocate(indexBytes + slots.length * cellInts * Integer.BYTES);
+    for (byte[] name : names) {
+      payload.putShort((short) name.length).put(name);
+    }
+    int[] cell = new int[cellInts];
+    IntBuffer pixels = payload.asIntBuffer();
+    for (BufferedImage slot : slots) {
+      slot.getRaster().getDataElements(0, 0, cellWidth, cellHeight, cell);
+      pixels.put(cell);
+    }
+    payload.position(payload.limit()).flip();
+
+    CRC32 crc = new CRC32();
+    crc.update(payload.duplicate());
+
+    ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+    header.putInt(MAGIC).putInt(VERSION).putInt(cellWidth).putInt(cellHeight)
+        .putInt(slots.length).putLong(sourcesModified).putLong(0L).putLong(crc.getValue());
+    header.flip();
+
+    Path temp = Files.createTempFile(file.toAbsolutePath().getParent(),
+        file.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+          StandardOpenOption.TRUNCATE_EXISTING)) {
+        while (header.hasRemaining() || payload.hasRemaining()) {
+          channel.write(new ByteBuffer[]{header, payload});
+        }
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+    stampDirectory(file, Files.getLastModifiedTime(file.toAbsolutePath().getParent()).toMillis());
+  }
+
+  /**
+   * Forgets every loaded atlas, so later lookups read their files again. Intended for tests.
+   */
+  static void clear() {
+    ATLASES.clear();
+  }
+
+  /**
+   * Builds the atlases for the sizes the views display, skipping those that are current.
+   * Run it after editing card images in place.
+   * Usage: {@code java view.CardAtlas [cardDirectory]}
+   *
+   * @param args an optional card directory, {@code assets/cards} by default
+   * @throws IOException if an image or atlas cannot be accessed
+   */
+  public static void main(String[] args) throws IOException {
+    Path directory = args.length > 0 ? Paths.get(args[0]) : CARD_DIRECTORY;
+    List<Path> sources = sourceImages(directory);
+    long newest = newestModified(sources);
+    for (int[] size : SIZES) {
+      Path file = atlasPathFor(directory, size[0], size[1]);
+      CardAtlas existing = readIfCurrent(directory, file);
+      if (existing != null && existing.sourcesModified >= newest) {
+        System.out.println(file + " is up to date");
+        continue;
+      }
+      CardAtlas atlas = build(sources, size[0], size[1]);
+      atlas.write(file);
+      System.out.println("Wrote " + atlas.size() + " images to " + file
+          + " (" + Files.size(file) / 1024 + " KB)");
+    }
+  }
+}
@@ -0,0 +1,337 @@
+package view;
+import javax.swing.*;
+import javax.swing.border.Border;
+import java.awt.*;
+import java.util.Arrays;
+import java.util.List;
+import model.Card;
+import model.Log;
+
+/**
+ * CardTableComponent paints the dealer's and the player's hands, each below its avatar,
+ * as one lightweight component with no children.
+ *
+ * <p>Each hand is held as an immutable snapshot of the image paths it shows. An update swaps
+ * in a new snapshot and repaints only the area that changed: the slots whose image differs
+ * when the hand keeps its length, or the hand's row when it grows or shrinks and the centered
+ * cards shift. Nothing is laid out again, and {@link #paintComponent(Graphics)} draws only the
+ * shared icons from {@link ImageCache} that intersect the clip, so the cost of an update does
+ * not grow with the number of cards already on the table.</p>
+ *
+ * <p>Rows are centered horizontally and stacked from the top inset down: dealer avatar, dealer
+ * cards, player avatar, player cards. Like the card labels it replaces, each card has a
+ * 2-pixel white border.</p>
+ *
+ * <p>Card positions are computed from the current width and insets. The dirty rectangles of
+ * a hand update assume that geometry is unchanged, so {@link #setBounds(int, int, int, int)}
+ * and {@link #setBorder(Border)} repaint the whole component themselves whenever it changes,
+ * rather than relying on the container to do so.</p>
+ */
+public class CardTableComponent extends JComponent {
+
+  /** Serialization version; tables are never serialized. */
+  private static final long serialVersionUID = 1L;
+
+  /** Logger for updates that name a card the hand does not have. */
+  private static final Log LOG = Log.get(CardTableComponent.class);
+
+  /** Index of the dealer's hand. */
+  public static final int DEALER = 0;
+
+  /** Index of the player's hand. */
+  public static final int PLAYER = 1;
+
+  /** Width of the white border drawn around each card. */
+  static final int BORDER = 2;
+
+  /** Vertical space between the dealer's cards and the player's avatar. */
+  private static final int SECTION_GAP = 10;
+
+  /** Number of cards the preferred width makes room for. */
+  private static final int PREFERRED_CARDS = 6;
+
+  /** Avatar image shown above each hand. */
+  private static final String[] AVATARS = {AssetPreloader.DEALER_AVATAR, AssetPreloader.PLAYER_AVATAR};
+
+  /** Avatar widths, by hand. */
+  private static final int[] AVATAR_WIDTHS = {
+      AssetPreloader.DEALER_AVATAR_WIDTH, AssetPreloader.PLAYER_AVATAR_WIDTH};
+
+  /** Avatar heights, by hand. */
+  private static final int[] AVATAR_HEIGHTS = {
+      AssetPreloader.DEALER_AVATAR_HEIGHT, AssetPreloader.PLAYER_AVATAR_HEIGHT};
+
+  /** Width of a card image, excluding its border. */
+  private final int cardWidth;
+
+  /** Height of a card image, excluding its border. */
+  private final int cardHeight;
+
+  /** Horizontal space between cards. */
+  private final int cardGap;
+
+  /** Vertical space above and below each card row. */
+  private final int rowGap;
+
+  /** Image paths shown in each hand; arrays are replaced, never modified. */
+  private final String[][] hands = {new String[0], new String[0]};
+
+  /**
+   * Creates an empty table.
+   *
+   * @param cardWidth  width of a card image
+   * @param cardHeight height of a card image
+   * @param cardGap    horizontal space between cards
+   * @param rowGap     vertical space above and below each card row
+   */
+  public CardTableComponent(int cardWidth, int cardHeight, int cardGap, int rowGap) {
+    this.cardWidth = cardWidth;
+    this.cardHeight = cardHeight;
+    this.cardGap = cardGap;
+    this.rowGap = rowGap;
+    setOpaque(false);
+  }
+
+  /**
+   * Returns room for both avatars and a row of six cards per hand, unless a preferred size
+   * has been set.
+   *
+   * @return the preferred size
+   */
+  @Override
+  public Dimension getPreferredSize() {
+    if (isPreferredSizeSet()) {
+      return super.getPreferredSize();
+    }
+    Insets insets = getInsets();
+    int rowWidth = PREFERRED_CARDS * (cardWidth + 2 * BORDER) + (PREFERRED_CARDS + 1) * cardGap;
+    return new Dimension(insets.left + rowWidth + insets.right,
+        rowTop(PLAYER) + rowHeight() + insets.bottom);
+  }
+
+  /**
+   * Moves or resizes the table, repainting all of it if the size changed, since every card
+   * position depends on the width.
+   *
+   * @param x      the new x coordinate
+   * @param y      the new y coordinate
+   * @param width  the new width
+   * @param height the new height
+   */
+  @Override
+  public void setBounds(int x, int y, int width, int height) {
+    boolean resized = width != getWidth() || height != getHeight();
+    super.setBounds(x, y, width, height);
+    if (resized) {
+      repaint();
+    }
+  }
+
+  /**
+   * Sets the border and repaints the whole table, since the insets place every row.
+   *
+   * @param border the new border, or null for none
+   */
+  @Override
+  public void setBorder(Border border) {
+    super.setBorder(border);
+    repaint();
+  }
+
+  /**
+   * Shows a hand face up.
+   *
+   * @param hand  {@link #DEALER} or {@link #PLAYER}
+   * @param cards the cards in the hand
+   */
+  public void setHand(int hand, List<Card> cards) {
+    setHand(hand, cards, 0);
+  }
+
+  /**
+   * Shows a hand with its last cards face down.
+   *
+   * @param hand     {@link #DEALER} or {@link #PLAYER}
+   * @param cards    the cards in the hand
+   * @param faceDown how many of the last cards to show as the card back
+   */
+  public void setHand(int hand, List<Card> cards, int faceDown) {
+    String[] images = new String[cards.size()];
+    int faceUp = cards.size() - faceDown;
+    for (int i = 0; i < images.length; i++) {
+      images[i] = i < faceUp ? cards.get(i).getImagePath() : AssetPreloader.CARD_BACK;
+    }
+    show(hand, images);
+  }
+
+  /**
+   * Shows a hand of face-down cards.
+   *
+   * @param hand  {@link #DEALER} or {@link #PLAYER}
+   * @param count number of card backs to show
+   */
+  public void setFaceDown(int hand, int count) {
+    String[] images = new String[count];
+    Arrays.fill(images, AssetPreloader.CARD_BACK);
+    show(hand, images);
+  }
+
+  /**
+   * Replaces one card of a hand, such as when the dealer's hole card is turned over.
+   * Does nothing but log at debug level if the hand has no card at that index.
+   *
+   * @param hand  {@link #DEALER} or {@link #PLAYER}
+   * @param index position of the card in the hand
+   * @param card  the card to show face up
+   */
+  public void setCard(int hand, int index, Card card) {
+    String[] images = hands[hand];
+    if (index < 0 || index >= images.length) {
+      // The facade takes at most three arguments, so the hand picks the message
+      LOG.debug(hand == DEALER ? "Dealer has no card at index {} of {}; not showing {}"
+          : "Player has no card at index {} of {}; not showing {}", index, images.length, card);
+      return;
+    }
+    images = images.clone();
+    images[index] = card.getImagePath();
+    show(hand, images);
+  }
+
+  /**
+   * Returns how many cards a hand shows.
+   *
+   * @param hand {@link #DEALER} or {@link #PLAYER}
+   * @return the card count
+   */
+  public int getCardCount(int hand) {
+    return hands[hand].length;
+  }
+
+  /**
+   * Returns the image path shown for one card.
+   *
+   * @param hand  {@link #DEALER} or {@link #PLAYER}
+   * @param index position of the card in the hand
+   * @return the image path, which is {@link AssetPreloader#CARD_BACK} for face-down cards
+   */
+  public String getCardImage(int hand, int index) {
+    return hands[hand][index];
+  }
+
+  /**
+   * Returns where a card is painted, border included.
+   *
+   * @param hand  {@link #DEALER} or {@link #PLAYER}
+   * @param index position of the card in the hand
+   * @return the card's bounds in this component
+   */
+  Rectangle cardBounds(int hand, int index) {
+    return cardBounds(hand, index, hands[hand].length);
+  }
+
+  /**
+   * Paints the avatars and cards that intersect the clip.
+   *
+   * @param g the graphics context
+   */
+  @Override
+  protected void paintComponent(Graphics g) {
+    Rectangle clip = g.getClipBounds();
+    for (int hand = DEALER; hand <= PLAYER; hand++) {
+      int avatarX = (getWidth() - AVATAR_WIDTHS[hand]) / 2;
+      int avatarY = avatarTop(hand);
+      if (clip == null || clip.intersects(avatarX, avatarY, AVATAR_WIDTHS[hand], AVATAR_HEIGHTS[hand])) {
+        ImageCache.getIcon(AVATARS[hand], AVATAR_WIDTHS[hand], AVATAR_HEIGHTS[hand])
+            .paintIcon(this, g, avatarX, avatarY);
+      }
+
+      String[] images = hands[hand];
+      for (int i = 0; i < images.length; i++) {
+        Rectangle bounds = cardBounds(hand, i, images.length);
+        if (clip != null && !clip.intersects(bounds)) {
+          continue;
+        }
+        g.setColor(Color.WHITE);
+        g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        ImageCache.getIcon(images[i], cardWidth, cardHeight)
+            .paintIcon(this, g, bounds.x + BORDER, bounds.y + BORDER);
+      }
+    }
+  }
+
+  /**
+   * Swaps in a new snapshot of a hand and repaints what changed.
+   *
+   * @param hand   {@link #DEALER} or {@link #PLAYER}
+   * @param images the image paths to show
+   */
+  private void show(int hand, String[] images) {
+    String[] previous = hands[hand];
+    hands[hand] = images;
+    Rectangle dirty = null;
+    if (previous.length != images.length) {
+      // Centered cards shift when the count changes, so the old and new rows are both dirty
+      if (previous.length > 0) {
+        dirty = rowBounds(hand, previous.length);
+      }
+      if (images.length > 0) {
+        dirty = union(dirty, rowBounds(hand, images.length));
+      }
+    } else {
+      for (int i = 0; i < images.length; i++) {
+        if (!images[i].equals(previous[i])) {
+          dirty = union(dirty, cardBounds(hand, i, images.length));
+        }
+      }
+    }
+    if (dirty != null) {
+      repaint(dirty);
+    }
+  }
+
+  /**
+   * Returns the bounds of one card in a row of the given length.
+   */
+  private Rectangle cardBounds(int hand, int index, int count) {
+    int slotWidth = cardWidth + 2 * BORDER;
+    int rowWidth = count * slotWidth + (count - 1) * cardGap;
+    int x = (getWidth() - rowWidth) / 2 + index * (slotWidth + cardGap);
+    return new Rectangle(x, rowTop(hand) + rowGap, slotWidth, cardHeight + 2 * BORDER);
+  }
+
+  /**
+   * Returns the bounds covering every card in a row of the given length.
+   */
+  private Rectangle rowBounds(int hand, int count) {
+    return cardBounds(hand, 0, count).union(cardBounds(hand, count - 1, count));
+  }
+
+  /**
+   * Returns the y coordinate of a hand's avatar.
+   */
+  private int avatarTop(int hand) {
+    int top = getInsets().top;
+    return hand == DEALER ? top : top + AVATAR_HEIGHTS[DEALER] + rowHeight() + SECTION_GAP;
+  }
+
+  /**
+   * Returns the y coordinate where a hand's card row begins, above its gap.
+   */
+  private int rowTop(int hand) {
+    return avatarTop(hand) + AVATAR_HEIGHTS[hand];
+  }
+
+  /**
+   * Returns the height of a card row including the gaps above and below it.
+   */
+  private int rowHeight() {
+    return 2 * rowGap + cardHeight + 2 * BORDER;
+  }
+
+  /**
+   * Returns the union of two rectangles, either of which may be null.
+   */
+  private static Rectangle union(Rectangle a, Rectangle b) {
+    return a == null ? b : a.union(b);
+  }
+}
@@ -1,27 +1,32 @@
 package view;
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
-import model.Card;
 
 /**
  * GamePanelBuilder is a utility class that provides static helper methods
- * for building card panels and UI elements used in the Blackjack game.
+ * for building the card table and UI elements used in the Blackjack game.
  */
 public class GamePanelBuilder {
 
+  /** Width of a card image in versus mode. */
+  public static final int CARD_WIDTH = 100;
+
+  /** Height of a card image in versus mode. */
+  public static final int CARD_HEIGHT = 145;
+
+  /** Space between cards and around each card row in versus mode. */
+  public static final int CARD_GAP = 5;
+
   /**
-   * Creates a JPanel with two face-down card labels.
+   * Creates the versus-mode card table with two face-down cards in each hand.
    *
-   * @return A JPanel containing hidden cards.
+   * @return A CardTableComponent showing hidden cards.
    */
-  public static JPanel createHiddenCardPanel() {
-    JPanel panel = new JPanel(new FlowLayout());
-    panel.setOpaque(false);
-    for (int i = 0; i < 2; i++) {
-      panel.add(createCardLabel("assets/cards/back1.png"));
-    }
-    return panel;
+  public static CardTableComponent createCardTable() {
+    CardTableComponent table = new CardTableComponent(CARD_WIDTH, CARD_HEIGHT, CARD_GAP, CARD_GAP);
+    table.setFaceDown(CardTableComponent.DEALER, 2);
+    table.setFaceDown(CardTableComponent.PLAYER, 2);
+    return table;
   }
 
   /**
@@ -35,36 +40,4 @@ public class GamePanelBuilder {
     btn.setPreferredSize(new Dimension(120, 40));
     return btn;
   }
-
-  /**
-   * Creates a JLabel representing a card using an image at the given path.
-   *
-   * @param path Path to the image file.
-   * @return A JLabel with scaled and bordered card image.
-   */
-  public static JLabel createCardLabel(String path) {
-    ImageIcon icon = new ImageIcon(path);
-    Image img = icon.getImage().getScaledInstance(100, 145, Image.SCALE_SMOOTH);
-    JLabel label = new JLabel(new ImageIcon(img));
-    label.setBorder(BorderFactory.createLineBorder(Color.WHITE, 2));
-    label.setOpaque(true);
-    label.setBackground(Color.WHITE);
-    return label;
-  }
-
-  /**
-   * Updates the given panel with the specified list of cards,
-   * replacing its content with visual representations of the cards.
-   *
-   * @param cards The list of cards to display.
-   * @param panel The panel to update.
-   */
-  public static void updatePanel(List<Card> cards, JPanel panel) {
-    panel.removeAll();
-    for (Card c : cards) {
-      panel.add(createCardLabel(c.getImagePath()));
-    }
-    panel.revalidate();
-    panel.repaint();
-  }
 }
@@ -0,0 +1,238 @@
+package view;
+import java.awt.*;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.swing.*;
+import model.Log;
+
+/**
+ * ImageCache decodes and scales each image once and shares the resulting icons
+ * across every view, so redrawing a hand costs no disk I/O and no scaling.
+ * Card images at an atlas size come from the shared {@link CardAtlas}; other images are
+ * read through {@link ImageLoader}, which decodes large sources at reduced resolution and
+ * keeps the downsized copies on disk between runs.
+ *
+ * <p>Icons are keyed by (image path, target width, target height, display scale factor).
+ * On a HiDPI display the icon holds a raster of {@code width * scale} by
+ * {@code height * scale} pixels but still reports its logical size, so Swing layouts are
+ * unchanged. Returned icons are shared and cannot be modified.</p>
+ */
+public final class ImageCache {
+
+  /** Logger for images that cannot be read. */
+  private static final Log LOG = Log.get(ImageCache.class);
+
+  /** Bytes per pixel of the cached rasters (packed ARGB). */
+  private static final int BYTES_PER_PIXEL = 4;
+
+  /**
+   * Scaled icons by key. Each entry is published before its image is decoded, so
+   * concurrent requests for one key wait for a single decode while other keys load freely.
+   */
+  private static final Map<Key, CompletableFuture<ImageIcon>> ICONS = new ConcurrentHashMap<>(256);
+
+  /** Total raster bytes of the cached icons. */
+  private static final AtomicLong FOOTPRINT = new AtomicLong();
+
+  /** Number of images decoded individually rather than taken from a card atlas. */
+  private static final AtomicLong DECODES = new AtomicLong();
+
+  /** Utility class; not instantiable. */
+  private ImageCache() {
+  }
+
+  /**
+   * Returns the shared icon for an image scaled to the given size on the default screen.
+   *
+   * @param path   path to the image file
+   * @param width  logical width in pixels
+   * @param height logical height in pixels
+   * @return the cached icon; blank if the image cannot be read
+   */
+  public static ImageIcon getIcon(String path, int width, int height) {
+    return getIcon(path, width, height, defaultScale());
+  }
+
+  /**
+   * Returns the shared icon for an image scaled to the given size and display scale.
+   *
+   * @param path   path to the image file
+   * @param width  logical width in pixels
+   * @param height logical height in pixels
+   * @param scale  display scale factor, e.g. 2.0 on a Retina screen
+   * @return the cached icon; blank if the image cannot be read
+   */
+  public static ImageIcon getIcon(String path, int width, int height, double scale) {
+    if (width <= 0 || height <= 0 || !(scale > 0)) {
+      throw new IllegalArgumentException("Invalid icon size " + width + "x" + height + " @" + scale);
+    }
+    Key key = new Key(path, width, height, scale);
+    CompletableFuture<ImageIcon> icon = ICONS.get(key);
+    if (icon == null) {
+      CompletableFuture<ImageIcon> created = new CompletableFuture<>();
+      icon = ICONS.putIfAbsent(key, created);
+      if (icon == null) {
+        try {
+          created.complete(load(key));
+        } catch (RuntimeException e) {
+          ICONS.remove(key, created);
+          created.completeExceptionally(e);
+          throw e;
+        }
+        return created.join();
+      }
+    }
+    return icon.join();
+  }
+
+  /**
+   * Returns the number of cached icons.
+   *
+   * @return the cached icon count
+   */
+  public static int size() {
+    return ICONS.size();
+  }
+
+  /**
+   * Returns the raster memory held by the cached icons.
+   *
+   * @return the footprint in bytes
+   */
+  public static long getFootprintBytes() {
+    return FOOTPRINT.get();
+  }
+
+  /**
+   * Returns how many images have been decoded individually since startup.
+   * Images taken from a card atlas are not counted.
+   *
+   * @return the decode count
+   */
+  public static long getDecodeCount() {
+    return DECODES.get();
+  }
+
+  /**
+   * Summarizes the cache contents and memory footprint.
+   *
+   * @return a one-line report
+   */
+  public static String report() {
+    return String.format("%d icons, %.1f KB of scaled rasters, %d decodes",
+        size(), getFootprintBytes() / 1024.0, getDecodeCount());
+  }
+
+  /**
+   * Drops every cached icon. Icons already handed out stay valid.
+   */
+  public static void clear() {
+    ICONS.clear();
+    FOOTPRINT.set(0);
+  }
+
+  /**
+   * Returns the scale factor of the default screen, or 1 when there is no display.
+   *
+   * @return the display scale factor
+   */
+  static double defaultScale() {
+    if (GraphicsEnvironment.isHeadless()) {
+      return 1.0;
+    }
+    return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+        .getDefaultConfiguration().getDefaultTransform().getScaleX();
+  }
+
+  /**
+   * Decodes and scales the image of a key.
+   *
+   * @param key the image path, size and scale
+   * @return a new shared icon
+   */
+  private static ImageIcon load(Key key) {
+    int pixelWidth = (int) Math.ceil(key.width * key.scale);
+    int pixelHeight = (int) Math.ceil(key.height * key.scale);
+    BufferedImage scaled = CardAtlas.lookup(key.path, pixelWidth, pixelHeight);
+    try {
+      if (scaled == null) {
+        scaled = ImageLoader.load(Paths.get(key.path), pixelWidth, pixelHeight);
+        DECODES.incrementAndGet();
+      }
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Could not read image {}; using a blank icon: {}", key.path, e.getMessage());
+      scaled = ImageLoader.scale(null, pixelWidth, pixelHeight);
+    }
+    FOOTPRINT.addAndGet((long) pixelWidth * pixelHeight * BYTES_PER_PIXEL);
+    if (pixelWidth == key.width && pixelHeight == key.height) {
+      return new SharedIcon(scaled);
+    }
+    // Logical size first, so the icon reports width x height
+    BufferedImage logical = ImageLoader.scale(scaled, key.width, key.height);
+    FOOTPRINT.addAndGet((long) key.width * key.height * BYTES_PER_PIXEL);
+    return new SharedIcon(new BaseMultiResolutionImage(logical, scaled));
+  }
+
+  /**
+   * Cache key: image path, logical size and display scale.
+   */
+  private static final class Key {
+
+    final String path;
+    final int width;
+    final int height;
+    final double scale;
+
+    Key(String path, int width, int height, double scale) {
+      this.path = path;
+      this.width = width;
+      this.height = height;
+      this.scale = scale;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) o;
+      return width == other.width && height == other.height
+          && Double.compare(scale, other.scale) == 0 && path.equals(other.path);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, width, height, scale);
+    }
+  }
+
+  /**
+   * An icon shared between views; its image cannot be replaced.
+   */
+  private static final class SharedIcon extends ImageIcon {
+
+    /** Serialization version; cached icons are never serialized. */
+    private static final long serialVersionUID = 1L;
+
+    SharedIcon(Image image) {
+      super(image);
+    }
+
+    @Override
+    public synchronized void setImage(Image image) {
+      throw new UnsupportedOperationException("Cached icons are shared and immutable");
+    }
+
+    @Override
+    public void setDescription(String description) {
+      throw new UnsupportedOperationException("Cached icons are shared and immutable");
+    }
+  }
+}
@@ -0,0 +1,308 @@
+package view;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import model.Log;
+
+/**
+ * ImageLoader decodes images straight to the size they are displayed at.
+ *
+ * <p>Sources much larger than their target are decoded with {@link ImageReadParam} source
+ * subsampling, so only about twice the target resolution is ever materialized rather than the
+ * full raster, and the result is then smoothed down to the exact size. Each downsized image is
+ * also written to an on-disk cache as a small PNG, named after a hash of the source's path,
+ * a hash of its size and modification time, and the target size; later loads of an
+ * unchanged source read that file instead. Finding the derivative costs one attribute read
+ * rather than reading the source, and saving an edited source gives it a new modification
+ * time, so stale derivatives are not used.</p>
+ *
+ * <p>The cache cleans up after itself when it writes a derivative: other derivatives of the
+ * same source path with an older stamp are deleted, and if the directory then holds more
+ * than {@link #MAX_CACHE_BYTES} of derivatives, the least recently written ones are
+ * deleted until it fits.</p>
+ *
+ * <p>The cache lives in the directory named by the {@code blackjack.image.cache} system
+ * property, by default {@code ace-image-cache} under {@code java.io.tmpdir}. Cache failures
+ * are logged and fall back to decoding the source.</p>
+ */
+public final class ImageLoader {
+
+  /** Logger for cache problems that do not prevent loading. */
+  private static final Log LOG = Log.get(ImageLoader.class);
+
+  /** Bumped whenever the scaling changes, so older derivatives are ignored. */
+  private static final int DERIVATIVE_VERSION = 1;
+
+  /** Size the derivative cache is trimmed to after each write. */
+  static final long MAX_CACHE_BYTES = 64L * 1024 * 1024;
+
+  /** Subsampling stops at this multiple of the target size, leaving detail to smooth. */
+  private static final int OVERSAMPLE = 2;
+
+  /** Directory of downsized derivatives, or null when caching is off. */
+  private static volatile Path cacheDirectory = defaultCacheDirectory();
+
+  /** Utility class; not instantiable. */
+  private ImageLoader() {
+  }
+
+  /**
+   * Loads an image scaled to the given size, from the derivative cache when possible.
+   *
+   * @param source path to the image file
+   * @param width  target width in pixels
+   * @param height target height in pixels
+   * @return the scaled image
+   * @throws IOException if the source cannot be read or decoded
+   */
+  public static BufferedImage load(Path source, int width, int height) throws IOException {
+    Path directory = cacheDirectory;
+    if (directory == null) {
+      return scale(decodeSubsampled(source, width, height), width, height);
+    }
+    BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+    String pathHash = hash(source.toAbsolutePath().normalize().toString());
+    String stampHash = hash(attributes.size() + "|"
+        + attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+    Path derivative = directory.resolve(pathHash + "-" + stampHash + "-" + width + "x" + height
+        + "-v" + DERIVATIVE_VERSION + ".png");
+    if (Files.isRegularFile(derivative)) {
+      try {
+        BufferedImage cached = ImageIO.read(derivative.toFile());
+        if (cached != null && cached.getWidth() == width && cached.getHeight() == height) {
+          return cached;
+        }
+      } catch (IOException e) {
+        LOG.warn("Ignoring unreadable image cache {}: {}", derivative, e.getMessage());
+      }
+    }
+    BufferedImage scaled = scale(decodeSubsampled(source, width, height), width, height);
+    try {
+      writeAtomically(scaled, derivative);
+      deleteOlderDerivatives(directory, pathHash, stampHash);
+      trim(directory, MAX_CACHE_BYTES);
+    } catch (IOException e) {
+      LOG.warn("Could not write image cache {}: {}", derivative, e.getMessage());
+    }
+    return scaled;
+  }
+
+  /**
+   * Decodes an image, skipping source pixels so the result is no smaller than twice the
+   * target size where the source allows.
+   *
+   * @param source path to the image file
+   * @param width  target width in pixels
+   * @param height target height in pixels
+   * @return the decoded, possibly subsampled image
+   * @throws IOException if the source cannot be read or has no registered decoder
+   */
+  static BufferedImage decodeSubsampled(Path source, int width, int height) throws IOException {
+    try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+      if (input == null) {
+        throw new IOException("Cannot open image " + source);
+      }
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+      if (!readers.hasNext()) {
+        throw new IOException("No decoder for image " + source);
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(input, true, true);
+        int step = Math.max(1, Math.min(reader.getWidth(0) / (OVERSAMPLE * width),
+            reader.getHeight(0) / (OVERSAMPLE * height)));
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(step, step, 0, 0);
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Draws an image into a new ARGB raster of the given size, halving in steps first so
+   * large reductions keep detail that a single bilinear pass would skip.
+   *
+   * @param source the image, or null for a blank raster
+   * @param width  raster width
+   * @param height raster height
+   * @return the scaled raster
+   */
+  static BufferedImage scale(BufferedImage source, int width, int height) {
+    BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    if (source == null) {
+      return target;
+    }
+    BufferedImage current = source;
+    while (current.getWidth() / 2 >= width && current.getHeight() / 2 >= height) {
+      BufferedImage half = new BufferedImage(current.getWidth() / 2, current.getHeight() / 2,
+          BufferedImage.TYPE_INT_ARGB);
+      draw(current, half);
+      current = half;
+    }
+    draw(current, target);
+    return target;
+  }
+
+  /**
+   * Sets the derivative cache directory. Intended for tests.
+   *
+   * @param directory the directory, or null to turn caching off
+   */
+  static void setCacheDirectory(Path directory) {
+    cacheDirectory = directory;
+  }
+
+  /**
+   * Returns the derivative cache directory.
+   *
+   * @return the directory, or null when caching is off
+   */
+  static Path getCacheDirectory() {
+    return cacheDirectory;
+  }
+
+  /** Draws {@code source} stretched over all of {@code target} with bilinear filtering. */
+  private static void draw(Image source, BufferedImage target) {
+    Graphics2D g = target.createGraphics();
+    try {
+      g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      g.drawImage(source, 0, 0, target.getWidth(), target.getHeight(), null);
+    } finally {
+      g.dispose();
+    }
+  }
+
+  /**
+   * Deletes the derivatives of a source path that were made from an older version of it.
+   *
+   * @param directory the cache directory
+   * @param pathHash  hash of the source path
+   * @param stampHash hash of the source's current size and modification time
+   * @throws IOException if the directory cannot be listed
+   */
+  private static void deleteOlderDerivatives(Path directory, String pathHash, String stampHash)
+      throws IOException {
+    String current = pathHash + "-" + stampHash + "-";
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, pathHash + "-*.png")) {
+      for (Path file : files) {
+        if (!file.getFileName().toString().startsWith(current)) {
+          Files.deleteIfExists(file);
+        }
+      }
+    }
+  }
+
+  /**
+   * Deletes the least recently written derivatives until the rest fit in a size limit.
+   * Files that disappear meanwhile, for example trimmed by another thread, are skipped.
+   *
+   * @param directory the cache directory
+   * @param maxBytes  the size limit
+   * @throws IOException if the directory cannot be listed
+   */
+  static void trim(Path directory, long maxBytes) throws IOException {
+    List<Path> derivatives = new ArrayList<>();
+    Map<Path, BasicFileAttributes> attributes = new HashMap<>();
+    long total = 0;
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.png")) {
+      for (Path file : files) {
+        try {
+          BasicFileAttributes fileAttributes = Files.readAttributes(file, BasicFileAttributes.class);
+          derivatives.add(file);
+          attributes.put(file, fileAttributes);
+          total += fileAttributes.size();
+        } catch (IOException e) {
+          // deleted since it was listed
+        }
+      }
+    }
+    if (total <= maxBytes) {
+      return;
+    }
+    derivatives.sort(Comparator.comparing(file -> attributes.get(file).lastModifiedTime()));
+    for (Path file : derivatives) {
+      if (total <= maxBytes) {
+        break;
+      }
+      Files.deleteIfExists(file);
+      total -= attributes.get(file).size();
+    }
+  }
+
+  /**
+   * Returns a hex SHA-256 of a string, shortened to 64 bits.
+   *
+   * @param text the string
+   * @return 16 hex digits
+   */
+  private static String hash(String text) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is required by every Java platform", e);
+    }
+    byte[] bytes = digest.digest(text.getBytes(StandardCharsets.UTF_8));
+    StringBuilder hex = new StringBuilder(16);
+    for (int i = 0; i < 8; i++) {
+      hex.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16))
+          .append(Character.forDigit(bytes[i] & 0xF, 16));
+    }
+    return hex.toString();
+  }
+
+  /**
+   * Writes a PNG to a temporary sibling and moves it into place, so concurrent readers
+   * never see a partial file.
+   *
+   * @param image the image
+   * @param file  the destination path
+   * @throws IOException if the file cannot be written
+   */
+  private static void writeAtomically(BufferedImage image, Path file) throws IOException {
+    Files.createDirectories(file.getParent());
+    Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+    try {
+      ImageIO.write(image, "png", temp.toFile());
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * Returns the cache directory configured by {@code blackjack.image.cache}.
+   *
+   * @return the configured or default directory, or null if set to an empty value
+   */
+  private static Path defaultCacheDirectory() {
+    String configured = System.getProperty("blackjack.image.cache");
+    if (configured == null) {
+      return Paths.get(System.getProperty("java.io.tmpdir"), "ace-image-cache");
+    }
+    return configured.isBlank() ? null : Paths.get(configured);
+  }
+}
@@ -1,6 +1,7 @@
 package view;
 import controller.PlayerVsAIController;
 import controller.TrainingModeController;
+import model.AdvisorRegistry;
 import javax.swing.*;
 import java.awt.*;
 
@@ -16,7 +17,8 @@ public class MainMenu extends JFrame {
 
   /**
    * Constructs the main menu window and initializes UI components.
-   * Sets layout, title, buttons, and their corresponding event handlers.
+   * Sets layout, title, buttons, and their corresponding event handlers,
+   * and starts preloading the game images in the background.
    */
   public MainMenu() {
     setTitle("ACE - Main Menu");
@@ -45,20 +47,50 @@ public class MainMenu extends JFrame {
     trainingButton.setAlignmentX(Component.CENTER_ALIGNMENT);
     versusButton.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-    // Event handler: start Training Mode (MVC version)
+    // Asset loading progress, refreshed until every image is cached
+    JLabel loadingLabel = new JLabel(" ", SwingConstants.CENTER);
+    loadingLabel.setFont(new Font("SansSerif", Font.PLAIN, 14));
+    loadingLabel.setForeground(Color.WHITE);
+    loadingLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+    AssetPreloader.start();
+    Timer progressTimer = new Timer(100, null);
+    progressTimer.addActionListener(e -> {
+      int loaded = AssetPreloader.getLoadedCount();
+      int total = AssetPreloader.getTotalCount();
+      if (loaded >= total) {
+        loadingLabel.setText("Ready");
+        progressTimer.stop();
+      } else {
+        loadingLabel.setText("Loading cards... " + loaded + " / " + total);
+      }
+    });
+    progressTimer.setInitialDelay(0);
+    progressTimer.start();
+
+    // Event handler: start Training Mode (MVC version) once its images are cached
     trainingButton.addActionListener(e -> {
-      dispose();
-      TrainingModeView view = new TrainingModeView();
-      new TrainingModeController(view);
-      view.setVisible(true);
+      trainingButton.setEnabled(false);
+      versusButton.setEnabled(false);
+      AssetPreloader.whenReady(() -> {
+        progressTimer.stop();
+        dispose();
+        TrainingModeView view = new TrainingModeView();
+        new TrainingModeController(view);
+        view.setVisible(true);
+      });
     });
 
-    // Event handler: start Versus Mode (MVC version)
+    // Event handler: start Versus Mode (MVC version) once its images are cached
     versusButton.addActionListener(e -> {
-      dispose();
-      PlayerVsAIFrame frame = new PlayerVsAIFrame();
-      new PlayerVsAIController(frame);
-      frame.setVisible(true);
+      trainingButton.setEnabled(false);
+      versusButton.setEnabled(false);
+      AssetPreloader.whenReady(() -> {
+        progressTimer.stop();
+        dispose();
+        PlayerVsAIFrame frame = new PlayerVsAIFrame();
+        new PlayerVsAIController(frame);
+        frame.setVisible(true);
+      });
     });
 
     // Layout components vertically with spacing
@@ -68,16 +100,20 @@ public class MainMenu extends JFrame {
     panel.add(trainingButton);
     panel.add(Box.createVerticalStrut(20));
     panel.add(versusButton);
+    panel.add(Box.createVerticalStrut(20));
+    panel.add(loadingLabel);
 
     add(panel);
   }
 
   /**
-   * Launches the MainMenu GUI on the Event Dispatch Thread.
+   * Starts loading the Q-table in the background, then launches the MainMenu GUI
+   * on the Event Dispatch Thread.
    *
    * @param args command-line arguments (unused)
    */
   public static void main(String[] args) {
+    AdvisorRegistry.preload("q_table.json");
     SwingUtilities.invokeLater(() -> new MainMenu().setVisible(true));
   }
 }
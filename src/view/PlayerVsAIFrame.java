@@ -12,11 +12,8 @@ public class PlayerVsAIFrame extends JFrame {
   /** Displays dynamic game messages (e.g., instructions, win/loss) */
   public JLabel statusLabel;
 
-  /** Panel containing player's visible cards */
-  public JPanel playerPanel;
-
-  /** Panel containing AI (dealer)'s visible cards */
-  public JPanel aiPanel;
+  /** Paints the AI (dealer)'s and player's avatars and cards */
+  public CardTableComponent table;
 
   /** Button to flip the initial cards */
   public JButton revealButton;
@@ -57,47 +54,10 @@ public class PlayerVsAIFrame extends JFrame {
     statusLabel.setBorder(BorderFactory.createEmptyBorder(20, 0, 10, 0)); // top/bottom spacing
     add(statusLabel, BorderLayout.NORTH);
 
-    // ====== Dealer section ======
-    JLabel dealerAvatar = new JLabel(new ImageIcon(
-        new ImageIcon("assets/dealer_avatar.png")
-            .getImage().getScaledInstance(123, 160, Image.SCALE_SMOOTH)
-    ));
-    dealerAvatar.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-    aiPanel = GamePanelBuilder.createHiddenCardPanel();
-
-    JPanel dealerSection = new JPanel();
-    dealerSection.setLayout(new BoxLayout(dealerSection, BoxLayout.Y_AXIS));
-    dealerSection.setOpaque(false);
-    dealerSection.add(dealerAvatar);
-    dealerSection.add(Box.createVerticalStrut(0));
-    dealerSection.add(aiPanel);
-
-    // ====== Player section ======
-    JLabel playerAvatar = new JLabel(new ImageIcon(
-        new ImageIcon("assets/player_avatar.png")
-            .getImage().getScaledInstance(113, 142, Image.SCALE_SMOOTH)
-    ));
-    playerAvatar.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-    playerPanel = GamePanelBuilder.createHiddenCardPanel();
-
-    JPanel playerSection = new JPanel();
-    playerSection.setLayout(new BoxLayout(playerSection, BoxLayout.Y_AXIS));
-    playerSection.setOpaque(false);
-    playerSection.add(playerAvatar);
-    playerSection.add(Box.createVerticalStrut(0));
-    playerSection.add(playerPanel);
-
-    // ====== Combined card area ======
-    JPanel cardPanel = new JPanel();
-    cardPanel.setLayout(new BoxLayout(cardPanel, BoxLayout.Y_AXIS));
-    cardPanel.setOpaque(false);
-    cardPanel.add(Box.createVerticalStrut(40));  // space from top
-    cardPanel.add(dealerSection);
-    cardPanel.add(Box.createVerticalStrut(10));  // space between dealer & player
-    cardPanel.add(playerSection);
-    add(cardPanel, BorderLayout.CENTER);
+    // ====== Card table: dealer and player avatars and hands ======
+    table = GamePanelBuilder.createCardTable();
+    table.setBorder(BorderFactory.createEmptyBorder(40, 0, 0, 0));  // space from top
+    add(table, BorderLayout.CENTER);
 
     // ====== Control button panel ======
     JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
@@ -12,14 +12,26 @@ import model.Card;
  */
 public class TrainingModeView extends JFrame {
 
+  /** Width of a card image in training mode. */
+  public static final int CARD_WIDTH = 111;
+
+  /** Height of a card image in training mode. */
+  public static final int CARD_HEIGHT = 162;
+
+  /** Horizontal space between cards in training mode. */
+  public static final int CARD_GAP = 15;
+
+  /** Space above and below each card row in training mode. */
+  public static final int ROW_GAP = 10;
+
   /** Buttons for user actions in training mode */
   public JButton hitButton, standButton, revealButton, nextButton, returnButton;
 
   /** Label to display AI advisor feedback or game instructions */
   public JLabel statusLabel;
 
-  /** Panels that visually display the dealer and player cards */
-  public JPanel dealerCardPanel, playerCardPanel;
+  /** Paints the dealer and player avatars and cards */
+  public CardTableComponent table;
 
   /** Container panel for the status label */
   private final JPanel statusPanel;
@@ -52,18 +64,10 @@ public class TrainingModeView extends JFrame {
     add(statusPanel, BorderLayout.NORTH);
 
     // ====== Dealer and Player Card Area ======
-    JPanel gameArea = new JPanel();
-    gameArea.setLayout(new BoxLayout(gameArea, BoxLayout.Y_AXIS));
-    gameArea.setOpaque(false);
-    gameArea.add(Box.createVerticalStrut(10));
-
-    dealerCardPanel = createHiddenCardPanel(2);
-    playerCardPanel = createHiddenCardPanel(2);
-    gameArea.add(wrapDealerSection(dealerCardPanel));
-    gameArea.add(Box.createVerticalStrut(10));
-    gameArea.add(wrapPlayerSection(playerCardPanel));
-
-    add(gameArea, BorderLayout.CENTER);
+    table = new CardTableComponent(CARD_WIDTH, CARD_HEIGHT, CARD_GAP, ROW_GAP);
+    table.setBorder(BorderFactory.createEmptyBorder(10, 0, 0, 0));
+    resetGameView();
+    add(table, BorderLayout.CENTER);
 
     // ====== Control Buttons at the Bottom ======
     JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
@@ -118,29 +122,22 @@ public class TrainingModeView extends JFrame {
   }
 
   /**
-   * Updates the player's hand panel to display a list of card images.
+   * Updates the player's hand to display a list of card images.
    *
    * @param cards List of player's cards
    */
   public void updatePlayerCards(List<Card> cards) {
-    playerCardPanel.removeAll();
-    for (Card c : cards)
-      playerCardPanel.add(makeCardLabel(c.getImagePath()));
-    playerCardPanel.revalidate();
-    playerCardPanel.repaint();
+    table.setHand(CardTableComponent.PLAYER, cards);
   }
 
   /**
-   * Updates the dealer panel to show one visible card and one face-down.
+   * Updates the dealer's hand to show one visible card and one face-down.
    *
    * @param visibleCard The dealer's first (visible) card
    */
   public void updateDealerCard(Card visibleCard) {
-    dealerCardPanel.removeAll();
-    dealerCardPanel.add(makeCardLabel(visibleCard.getImagePath()));
-    dealerCardPanel.add(makeCardLabel("assets/cards/back1.png"));
-    dealerCardPanel.revalidate();
-    dealerCardPanel.repaint();
+    table.setFaceDown(CardTableComponent.DEALER, 2);
+    table.setCard(CardTableComponent.DEALER, 0, visibleCard);
   }
 
   /**
@@ -149,106 +146,14 @@ public class TrainingModeView extends JFrame {
    * @param secondCard The second card to display
    */
   public void updateDealerSecondCard(Card secondCard) {
-    if (dealerCardPanel.getComponentCount() > 1) {
-      JLabel secondLabel = (JLabel) dealerCardPanel.getComponent(1);
-      secondLabel.setIcon(new ImageIcon(new ImageIcon(secondCard.getImagePath())
-          .getImage().getScaledInstance(111, 162, Image.SCALE_SMOOTH)));
-    }
+    table.setCard(CardTableComponent.DEALER, 1, secondCard);
   }
 
   /**
-   * Resets both player and dealer panels with two face-down cards.
-   * Also resets the feedback message.
+   * Resets both player and dealer hands to two face-down cards each.
    */
   public void resetGameView() {
-    resetHiddenCards(dealerCardPanel);
-    resetHiddenCards(playerCardPanel);
-  }
-
-  /**
-   * Replaces the specified panel with two hidden cards.
-   *
-   * @param targetPanel panel to reset
-   */
-  private void resetHiddenCards(JPanel targetPanel) {
-    targetPanel.removeAll();
-    for (int i = 0; i < 2; i++)
-      targetPanel.add(makeCardLabel("assets/cards/back1.png"));
-    targetPanel.revalidate();
-    targetPanel.repaint();
-  }
-
-  /**
-   * Creates a panel filled with a given number of hidden (backside) cards.
-   *
-   * @param count Number of cards to show
-   * @return JPanel containing the hidden cards
-   */
-  private JPanel createHiddenCardPanel(int count) {
-    JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 15, 10));
-    panel.setOpaque(false);
-    for (int i = 0; i < count; i++)
-      panel.add(makeCardLabel("assets/cards/back1.png"));
-    return panel;
-  }
-
-  /**
-   * Creates a JLabel displaying a scaled card image with white border.
-   *
-   * @param imagePath Path to the image
-   * @return JLabel showing the card
-   */
-  private JLabel makeCardLabel(String imagePath) {
-    Image img = new ImageIcon(imagePath).getImage().getScaledInstance(111, 162, Image.SCALE_SMOOTH);
-    JLabel label = new JLabel(new ImageIcon(img));
-    label.setPreferredSize(new Dimension(111, 162));
-    label.setBorder(BorderFactory.createLineBorder(Color.WHITE, 2));
-    label.setOpaque(true);
-    label.setBackground(Color.WHITE);
-    return label;
-  }
-
-  /**
-   * Wraps the dealer avatar and its associated card panel into one vertical block.
-   *
-   * @param cardPanel The dealer's card panel
-   * @return Panel containing dealer avatar and cards
-   */
-  private JPanel wrapDealerSection(JPanel cardPanel) {
-    JPanel panel = new JPanel();
-    panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
-    panel.setOpaque(false);
-
-    Image dealerImage = new ImageIcon("assets/dealer_avatar.png")
-        .getImage().getScaledInstance(123, 160, Image.SCALE_SMOOTH);
-    JLabel dealerAvatar = new JLabel(new ImageIcon(dealerImage));
-    dealerAvatar.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-    panel.add(dealerAvatar);
-    panel.add(Box.createVerticalStrut(0));
-    panel.add(cardPanel);
-    return panel;
-  }
-
-  /**
-   * Wraps the player avatar and its associated card panel into one vertical block.
-   *
-   * @param cardPanel The player's card panel
-   * @return Panel containing player avatar and cards
-   */
-  private JPanel wrapPlayerSection(JPanel cardPanel) {
-    JPanel panel = new JPanel();
-    panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
-    panel.setOpaque(false);
-
-    Image playerImage = new ImageIcon("assets/player_avatar.png")
-        .getImage().getScaledInstance(113, 142, Image.SCALE_SMOOTH);
-    JLabel playerAvatar = new JLabel(new ImageIcon(playerImage));
-    playerAvatar.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-    panel.add(playerAvatar);
-    panel.add(Box.createVerticalStrut(0));
-    panel.add(cardPanel);
-    return panel;
+    table.setFaceDown(CardTableComponent.DEALER, 2);
+    table.setFaceDown(CardTableComponent.PLAYER, 2);
   }
 }
@@ -4,6 +4,7 @@ import controller.PlayerVsAIController;
 import model.BlackjackGame;
 import model.Player;
 import org.junit.jupiter.api.Test;
+import view.CardTableComponent;
 import view.PlayerVsAIFrame;
 
 import javax.swing.*;
@@ -57,7 +58,7 @@ public class PlayerVsAIControllerTest {
     mockView.hitButton.doClick();
     int after = controller.getGame().getPlayer().getHand().size();
     assertTrue(after > before, "Hand should grow after Hit");
-    assertTrue(mockView.playerPanel.getComponentCount() >= 2, "Card UI should reflect new hand");
+    assertEquals(after, mockView.table.getCardCount(CardTableComponent.PLAYER), "Card UI should reflect new hand");
   }
 
   /**
@@ -65,4 +65,56 @@ public class AIAdvisorTest {
     String action2 = advisor.getOptimalAction(20, 5, 1);
     assertEquals("Unknown", action2, "Should return 'Unknown' for missing key");
   }
+
+  /**
+   * Tests that batch actions agree with single lookups, including unknown and invalid states.
+   */
+  @Test
+  void testGetOptimalActions() {
+    AIAdvisor advisor = new AIAdvisor(testQTablePath);
+    int[] totals = {18, 13, 12, 40};
+    int[] dealerCards = {10, 2, 5, 10};
+    int[] usableAces = {1, 0, 0, 0};
+    byte[] actions = new byte[4];
+    advisor.getOptimalActions(totals, dealerCards, usableAces, actions);
+    assertArrayEquals(new byte[]{AIAdvisor.ACTION_STAND, AIAdvisor.ACTION_HIT,
+        AIAdvisor.ACTION_UNKNOWN, AIAdvisor.ACTION_UNKNOWN}, actions);
+  }
+
+  /**
+   * Tests that batch margins are hit minus stand, and NaN for unknown states.
+   */
+  @Test
+  void testGetQMargins() {
+    AIAdvisor advisor = new AIAdvisor(testQTablePath);
+    double[] margins = new double[3];
+    advisor.getQMargins(new int[]{18, 13, 12}, new int[]{10, 2, 5}, new int[]{1, 0, 0}, margins);
+    assertEquals(-0.2, margins[0], 1e-12);
+    assertEquals(0.6, margins[1], 1e-12);
+    assertTrue(Double.isNaN(margins[2]), "Unknown states have no margin");
+  }
+
+  /**
+   * Tests that inputs shorter than the output are rejected.
+   */
+  @Test
+  void testBatchLengthMismatchRejected() {
+    AIAdvisor advisor = new AIAdvisor(testQTablePath);
+    assertThrows(IllegalArgumentException.class,
+        () -> advisor.getOptimalActions(new int[2], new int[3], new int[3], new byte[3]));
+  }
+
+  /**
+   * Tests that a valid table replaces the current one and an empty one is rejected.
+   */
+  @Test
+  void testReloadValidatesBeforeSwapping() {
+    AIAdvisor advisor = new AIAdvisor(testQTablePath);
+    QTable flipped = new QTable.Builder().put(18, 10, 1, 0.9, 0.1).build();
+    assertTrue(advisor.reload(flipped));
+    assertEquals("Hit", advisor.getOptimalAction(18, 10, 1));
+
+    assertFalse(advisor.reload(QTable.empty()), "Empty tables should be rejected");
+    assertEquals("Hit", advisor.getOptimalAction(18, 10, 1), "Rejected tables leave the current one");
+  }
 }
@@ -0,0 +1,122 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for AdvisorRegistry.
+ * Verifies sharing, background preloading and reloading on file changes.
+ */
+public class AdvisorRegistryTest {
+
+  /**
+   * Forgets loaded advisors between tests.
+   */
+  @AfterEach
+  void tearDown() {
+    AdvisorRegistry.clear();
+  }
+
+  private static Path writeTable(String json) throws IOException {
+    Path file = Files.createTempFile("registry_test", ".json");
+    Files.writeString(file, json);
+    file.toFile().deleteOnExit();
+    QTableCodec.binaryPathFor(file).toFile().deleteOnExit();
+    return file;
+  }
+
+  /**
+   * Replaces a table file's contents and moves its modification time forward, so the change
+   * is seen even within the file system's timestamp resolution.
+   */
+  private static void rewrite(Path file, String json) throws IOException {
+    Files.writeString(file, json);
+    Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 60_000));
+  }
+
+  /**
+   * Tests that every lookup of a file returns the same advisor.
+   */
+  @Test
+  void testSameInstanceShared() throws IOException {
+    Path file = writeTable("{\"(13, 2, False)\": {\"hit\": 0.8, \"stand\": 0.2}}");
+    AIAdvisor first = AdvisorRegistry.preload(file.toString()).join();
+    assertSame(first, AdvisorRegistry.get(file.toString()));
+    assertEquals("Hit", first.getOptimalAction(13, 2, 0));
+  }
+
+  /**
+   * Tests that a changed file is reloaded into the shared advisor.
+   */
+  @Test
+  void testReloadsWhenFileChanges() throws IOException {
+    Path file = writeTable("{\"(13, 2, False)\": {\"hit\": 0.8, \"stand\": 0.2}}");
+    AIAdvisor first = AdvisorRegistry.get(file.toString());
+
+    rewrite(file, "{\"(13, 2, False)\": {\"hit\": 0.1, \"stand\": 0.9}}");
+    AIAdvisor reloaded = AdvisorRegistry.preload(file.toString()).join();
+
+    assertSame(first, reloaded, "Reloads should update the advisor callers already hold");
+    assertEquals("Stand", reloaded.getOptimalAction(13, 2, 0));
+  }
+
+  /**
+   * Tests that a broken, empty or deleted file leaves the loaded advice in place.
+   */
+  @Test
+  void testFailedReloadKeepsAdvice() throws IOException {
+    Path file = writeTable("{\"(13, 2, False)\": {\"hit\": 0.8, \"stand\": 0.2}}");
+    AIAdvisor advisor = AdvisorRegistry.preload(file.toString()).join();
+
+    rewrite(file, "{\"(13, 2, Fal");
+    AdvisorRegistry.preload(file.toString()).join();
+    assertEquals("Hit", advisor.getOptimalAction(13, 2, 0), "A half-written file should be ignored");
+
+    rewrite(file, "{}");
+    AdvisorRegistry.preload(file.toString()).join();
+    assertEquals("Hit", advisor.getOptimalAction(13, 2, 0), "An empty table should be rejected");
+
+    Files.delete(file);
+    Files.deleteIfExists(QTableCodec.binaryPathFor(file));
+    AdvisorRegistry.preload(file.toString()).join();
+    assertEquals("Hit", advisor.getOptimalAction(13, 2, 0), "A deleted file should be ignored");
+    assertSame(advisor, AdvisorRegistry.get(file.toString()));
+  }
+
+  /**
+   * Tests that lookups leave change detection to the loader thread's periodic check.
+   */
+  @Test
+  void testChangesPickedUpByWatcher() throws IOException, InterruptedException {
+    Path file = writeTable("{\"(13, 2, False)\": {\"hit\": 0.8, \"stand\": 0.2}}");
+    AIAdvisor advisor = AdvisorRegistry.preload(file.toString()).join();
+
+    rewrite(file, "{\"(13, 2, False)\": {\"hit\": 0.1, \"stand\": 0.9}}");
+    AdvisorRegistry.get(file.toString());
+    assertEquals("Hit", advisor.getOptimalAction(13, 2, 0), "A lookup should not check the file");
+
+    AdvisorRegistry.checkForChanges();
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    while (advisor.getOptimalAction(13, 2, 0).equals("Hit") && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals("Stand", advisor.getOptimalAction(13, 2, 0));
+    assertSame(advisor, AdvisorRegistry.get(file.toString()));
+  }
+
+  /**
+   * Tests that a missing file yields an advisor that knows no states.
+   */
+  @Test
+  void testMissingFileGivesEmptyAdvisor() {
+    AIAdvisor advisor = AdvisorRegistry.get("does_not_exist.json");
+    assertEquals(0, advisor.getQTable().size());
+  }
+}
@@ -0,0 +1,84 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for AsyncAppender.
+ * Verifies ordering, flushing and dropping when the buffer is full.
+ */
+public class AsyncAppenderTest {
+
+  private static Log.Event event(String message) {
+    return new Log.Event(0L, Log.Level.INFO, "test", "main", message, null, null, null, 0);
+  }
+
+  /**
+   * Tests that events are written in order once flushed.
+   */
+  @Test
+  void testWritesInOrder() {
+    List<String> lines = Collections.synchronizedList(new ArrayList<>());
+    AsyncAppender appender = new AsyncAppender(64, lines::add);
+    for (int i = 0; i < 50; i++) {
+      assertTrue(appender.append(event("message " + i)));
+    }
+    appender.flush();
+    assertEquals(50, lines.size());
+    assertTrue(lines.get(49).endsWith("message 49"), lines.get(49));
+  }
+
+  /**
+   * Tests that producers drop events instead of blocking when the consumer falls behind.
+   */
+  @Test
+  void testDropsWhenFull() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    AsyncAppender appender = new AsyncAppender(4, line -> {
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    int accepted = 0;
+    for (int i = 0; i < 100; i++) {
+      if (appender.append(event("message " + i))) {
+        accepted++;
+      }
+    }
+    assertTrue(accepted <= 5, "At most the buffer plus the event being written fit");
+    assertEquals(100 - accepted, appender.getDroppedCount());
+    release.countDown();
+    appender.flush();
+  }
+
+  /**
+   * Tests that an idle consumer waits without a timeout and still wakes for new events.
+   */
+  @Test
+  void testIdleConsumerParksUntilWoken() throws InterruptedException {
+    List<String> lines = Collections.synchronizedList(new ArrayList<>());
+    AsyncAppender appender = new AsyncAppender(16, lines::add);
+    appender.append(event("first"));
+    appender.flush();
+
+    Thread consumer = appender.getConsumer();
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    while (consumer.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertEquals(Thread.State.WAITING, consumer.getState(), "Idle consumer should park with no timeout");
+
+    appender.append(event("second"));
+    appender.flush();
+    assertEquals(2, lines.size());
+    assertTrue(lines.get(1).endsWith("second"), lines.get(1));
+  }
+}
@@ -130,4 +130,44 @@ public class BlackjackGameTest {
     assertEquals(3, state.length, "Opponent state should have 3 elements");
     assertTrue(state[0] >= 2 && state[0] <= 21, "Opponent score should be within valid range");
   }
+
+  /**
+   * Tests that the primitive state accessors agree with the state array.
+   */
+  @Test
+  void testPrimitiveStateAccessors() {
+    int[] state = game.getPlayerState();
+    assertEquals(state[0], game.getPlayerScore(), "Score should match the state array");
+    assertEquals(state[1], game.getDealerUpcard(), "Upcard should match the state array");
+    assertEquals(state[2], game.getPlayerUsableAce(), "Usable ace flag should match the state array");
+  }
+
+  /**
+   * Tests that rounds keep dealing from the same shoe instead of a fresh deck.
+   */
+  @Test
+  void testResetReusesShoe() {
+    Shoe shoe = new Shoe(6, 0.75, new java.util.SplittableRandom(1));
+    BlackjackGame shoeGame = new BlackjackGame(shoe);
+    assertEquals(308, shoe.remaining(), "Initial deal should take four cards");
+
+    shoeGame.reset();
+    assertSame(shoe, shoeGame.getShoe(), "Reset should keep the same shoe");
+    assertEquals(304, shoe.remaining(), "Second round should continue from the same shoe");
+  }
+
+  /**
+   * Tests that unseen counts cover the shoe and the dealer's hole card but not the upcard.
+   */
+  @Test
+  void testUnseenRankCounts() {
+    Shoe shoe = new Shoe(1, 0.75, new java.util.SplittableRandom(9));
+    BlackjackGame shoeGame = new BlackjackGame(shoe);
+    int[] unseen = shoeGame.getUnseenRankCounts(new int[11]);
+    int total = 0;
+    for (int rank = 1; rank <= 10; rank++) {
+      total += unseen[rank];
+    }
+    assertEquals(49, total, "Only the player's two cards and the upcard are seen");
+  }
 }
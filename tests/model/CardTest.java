@@ -76,4 +76,21 @@ public class CardTest {
     assertTrue(path.startsWith("assets/cards/"), "Path should begin with assets/cards/");
     assertTrue(path.endsWith("king_of_diamonds.png"), "Path should end with correct image filename");
   }
+
+  /**
+   * Tests that canonical cards are shared and round-trip through their codes.
+   */
+  @Test
+  void testCanonicalCardsByCode() {
+    for (int code = 0; code < Card.DISTINCT_CARDS; code++) {
+      Card card = Card.of(code);
+      assertEquals(code, card.getCode(), "Card should report the code it was looked up by");
+      assertSame(card, Card.of((String) card.getSuit(), card.getValue()),
+          "Lookup by suit and value should return the same instance");
+      assertEquals(card.getGameValue(), Card.gameValueOf(code), "Static game value should match");
+    }
+    assertEquals("queen_of_spades.png", Card.of("Spades", 12).getImageFileName());
+    assertThrows(IllegalArgumentException.class, () -> Card.of("Stars", 3),
+        "Non-standard suit has no canonical card");
+  }
 }
@@ -0,0 +1,83 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for CompositionAdvisor.
+ * Verifies composition-aware decisions, caching and the latency fallback.
+ */
+public class CompositionAdvisorTest {
+
+  /** Budget generous enough that no test query falls back, even before the JIT warms up. */
+  private static final long NO_LIMIT = 60_000_000_000L;
+
+  /**
+   * Builds unseen counts for fresh decks with the given cards already seen.
+   */
+  private static int[] unseen(int decks, int... seen) {
+    int[] counts = new int[11];
+    for (int rank = 1; rank <= 9; rank++) {
+      counts[rank] = 4 * decks;
+    }
+    counts[10] = 16 * decks;
+    for (int value : seen) {
+      counts[value]--;
+    }
+    return counts;
+  }
+
+  /**
+   * Tests that a full single deck gives the familiar basic strategy decisions.
+   */
+  @Test
+  void testFreshDeckDecisions() {
+    CompositionAdvisor advisor = new CompositionAdvisor(new AIAdvisor(QTable.empty()), NO_LIMIT, 16);
+    assertEquals("Hit", advisor.getOptimalAction(11, 10, 0, unseen(1, 5, 6, 10)));
+    assertEquals("Stand", advisor.getOptimalAction(19, 10, 0, unseen(1, 9, 10, 10)));
+    assertEquals(0, advisor.getFallbackCount(), "Queries within budget should not fall back");
+  }
+
+  /**
+   * Tests that a shoe stripped of small cards makes standing on hard 16 correct.
+   */
+  @Test
+  void testCompositionChangesDecision() {
+    int[] rich = unseen(1, 10, 6, 10);
+    for (int rank = 1; rank <= 5; rank++) {
+      rich[rank] = 0;
+    }
+    double[] ev = new CompositionAdvisor(new AIAdvisor(QTable.empty())).evaluate(16, 10, 0, rich);
+    assertTrue(ev[QTable.STAND] > ev[QTable.HIT], "Without small cards hitting 16 nearly always busts");
+  }
+
+  /**
+   * Tests that repeated queries are answered from the cache and leave the counts unchanged.
+   */
+  @Test
+  void testRepeatedQueryHitsCache() {
+    CompositionAdvisor advisor = new CompositionAdvisor(new AIAdvisor(QTable.empty()), NO_LIMIT, 16);
+    int[] counts = unseen(1, 7, 8, 6);
+    int[] copy = counts.clone();
+    String first = advisor.getOptimalAction(15, 6, 0, counts);
+    assertArrayEquals(copy, counts, "Counts should be restored after a query");
+    assertEquals(first, advisor.getOptimalAction(15, 6, 0, counts));
+    assertEquals(2, advisor.getQueryCount());
+    assertEquals(1, advisor.getCacheHitCount());
+    assertEquals(1, advisor.getCache().size());
+    assertTrue(advisor.getLatencyPercentileNanos(99) > 0, "Latencies should be recorded");
+  }
+
+  /**
+   * Tests that a query exceeding its budget is answered by the static table.
+   */
+  @Test
+  void testBudgetFallsBackToStaticTable() {
+    QTable table = new QTable.Builder().put(16, 10, 0, 0.5, -0.5).build();
+    CompositionAdvisor advisor = new CompositionAdvisor(new AIAdvisor(table), 1, 16);
+    assertEquals("Hit", advisor.getOptimalAction(16, 10, 0, unseen(8, 10, 6, 10)));
+    assertEquals(1, advisor.getFallbackCount());
+    assertEquals(0, advisor.getCache().size(), "Abandoned queries should not be cached");
+  }
+}
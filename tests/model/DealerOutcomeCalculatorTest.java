@@ -0,0 +1,70 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for DealerOutcomeCalculator.
+ * Verifies infinite-deck and finite-shoe distributions and stand EVs.
+ */
+public class DealerOutcomeCalculatorTest {
+
+  /**
+   * Tests that every infinite-deck distribution sums to one
+   * and matches published stand-on-17 bust rates.
+   */
+  @Test
+  void testInfiniteDeckDistributions() {
+    for (int upcard = 1; upcard <= 10; upcard++) {
+      double sum = 0;
+      for (double p : DealerOutcomeCalculator.infiniteDeck(upcard)) {
+        sum += p;
+      }
+      assertEquals(1.0, sum, 1e-12, "Distribution for upcard " + upcard + " should sum to 1");
+    }
+    assertEquals(0.4232, DealerOutcomeCalculator.probability(6, DealerOutcomeCalculator.BUST), 1e-4,
+        "Dealer showing 6 busts about 42% of the time");
+    assertEquals(0.2121, DealerOutcomeCalculator.probability(10, DealerOutcomeCalculator.BUST), 1e-4,
+        "Dealer showing 10 busts about 21% of the time");
+  }
+
+  /**
+   * Tests stand EVs against hand-checkable cases.
+   */
+  @Test
+  void testStandEv() {
+    double bust = DealerOutcomeCalculator.probability(6, DealerOutcomeCalculator.BUST);
+    assertEquals(2 * bust - 1, DealerOutcomeCalculator.standEv(16, 6), 1e-12,
+        "Standing below 17 only wins when the dealer busts");
+    assertEquals(-1.0, DealerOutcomeCalculator.standEv(22, 6), "A busted hand always loses");
+
+    double[] outcomes = {0.0, 0.0, 0.0, 1.0, 0.0, 0.0};  // dealer always ends on 20
+    assertEquals(0.0, DealerOutcomeCalculator.standEv(20, outcomes), "Equal totals push");
+    assertEquals(1.0, DealerOutcomeCalculator.standEv(21, outcomes), "Higher total wins");
+  }
+
+  /**
+   * Tests finite-shoe distributions: they approach the infinite deck for a large shoe,
+   * respect exhausted ranks, and leave the caller's counts untouched.
+   */
+  @Test
+  void testFiniteComposition() {
+    DealerOutcomeCalculator calculator = new DealerOutcomeCalculator();
+    int[] counts = new int[11];
+    for (int rank = 1; rank <= 9; rank++) counts[rank] = 32;
+    counts[10] = 128;
+    counts[6]--;  // the upcard
+    int[] before = counts.clone();
+
+    double[] eightDeck = calculator.forComposition(6, counts);
+    assertArrayEquals(before, counts, "Counts should be restored after the query");
+    assertEquals(DealerOutcomeCalculator.probability(6, DealerOutcomeCalculator.BUST),
+        eightDeck[DealerOutcomeCalculator.BUST], 2e-3, "Eight decks should be close to infinite");
+
+    int[] onlyTens = new int[11];
+    onlyTens[10] = 5;
+    double[] tens = calculator.forComposition(7, onlyTens);
+    assertEquals(1.0, tens[0], 1e-12, "7 plus a ten always stands on 17");
+  }
+}
@@ -68,4 +68,16 @@ public class DeckTest {
     assertThrows(IllegalStateException.class, deck::drawCard,
         "Drawing from empty deck must throw exception");
   }
+
+  /**
+   * Tests that decks shuffled with the same seed deal the same order.
+   */
+  @Test
+  void testSeededDeckIsReproducible() {
+    Deck a = new Deck(new java.util.SplittableRandom(11));
+    Deck b = new Deck(new java.util.SplittableRandom(11));
+    for (int i = 0; i < 52; i++) {
+      assertSame(a.drawCard(), b.drawCard(), "Seeded decks should deal identical cards");
+    }
+  }
 }
@@ -0,0 +1,147 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for EvCache.
+ * Verifies limits, both eviction policies, metrics and key packing.
+ */
+public class EvCacheTest {
+
+  private static double[] ev(double value) {
+    return new double[]{value, -value};
+  }
+
+  /**
+   * Tests that lookups return stored values and are counted.
+   */
+  @Test
+  void testGetAndPut() {
+    EvCache cache = EvCache.builder().maxEntries(100).build();
+    assertNull(cache.get(42L));
+    cache.put(42L, ev(0.5));
+    assertEquals(0.5, cache.get(42L)[0]);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(0.5, cache.getHitRate(), 1e-12);
+  }
+
+  /**
+   * Tests that small limits are never exceeded and that larger ones are usable in full,
+   * however they divide among the stripes.
+   */
+  @Test
+  void testEntryLimitIsExact() {
+    for (EvCache.Eviction policy : EvCache.Eviction.values()) {
+      for (long limit : new long[]{1, 3, 5, 15, 17, 100}) {
+        EvCache cache = EvCache.builder().maxEntries(limit).eviction(policy).build();
+        for (long key = 0; key < 5000; key++) {
+          cache.put(key, ev(key));
+          assertTrue(cache.size() <= limit, policy + " cache exceeded " + limit + " entries");
+        }
+        if (policy == EvCache.Eviction.LRU) {
+          assertEquals(limit, cache.size(), "LRU should fill its whole limit of " + limit);
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests that LRU keeps the most recently used entries within the entry limit.
+   */
+  @Test
+  void testLruEvictsLeastRecentlyUsed() {
+    EvCache cache = EvCache.builder().maxEntries(2).stripes(1).build();
+    cache.put(1L, ev(1));
+    cache.put(2L, ev(2));
+    cache.get(1L);
+    cache.put(3L, ev(3));
+    assertNotNull(cache.get(1L), "Recently read entry should survive");
+    assertNull(cache.get(2L), "Least recently used entry should be evicted");
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getEvictionCount());
+  }
+
+  /**
+   * Tests that the size stays within both limits however many keys are inserted.
+   */
+  @Test
+  void testLimitsHoldUnderChurn() {
+    for (EvCache.Eviction policy : EvCache.Eviction.values()) {
+      EvCache cache = EvCache.builder().maxEntries(1000).maxBytes(50_000).eviction(policy).build();
+      for (long key = 0; key < 100_000; key++) {
+        cache.put(key, ev(key));
+      }
+      assertTrue(cache.size() <= 1000, policy + " should respect the entry limit");
+      assertTrue(cache.estimatedBytes() <= 50_000, policy + " should respect the byte limit");
+      assertTrue(cache.size() > 0);
+    }
+  }
+
+  /**
+   * Replays hot keys interleaved with a scan of one-off keys and returns the hit rate.
+   */
+  private static double hitRateUnderScan(EvCache.Eviction policy) {
+    EvCache cache = EvCache.builder().maxEntries(200).stripes(1).eviction(policy).build();
+    long scan = 1_000;
+    for (int i = 0; i < 3_000; i++) {
+      long hot = i % 100;
+      if (cache.get(hot) == null) {
+        cache.put(hot, ev(hot));
+      }
+      for (int s = 0; s < 3; s++) {
+        cache.put(scan++, ev(scan));
+      }
+    }
+    return cache.getHitRate();
+  }
+
+  /**
+   * Tests that TinyLFU keeps frequently used entries that a scan flushes out of LRU.
+   */
+  @Test
+  void testTinyLfuResistsScans() {
+    assertTrue(hitRateUnderScan(EvCache.Eviction.LRU) < 0.1, "The scan defeats LRU");
+    assertTrue(hitRateUnderScan(EvCache.Eviction.TINY_LFU) > 0.9, "TinyLFU keeps the hot keys");
+  }
+
+  /**
+   * Tests that clearing empties the cache and releases its bytes.
+   */
+  @Test
+  void testClear() {
+    EvCache cache = EvCache.builder().maxEntries(10).build();
+    cache.put(1L, ev(1));
+    cache.clear();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.estimatedBytes());
+  }
+
+  /**
+   * Tests that invalid settings are rejected.
+   */
+  @Test
+  void testInvalidSettingsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> EvCache.builder().maxEntries(0));
+    assertThrows(IllegalArgumentException.class, () -> EvCache.builder().stripes(0));
+    assertThrows(IllegalStateException.class, () -> EvCache.builder().build());
+  }
+
+  /**
+   * Tests that keys distinguish compositions and reject counts that do not fit.
+   */
+  @Test
+  void testPackKey() {
+    int[] counts = {0, 4, 4, 4, 4, 4, 4, 4, 4, 4, 16};
+    long a = EvCache.packKey(16, 10, 0, counts);
+    counts[9]--;
+    long b = EvCache.packKey(16, 10, 0, counts);
+    assertTrue(a >= 0 && b >= 0);
+    assertNotEquals(a, b, "Different compositions need different keys");
+    assertNotEquals(b, EvCache.packKey(16, 10, 1, counts));
+    counts[1] = 32;
+    assertEquals(-1, EvCache.packKey(16, 10, 0, counts), "Full eight-deck counts do not fit");
+  }
+}
@@ -0,0 +1,63 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for HandTransitions.
+ * Verifies scores, soft hands and terminal flags against Player.
+ */
+public class HandTransitionsTest {
+
+  /**
+   * Tests that walking a hand through the table matches Player for every two- and three-card hand.
+   */
+  @Test
+  void testMatchesPlayer() {
+    for (int a = 1; a <= 10; a++) {
+      for (int b = 1; b <= 10; b++) {
+        for (int c = 1; c <= 10; c++) {
+          Player player = new Player();
+          int hand = HandTransitions.EMPTY;
+          for (int value : new int[]{a, b, c}) {
+            player.addCard(Card.of("Spades", value));
+            hand = HandTransitions.next(hand, value);
+            assertEquals(player.getScore(), HandTransitions.score(hand));
+            assertEquals(player.hasUsableAce() ? 1 : 0, HandTransitions.usableAce(hand));
+            assertEquals(player.isBusted(), HandTransitions.isBust(hand));
+            assertEquals(player.getScore() == 21, HandTransitions.isTwentyOne(hand));
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests soft hands and the blackjack flag.
+   */
+  @Test
+  void testSoftHands() {
+    int hand = HandTransitions.next(HandTransitions.next(HandTransitions.EMPTY, 1), 10);
+    assertTrue(HandTransitions.isTwentyOne(hand), "Ace and ten make 21");
+    assertEquals(1, HandTransitions.usableAce(hand));
+
+    hand = HandTransitions.next(hand, 5);
+    assertEquals(16, HandTransitions.score(hand), "The ace drops to 1 instead of busting");
+    assertEquals(0, HandTransitions.usableAce(hand));
+  }
+
+  /**
+   * Tests that busted hands stay busted.
+   */
+  @Test
+  void testBustIsAbsorbing() {
+    int hand = HandTransitions.of(22, false);
+    assertTrue(HandTransitions.isBust(hand));
+    for (int i = 0; i < 5; i++) {
+      hand = HandTransitions.next(hand, 10);
+      assertTrue(HandTransitions.isBust(hand));
+    }
+    assertEquals(31, HandTransitions.hardTotal(hand), "Hard totals are capped");
+  }
+}
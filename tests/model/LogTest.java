@@ -0,0 +1,58 @@
+package model;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for Log.
+ * Verifies placeholder formatting, level filtering and event rendering.
+ */
+public class LogTest {
+
+  /**
+   * Restores the default threshold after each test.
+   */
+  @AfterEach
+  void tearDown() {
+    Log.setLevel(Log.Level.INFO);
+  }
+
+  /**
+   * Tests that placeholders are replaced in order and extra ones are kept.
+   */
+  @Test
+  void testFormat() {
+    assertEquals("a=1 b=x", Log.format("a={} b={}", new Object[]{1, "x", null}, 2));
+    assertEquals("only 7 {}", Log.format("only {} {}", new Object[]{7, null, null}, 1));
+    assertEquals("no args {}", Log.format("no args {}", new Object[3], 0));
+  }
+
+  /**
+   * Tests that the threshold decides which levels are enabled.
+   */
+  @Test
+  void testLevelFiltering() {
+    Log log = Log.get(LogTest.class);
+    Log.setLevel(Log.Level.WARN);
+    assertFalse(log.isEnabled(Log.Level.INFO));
+    assertTrue(log.isEnabled(Log.Level.ERROR));
+    Log.setLevel(Log.Level.OFF);
+    assertFalse(log.isEnabled(Log.Level.ERROR));
+    assertEquals(Log.Level.OFF, Log.getLevel());
+  }
+
+  /**
+   * Tests that a rendered event carries its level, logger and message,
+   * and that a trailing throwable is printed as a stack trace.
+   */
+  @Test
+  void testRenderWithThrowable() {
+    Log.Event event = new Log.Event(0L, Log.Level.ERROR, "model.Test", "main",
+        "Could not load {}", "q_table.json", new IllegalStateException("boom"), null, 2);
+    String line = event.render();
+    assertTrue(line.contains("ERROR [main] model.Test - Could not load q_table.json"), line);
+    assertTrue(line.contains("java.lang.IllegalStateException: boom"), line);
+  }
+}
@@ -0,0 +1,72 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for LongDoubleMap.
+ * Verifies lookups, growth and reuse after clearing.
+ */
+public class LongDoubleMapTest {
+
+  /**
+   * Tests that values are stored, replaced and reported missing.
+   */
+  @Test
+  void testPutAndGet() {
+    LongDoubleMap map = new LongDoubleMap(4);
+    assertTrue(Double.isNaN(map.get(0L, Double.NaN)), "An empty map should hold no keys");
+    map.put(0L, 1.5);
+    map.put(-1L, -2.0);
+    map.put(0L, 3.0);
+    assertEquals(3.0, map.get(0L, Double.NaN));
+    assertEquals(-2.0, map.get(-1L, Double.NaN));
+    assertEquals(7.0, map.get(42L, 7.0));
+    assertEquals(2, map.size());
+  }
+
+  /**
+   * Tests that the map keeps every key as it grows, matching a HashMap.
+   */
+  @Test
+  void testGrowthKeepsEntries() {
+    LongDoubleMap map = new LongDoubleMap(1);
+    Map<Long, Double> expected = new HashMap<>();
+    SplittableRandom random = new SplittableRandom(7);
+    for (int i = 0; i < 10_000; i++) {
+      long key = random.nextLong() << 20;
+      double value = random.nextDouble();
+      map.put(key, value);
+      expected.put(key, value);
+    }
+    assertEquals(expected.size(), map.size());
+    assertTrue(map.capacity() >= 2 * map.size(), "The table should stay at most half full");
+    for (Map.Entry<Long, Double> entry : expected.entrySet()) {
+      assertEquals(entry.getValue().doubleValue(), map.get(entry.getKey(), Double.NaN));
+    }
+  }
+
+  /**
+   * Tests that a cleared map is empty but keeps its table.
+   */
+  @Test
+  void testClearKeepsCapacity() {
+    LongDoubleMap map = new LongDoubleMap(1);
+    for (long key = 0; key < 1000; key++) {
+      map.put(key, key);
+    }
+    int capacity = map.capacity();
+    map.clear();
+    assertEquals(0, map.size());
+    assertTrue(Double.isNaN(map.get(5L, Double.NaN)), "Cleared keys should be gone");
+    assertEquals(capacity, map.capacity());
+    map.put(5L, 1.0);
+    assertEquals(1.0, map.get(5L, Double.NaN));
+    assertTrue(Double.isNaN(map.get(6L, Double.NaN)));
+  }
+}
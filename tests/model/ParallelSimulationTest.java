@@ -0,0 +1,58 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for ParallelSimulation.
+ * Verifies hand accounting and reproducibility across pool sizes.
+ */
+public class ParallelSimulationTest {
+
+  /**
+   * Tests that a hand count that is not a multiple of the chunk size is played exactly.
+   */
+  @Test
+  void testPartialChunkIsPlayedExactly() {
+    ParallelSimulation simulation =
+        new ParallelSimulation(6, 0.75, SimulationEngine.DEALER_RULE, 3L, 1_000);
+    assertEquals(10_500, simulation.run(10_500).getHands(), "Every requested hand should be played");
+    assertEquals(0, simulation.run(0).getHands(), "No hands requested should play nothing");
+  }
+
+  /**
+   * Tests that the merged result does not depend on the number of threads.
+   */
+  @Test
+  void testResultIndependentOfThreadCount() {
+    ParallelSimulation simulation =
+        new ParallelSimulation(6, 0.75, SimulationEngine.DEALER_RULE, 2024L, 5_000);
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool many = new ForkJoinPool(4);
+    try {
+      SimulationResult a = simulation.run(60_000, single);
+      SimulationResult b = simulation.run(60_000, many);
+      assertEquals(a.getWins(), b.getWins(), "Wins should match across pool sizes");
+      assertEquals(a.getLosses(), b.getLosses(), "Losses should match across pool sizes");
+      assertEquals(a.getPushes(), b.getPushes(), "Pushes should match across pool sizes");
+      assertEquals(a.getExpectedValue(), b.getExpectedValue(), "EV should match bit for bit");
+    } finally {
+      single.shutdown();
+      many.shutdown();
+    }
+  }
+
+  /**
+   * Tests that different master seeds give different chunk streams.
+   */
+  @Test
+  void testChunkSeedsDiffer() {
+    ParallelSimulation a = new ParallelSimulation(1, 0.75, SimulationEngine.DEALER_RULE, 1L);
+    ParallelSimulation b = new ParallelSimulation(1, 0.75, SimulationEngine.DEALER_RULE, 2L);
+    assertNotEquals(a.chunkSeed(0), a.chunkSeed(1), "Chunks should get different seeds");
+    assertNotEquals(a.chunkSeed(0), b.chunkSeed(0), "Master seeds should give different streams");
+  }
+}
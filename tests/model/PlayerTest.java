@@ -95,4 +95,35 @@ public class PlayerTest {
     player.addCard(new Card("Diamonds", 5));  // now ace should become 1
     assertEquals(15, player.calculateScore(), "Score should drop ace if total > 21");
   }
+
+  /**
+   * Tests the primitive score and soft-hand accessors as cards are added.
+   */
+  @Test
+  void testScoreAndUsableAceTrackEachCard() {
+    player.addCard(new Card("Spades", 1));  // Ace
+    assertEquals(11, player.getScore(), "Lone ace should count as 11");
+    assertTrue(player.hasUsableAce(), "Lone ace should be usable");
+
+    player.addCard(new Card("Hearts", 1));  // second ace
+    assertEquals(12, player.getScore(), "Two aces should count as 12");
+    assertEquals(2, player.getHardTotal(), "Hard total should count aces as 1");
+    assertEquals(2, player.getAceCount(), "Both aces should be counted");
+
+    player.addCard(new Card("Clubs", 13));  // King
+    assertEquals(12, player.getScore(), "King should force both aces to count as 1");
+    assertFalse(player.hasUsableAce(), "No ace should be usable any more");
+    assertFalse(player.isBusted(), "Hand of 12 should not be busted");
+  }
+
+  /**
+   * Tests that the hand view cannot be used to bypass addCard.
+   */
+  @Test
+  void testHandIsReadOnly() {
+    player.addCard(new Card("Clubs", 2));
+    assertThrows(UnsupportedOperationException.class,
+        () -> player.getHand().add(new Card("Clubs", 3)),
+        "Cards should only be added through addCard");
+  }
 }
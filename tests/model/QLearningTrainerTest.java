@@ -0,0 +1,95 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for QLearningTrainer.
+ * Verifies the shape of trained tables and that they load into AIAdvisor.
+ */
+public class QLearningTrainerTest {
+
+  /**
+   * Tests that training visits the same kinds of states as the Python script,
+   * including the bust states recorded after a losing hit.
+   */
+  @Test
+  void testTrainedTableShape() {
+    QLearningTrainer trainer = new QLearningTrainer(1L);
+    trainer.train(200_000);
+    QTable table = trainer.toQTable();
+
+    assertTrue(table.contains(20, 10, 0), "Common hard totals should be visited");
+    assertTrue(table.contains(18, 6, 1), "Soft totals should be visited");
+    assertFalse(table.contains(3, 5, 0), "A two-card hand can never total 3");
+    boolean bustStateSeen = false;
+    for (int dealer = 1; dealer <= 10; dealer++) {
+      bustStateSeen |= table.contains(25, dealer, 0);
+    }
+    assertTrue(bustStateSeen, "Bust states should be recorded like the script does");
+  }
+
+  /**
+   * Tests that training learns the obvious decisions.
+   */
+  @Test
+  void testLearnsObviousDecisions() {
+    QLearningTrainer trainer = new QLearningTrainer(7L);
+    trainer.train(500_000);
+    QTable table = trainer.toQTable();
+    assertTrue(table.getQ(20, 10, 0, QTable.STAND) > table.getQ(20, 10, 0, QTable.HIT),
+        "Hard 20 should stand");
+    assertTrue(table.getQ(11, 6, 0, QTable.HIT) > table.getQ(11, 6, 0, QTable.STAND),
+        "Hard 11 should hit");
+  }
+
+  /**
+   * Tests that a trained table written as JSON loads into AIAdvisor unchanged.
+   */
+  @Test
+  void testTrainedTableLoadsIntoAdvisor() throws IOException {
+    QLearningTrainer trainer = new QLearningTrainer(3L);
+    trainer.train(100_000);
+    QTable table = trainer.toQTable();
+
+    Path json = Files.createTempFile("trained", ".json");
+    QTableCodec.writeJson(table, json);
+    AIAdvisor advisor = new AIAdvisor(json.toString());
+
+    assertEquals(table.size(), advisor.getQTable().size(), "Every trained state should load");
+    assertEquals(table.getQ(20, 10, 0, QTable.HIT), advisor.getQTable().getQ(20, 10, 0, QTable.HIT),
+        "Values should survive the JSON round trip exactly");
+  }
+
+  /**
+   * Tests that several threads training one lock-free store learn the same obvious decisions.
+   */
+  @Test
+  void testParallelLockFreeTraining() throws InterruptedException {
+    QValueStore store = QValueStore.lockFree(QTable.STATE_COUNT * QTable.ACTION_COUNT);
+    QLearningTrainer trainer = new QLearningTrainer(store, QLearningTrainer.ALPHA,
+        QLearningTrainer.GAMMA, QLearningTrainer.EPSILON, 11L);
+    trainer.trainParallel(500_000, 4);
+    QTable table = trainer.toQTable();
+
+    assertTrue(table.contains(20, 10, 0), "Shared table should hold every worker's states");
+    assertTrue(table.getQ(20, 10, 0, QTable.STAND) > table.getQ(20, 10, 0, QTable.HIT),
+        "Hard 20 should stand");
+    assertTrue(table.getQ(11, 6, 0, QTable.HIT) > table.getQ(11, 6, 0, QTable.STAND),
+        "Hard 11 should hit");
+  }
+
+  /**
+   * Tests that a plain array store is not shared between threads.
+   */
+  @Test
+  void testPlainStoreRejectsParallelTraining() {
+    QLearningTrainer trainer = new QLearningTrainer(1L);
+    assertThrows(IllegalStateException.class, () -> trainer.trainParallel(1_000, 2));
+  }
+}
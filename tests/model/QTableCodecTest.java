@@ -0,0 +1,193 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for QTableCodec.
+ * Verifies JSON import, binary round trips, corruption checks, the binary cache
+ * and quantized encodings.
+ */
+public class QTableCodecTest {
+
+  private static final String JSON = """
+      {
+        "(18, 10, True)": { "hit": 0.4, "stand": 0.6 },
+        "(13, 2, False)": { "hit": 0.8, "stand": 0.2 }
+      }
+      """;
+
+  /**
+   * Writes the sample JSON table to a temporary file.
+   */
+  private Path writeJson() throws IOException {
+    Path json = Files.createTempFile("qtable_codec", ".json");
+    Files.writeString(json, JSON);
+    return json;
+  }
+
+  /**
+   * Tests that a table written in binary form reads back identically.
+   */
+  @Test
+  void testBinaryRoundTrip() throws IOException {
+    QTable table = QTableCodec.readJson(writeJson());
+    Path binary = Files.createTempFile("qtable_codec", QTableCodec.BINARY_EXTENSION);
+    QTableCodec.writeBinary(table, binary);
+
+    QTable loaded = QTableCodec.readBinary(binary);
+    assertEquals(2, loaded.size(), "Binary table should hold both states");
+    assertEquals(0.4, loaded.getQ(18, 10, 1, QTable.HIT), 1e-12);
+    assertEquals(0.2, loaded.getQ(13, 2, 0, QTable.STAND), 1e-12);
+    assertFalse(loaded.contains(20, 5, 1), "Missing state should stay unknown");
+  }
+
+  /**
+   * Tests that a corrupted payload is rejected by the checksum.
+   */
+  @Test
+  void testCorruptBinaryRejected() throws IOException {
+    Path binary = Files.createTempFile("qtable_codec", QTableCodec.BINARY_EXTENSION);
+    QTableCodec.writeBinary(QTableCodec.readJson(writeJson()), binary);
+
+    byte[] bytes = Files.readAllBytes(binary);
+    bytes[bytes.length - 1] ^= 0x5A;
+    Files.write(binary, bytes);
+
+    assertThrows(IOException.class, () -> QTableCodec.readBinary(binary),
+        "Corrupted payload should fail the checksum");
+  }
+
+  /**
+   * Tests that loading JSON creates a binary copy and reuses it while it is newer.
+   */
+  @Test
+  void testLoadCreatesAndReusesBinary() throws IOException {
+    Path json = writeJson();
+    Path binary = QTableCodec.binaryPathFor(json);
+    Files.deleteIfExists(binary);
+
+    QTableCodec.load(json.toString());
+    assertTrue(Files.exists(binary), "Loading JSON should write a binary copy");
+
+    // A newer binary wins over the JSON it was generated from
+    QTableCodec.writeBinary(new QTable.Builder().put(20, 5, 1, 0.9, 0.1).build(), binary);
+    Files.setLastModifiedTime(binary, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+    assertTrue(QTableCodec.load(json.toString()).contains(20, 5, 1), "Newer binary should be reused");
+
+    // An older binary is regenerated from the JSON
+    Files.setLastModifiedTime(binary, FileTime.fromMillis(0));
+    assertFalse(QTableCodec.load(json.toString()).contains(20, 5, 1), "Stale binary should be replaced");
+  }
+
+  /**
+   * Tests that state keys are parsed into packed coordinates and malformed keys are rejected.
+   */
+  @Test
+  void testParseStateKey() {
+    assertEquals(18 << 8 | 10 << 1 | 1, QTableCodec.parseStateKey("(18, 10, True)"));
+    assertEquals(4 << 8 | 1 << 1, QTableCodec.parseStateKey("(4, 1, False)"));
+    assertEquals(-1, QTableCodec.parseStateKey("(18, 10)"), "Key without ace flag is malformed");
+    assertEquals(-1, QTableCodec.parseStateKey("(18, 10, Maybe)"), "Unknown ace flag is malformed");
+    assertEquals(-1, QTableCodec.parseStateKey("total"), "Non-state key is malformed");
+  }
+
+  /**
+   * Tests that entries with malformed keys or missing actions are skipped while streaming.
+   */
+  @Test
+  void testReadJsonSkipsMalformedEntries() throws IOException {
+    Path json = Files.createTempFile("qtable_codec", ".json");
+    Files.writeString(json, """
+        {
+          "(18, 10, True)": { "hit": 0.4, "stand": 0.6, "double": 1.0 },
+          "(13, 2, False)": { "hit": 0.8 },
+          "comment": { "hit": 0.1, "stand": 0.2 }
+        }
+        """);
+
+    QTable table = QTableCodec.readJson(json);
+    assertEquals(1, table.size(), "Only the complete, well-formed entry should load");
+    assertEquals(0.6, table.getQ(18, 10, 1, QTable.STAND), 1e-12);
+  }
+
+  /**
+   * Tests that quantized tables keep their encoding on disk and decode close to the source.
+   */
+  @Test
+  void testQuantizedBinaryRoundTrip() throws IOException {
+    QTable table = QTableCodec.readJson(writeJson());
+    for (QuantizedQTable.Encoding encoding : QuantizedQTable.Encoding.values()) {
+      QuantizedQTable quantized = QuantizedQTable.quantize(table, encoding);
+      Path binary = Files.createTempFile("qtable_codec", QTableCodec.BINARY_EXTENSION);
+      QTableCodec.writeBinary(quantized, binary);
+
+      PolicyTable loaded = QTableCodec.readPolicyTable(binary);
+      assertTrue(loaded instanceof QuantizedQTable, encoding + " should stay quantized");
+      assertEquals(encoding, ((QuantizedQTable) loaded).getEncoding());
+      assertEquals(2, loaded.size(), encoding + " table should hold both states");
+      assertFalse(loaded.contains(20, 5, 1), "Missing state should stay unknown");
+      int state = QTable.stateIndex(18, 10, 1);
+      assertEquals(quantized.getQ(state, QTable.HIT), loaded.getQ(state, QTable.HIT), 0.0);
+
+      QTable decoded = QTableCodec.readBinary(binary);
+      double hit = decoded.getQ(13, 2, 0, QTable.HIT);
+      double stand = decoded.getQ(13, 2, 0, QTable.STAND);
+      assertTrue(hit > stand, encoding + " should keep the preferred action");
+      assertEquals(0.6, hit - stand, quantized.getScale(), encoding + " should keep the margin");
+    }
+  }
+
+  /**
+   * Tests that loading a binary file for advising keeps its stored encoding.
+   */
+  @Test
+  void testLoadPolicyKeepsEncoding() throws IOException {
+    QTable table = QTableCodec.readJson(writeJson());
+    Path binary = Files.createTempFile("qtable_codec", QTableCodec.BINARY_EXTENSION);
+    QTableCodec.writeBinary(QuantizedQTable.quantize(table, QuantizedQTable.Encoding.Q8), binary);
+    assertTrue(QTableCodec.loadPolicy(binary.toString()) instanceof QuantizedQTable);
+
+    QTableCodec.writeBinary(table, binary);
+    assertTrue(QTableCodec.loadPolicy(binary.toString()) instanceof QTable);
+  }
+
+  /**
+   * Tests that concurrent writers of one binary file each move a complete file into place.
+   */
+  @Test
+  void testConcurrentBinaryWrites() throws Exception {
+    QTable table = QTableCodec.readJson(writeJson());
+    Path binary = Files.createTempFile("qtable_codec", QTableCodec.BINARY_EXTENSION);
+    Thread[] writers = new Thread[4];
+    IOException[] failure = new IOException[1];
+    for (int i = 0; i < writers.length; i++) {
+      writers[i] = new Thread(() -> {
+        try {
+          for (int round = 0; round < 50; round++) {
+            QTableCodec.writeBinary(table, binary);
+          }
+        } catch (IOException e) {
+          failure[0] = e;
+        }
+      });
+      writers[i].start();
+    }
+    for (Thread writer : writers) {
+      writer.join();
+    }
+    assertNull(failure[0], "No writer should fail");
+    assertEquals(2, QTableCodec.readBinary(binary).size(), "The final file should be complete");
+    try (java.util.stream.Stream<Path> files = Files.list(binary.getParent())) {
+      assertEquals(0, files.filter(f -> f.getFileName().toString()
+          .startsWith(binary.getFileName().toString()) && f.toString().endsWith(".tmp")).count(),
+          "Temporary files should be cleaned up");
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for QTable.
+ * Verifies state indexing, stored values and handling of unknown states.
+ */
+public class QTableTest {
+
+  /**
+   * Tests that every in-range state maps to a distinct slot
+   * and out-of-range states are rejected.
+   */
+  @Test
+  void testStateIndex() {
+    assertEquals(0, QTable.stateIndex(0, 1, 0), "First state should map to slot 0");
+    assertEquals(QTable.STATE_COUNT - 1, QTable.stateIndex(QTable.MAX_TOTAL, 10, 1),
+        "Last state should map to the last slot");
+    assertNotEquals(QTable.stateIndex(18, 10, 0), QTable.stateIndex(18, 10, 1),
+        "Usable ace should select a different slot");
+    assertEquals(-1, QTable.stateIndex(32, 10, 0), "Total above range should be rejected");
+    assertEquals(-1, QTable.stateIndex(18, 0, 0), "Dealer card below 1 should be rejected");
+    assertEquals(-1, QTable.stateIndex(18, 11, 0), "Dealer card above 10 should be rejected");
+  }
+
+  /**
+   * Tests that values put through the builder can be read back.
+   */
+  @Test
+  void testBuilderStoresValues() {
+    QTable table = new QTable.Builder().put(18, 10, 1, 0.4, 0.6).build();
+    assertEquals(1, table.size(), "Table should hold one state");
+    assertTrue(table.contains(18, 10, 1), "Stored state should be known");
+    assertEquals(0.4, table.getQ(18, 10, 1, QTable.HIT), 1e-12);
+    assertEquals(0.6, table.getQ(18, 10, 1, QTable.STAND), 1e-12);
+  }
+
+  /**
+   * Tests that states never stored are reported as unknown.
+   */
+  @Test
+  void testUnknownStates() {
+    QTable table = QTable.empty();
+    assertEquals(0, table.size(), "Empty table should hold no states");
+    assertFalse(table.contains(13, 2, 0), "Empty table should not contain any state");
+    assertTrue(Double.isNaN(table.getQ(13, 2, 0, QTable.HIT)), "Unknown state should read as NaN");
+    assertTrue(Double.isNaN(table.getQ(99, 2, 0, QTable.HIT)), "Out-of-range state should read as NaN");
+  }
+}
@@ -0,0 +1,39 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for the QValueStore implementations.
+ * Verifies that every variant applies the Q-learning step identically.
+ */
+public class QValueStoreTest {
+
+  /**
+   * Tests that all stores start at zero and apply q += alpha * (target - q).
+   */
+  @Test
+  void testUpdateRuleMatchesAcrossStores() {
+    QValueStore[] stores = {
+        QValueStore.plain(8), QValueStore.striped(8, 3), QValueStore.lockFree(8)
+    };
+    for (QValueStore store : stores) {
+      assertEquals(8, store.size());
+      assertEquals(0.0, store.get(5), "Stores should start at zero");
+      store.update(5, 1.0, 0.1);
+      assertEquals(0.1, store.get(5), 1e-12);
+      store.update(5, -1.0, 0.5);
+      assertEquals(-0.45, store.get(5), 1e-12);
+      assertEquals(0.0, store.get(4), "Other indices should be untouched");
+    }
+  }
+
+  /**
+   * Tests that a non-positive stripe count is rejected.
+   */
+  @Test
+  void testInvalidStripeCountRejected() {
+    assertThrows(IllegalArgumentException.class, () -> QValueStore.striped(8, 0));
+  }
+}
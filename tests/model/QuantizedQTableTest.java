@@ -0,0 +1,88 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for QuantizedQTable.
+ * Verifies that every encoding keeps the advised actions, stays within its error bound
+ * and shrinks the stored values.
+ */
+public class QuantizedQTableTest {
+
+  /**
+   * Tests that an advisor gives the same advice for every state from each encoding.
+   */
+  @Test
+  void testAdviceUnchanged() {
+    QTable exact = StrategySolver.solve();
+    AIAdvisor reference = new AIAdvisor(exact);
+    for (QuantizedQTable.Encoding encoding : QuantizedQTable.Encoding.values()) {
+      AIAdvisor advisor = new AIAdvisor(QuantizedQTable.quantize(exact, encoding));
+      for (int total = 0; total <= QTable.MAX_TOTAL; total++) {
+        for (int dealerCard = 1; dealerCard <= QTable.DEALER_SLOTS; dealerCard++) {
+          for (int usableAce = 0; usableAce < QTable.ACE_SLOTS; usableAce++) {
+            assertEquals(reference.getOptimalAction(total, dealerCard, usableAce),
+                advisor.getOptimalAction(total, dealerCard, usableAce),
+                encoding + " advice at (" + total + ", " + dealerCard + ", " + usableAce + ")");
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Tests that decoded values stay within the reported error, which is about half a step.
+   */
+  @Test
+  void testErrorWithinReportedBound() {
+    QTable exact = StrategySolver.solve();
+    for (QuantizedQTable.Encoding encoding : QuantizedQTable.Encoding.values()) {
+      QuantizedQTable quantized = QuantizedQTable.quantize(exact, encoding);
+      assertTrue(quantized.getMaxError() <= quantized.getScale() * 1.5,
+          encoding + " error should stay near half a step: " + quantized);
+      assertTrue(quantized.getMeanError() <= quantized.getMaxError());
+      for (int state = 0; state < QTable.STATE_COUNT; state++) {
+        double hit = exact.getQ(state, QTable.HIT);
+        double stand = exact.getQ(state, QTable.STAND);
+        if (Double.isNaN(hit)) {
+          assertTrue(Double.isNaN(quantized.getQ(state, QTable.HIT)), "Unknown state should stay unknown");
+          continue;
+        }
+        double expected = encoding == QuantizedQTable.Encoding.POLICY ? hit - stand : hit;
+        assertEquals(expected, quantized.getQ(state, QTable.HIT), quantized.getMaxError() + 1e-12);
+      }
+    }
+  }
+
+  /**
+   * Tests that the stored values are 4, 8 and 16 times smaller than doubles.
+   */
+  @Test
+  void testMemoryFootprint() {
+    QTable exact = StrategySolver.solve();
+    long full = exact.memoryBytes();
+    assertEquals(full / 4, QuantizedQTable.quantize(exact, QuantizedQTable.Encoding.Q16).memoryBytes());
+    assertEquals(full / 8, QuantizedQTable.quantize(exact, QuantizedQTable.Encoding.Q8).memoryBytes());
+    assertEquals(full / 16, QuantizedQTable.quantize(exact, QuantizedQTable.Encoding.POLICY).memoryBytes());
+  }
+
+  /**
+   * Tests that a margin too small for one step still keeps its preferred action.
+   */
+  @Test
+  void testTinyMarginKeepsAction() {
+    QTable table = new QTable.Builder()
+        .put(20, 10, 0, -1.0, 1.0)
+        .put(12, 4, 0, 0.1000001, 0.1)
+        .build();
+    for (QuantizedQTable.Encoding encoding : QuantizedQTable.Encoding.values()) {
+      QuantizedQTable quantized = QuantizedQTable.quantize(table, encoding);
+      int state = QTable.stateIndex(12, 4, 0);
+      assertTrue(quantized.getQ(state, QTable.HIT) > quantized.getQ(state, QTable.STAND),
+          encoding + " should still prefer hitting");
+      assertEquals(table.size(), quantized.toQTable().size());
+    }
+  }
+}
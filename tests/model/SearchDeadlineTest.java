@@ -0,0 +1,37 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for SearchDeadline.
+ * Verifies when the clock is read and that expiry is sticky.
+ */
+public class SearchDeadlineTest {
+
+  /**
+   * Tests that a deadline already in the past is noticed on the first expansion.
+   */
+  @Test
+  void testPassedDeadlineExpiresOnFirstCheck() {
+    SearchDeadline deadline = new SearchDeadline(System.nanoTime() - 1);
+    assertFalse(deadline.isExpired(), "Nothing is checked before the first expansion");
+    assertTrue(deadline.checkExpired(), "The first expansion should read the clock");
+    assertTrue(deadline.checkExpired(), "Expiry should stick");
+    assertTrue(deadline.isExpired());
+  }
+
+  /**
+   * Tests that searches without a deadline, or with time left, keep going.
+   */
+  @Test
+  void testOpenDeadlinesDoNotExpire() {
+    SearchDeadline none = new SearchDeadline(Long.MAX_VALUE);
+    SearchDeadline later = new SearchDeadline(System.nanoTime() + 60_000_000_000L);
+    for (int i = 0; i < 1000; i++) {
+      assertFalse(none.checkExpired());
+      assertFalse(later.checkExpired());
+    }
+  }
+}
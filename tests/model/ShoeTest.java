@@ -0,0 +1,122 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for the Shoe class.
+ * Validates multi-deck contents, cut-card handling and in-place reshuffling.
+ */
+public class ShoeTest {
+
+  /**
+   * Tests that a multi-deck shoe deals every card of every deck exactly once per pass.
+   */
+  @Test
+  void testShoeContainsEveryDeck() {
+    Shoe shoe = new Shoe(6, 1.0, new SplittableRandom(42));
+    assertEquals(312, shoe.size(), "Six decks should hold 312 cards");
+
+    Map<String, Integer> counts = new HashMap<>();
+    for (int i = 0; i < shoe.size(); i++) {
+      counts.merge(shoe.drawCard().toString(), 1, Integer::sum);
+    }
+    assertEquals(52, counts.size(), "Every card face should appear");
+    assertTrue(counts.values().stream().allMatch(c -> c == 6), "Each face should appear once per deck");
+    assertEquals(0, shoe.remaining(), "Shoe should be exhausted after a full pass");
+  }
+
+  /**
+   * Tests that the cut card triggers a reshuffle only once it has come out.
+   */
+  @Test
+  void testCutCardTriggersReshuffle() {
+    Shoe shoe = new Shoe(1, 0.5, new SplittableRandom(7));
+    for (int i = 0; i < 25; i++) {
+      shoe.drawCard();
+    }
+    assertFalse(shoe.isCutCardReached(), "Cut card should still be in the shoe");
+    assertFalse(shoe.shuffleIfCutCardReached(), "Shoe should not reshuffle before the cut card");
+
+    shoe.drawCard();
+    assertTrue(shoe.isCutCardReached(), "Cut card should be out after half the deck");
+    assertTrue(shoe.shuffleIfCutCardReached(), "Shoe should reshuffle once the cut card is out");
+    assertEquals(52, shoe.remaining(), "Reshuffle should return every card to the shoe");
+  }
+
+  /**
+   * Tests that the same seed produces the same dealing order.
+   */
+  @Test
+  void testSeededShoeIsReproducible() {
+    Shoe a = new Shoe(2, 0.75, new SplittableRandom(123));
+    Shoe b = new Shoe(2, 0.75, new SplittableRandom(123));
+    for (int i = 0; i < 104; i++) {
+      assertEquals(a.drawCard().toString(), b.drawCard().toString(), "Seeded shoes should match");
+    }
+  }
+
+  /**
+   * Tests that invalid configurations are rejected.
+   */
+  @Test
+  void testInvalidConfigurationRejected() {
+    assertThrows(IllegalArgumentException.class, () -> new Shoe(0));
+    assertThrows(IllegalArgumentException.class, () -> new Shoe(9));
+    assertThrows(IllegalArgumentException.class, () -> new Shoe(1, 0.0, new SplittableRandom()));
+  }
+
+  /**
+   * Tests that remaining rank counts follow draws and reset on shuffle.
+   */
+  @Test
+  void testRemainingRankCounts() {
+    Shoe shoe = new Shoe(2, 0.75, new SplittableRandom(5));
+    int[] counts = shoe.remainingRankCounts(new int[11]);
+    assertEquals(8, counts[1], "Two decks hold eight aces");
+    assertEquals(32, counts[10], "Two decks hold 32 ten-value cards");
+
+    int value = Card.gameValueOf(shoe.drawCode());
+    assertEquals(counts[value] - 1, shoe.remainingRankCounts(new int[11])[value],
+        "Drawing should remove the card from its rank");
+
+    shoe.shuffle();
+    assertEquals(32, shoe.remainingRankCounts(new int[11])[10], "Shuffle should restore every rank");
+  }
+
+  /**
+   * Tests that running out mid-round reshuffles only the discards, never the cards in play.
+   */
+  @Test
+  void testExhaustedShoeKeepsRoundCardsOut() {
+    Shoe shoe = new Shoe(1, 1.0, new SplittableRandom(11));
+    for (int i = 0; i < 40; i++) {
+      shoe.drawCode();
+    }
+    assertFalse(shoe.shuffleIfCutCardReached(), "A new round should start without a reshuffle");
+
+    Set<Integer> dealt = new HashSet<>();
+    for (int i = 0; i < 12; i++) {
+      dealt.add(shoe.drawCode());
+    }
+    assertEquals(0, shoe.remaining(), "The round should have emptied the shoe");
+
+    int[] counts = new int[11];
+    for (int i = 0; i < 40; i++) {
+      int code = shoe.drawCode();
+      assertTrue(dealt.add(code), "Card " + Card.of(code) + " is already on the table");
+      if (i == 0) {
+        shoe.remainingRankCounts(counts);
+      }
+    }
+    assertEquals(52, dealt.size(), "Every card should be dealt once this round");
+    assertEquals(39, java.util.Arrays.stream(counts).sum(), "Rank counts should cover only the discards");
+  }
+}
@@ -0,0 +1,89 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for SimulationEngine and SimulationResult.
+ * Verifies outcome bookkeeping, reproducibility and policy handling.
+ */
+public class SimulationEngineTest {
+
+  private static SimulationEngine engine(long seed, SimulationEngine.Policy policy) {
+    return new SimulationEngine(new Shoe(6, 0.75, new SplittableRandom(seed)), policy);
+  }
+
+  /**
+   * Tests that every simulated hand is counted exactly once.
+   */
+  @Test
+  void testEveryHandIsRecorded() {
+    SimulationResult result = engine(1, SimulationEngine.DEALER_RULE).run(50_000);
+    assertEquals(50_000, result.getHands(), "Every hand should be recorded");
+    assertEquals(result.getHands(), result.getWins() + result.getLosses() + result.getPushes());
+    assertTrue(result.getNaturals() <= result.getWins(), "Naturals are a subset of wins");
+    assertTrue(result.getPlayerBusts() <= result.getLosses(), "Busts are a subset of losses");
+  }
+
+  /**
+   * Tests that the same seed reproduces the same results.
+   */
+  @Test
+  void testSeededRunsAreReproducible() {
+    SimulationResult a = engine(99, SimulationEngine.DEALER_RULE).run(20_000);
+    SimulationResult b = engine(99, SimulationEngine.DEALER_RULE).run(20_000);
+    assertEquals(a.getWins(), b.getWins());
+    assertEquals(a.getLosses(), b.getLosses());
+    assertEquals(a.getPushes(), b.getPushes());
+  }
+
+  /**
+   * Tests that a player who never hits never busts,
+   * and that playing like the dealer has a small negative edge.
+   */
+  @Test
+  void testPolicyDrivesPlayerDecisions() {
+    SimulationResult standAll = engine(5, (t, d, a) -> false).run(50_000);
+    assertEquals(0, standAll.getPlayerBusts(), "A player who always stands cannot bust");
+
+    SimulationResult dealerRule = engine(5, SimulationEngine.DEALER_RULE).run(200_000);
+    assertTrue(dealerRule.getExpectedValue() < 0 && dealerRule.getExpectedValue() > -0.15,
+        "Mimicking the dealer should lose a few percent per hand");
+  }
+
+  /**
+   * Tests that table policies follow the Q-values and fall back for unknown states.
+   */
+  @Test
+  void testTablePolicy() {
+    QTable table = new QTable.Builder()
+        .put(12, 6, 0, -0.3, -0.1)
+        .put(16, 10, 0, -0.5, -0.6)
+        .build();
+    SimulationEngine.Policy policy = SimulationEngine.tablePolicy(table);
+    assertFalse(policy.shouldHit(12, 6, 0), "Higher stand value should stand");
+    assertTrue(policy.shouldHit(16, 10, 0), "Higher hit value should hit");
+    assertTrue(policy.shouldHit(8, 10, 0), "Unknown low total should fall back to hitting");
+    assertFalse(policy.shouldHit(19, 10, 0), "Unknown high total should fall back to standing");
+  }
+
+  /**
+   * Tests merging and expected value of results.
+   */
+  @Test
+  void testMergeAndExpectedValue() {
+    SimulationResult a = new SimulationResult();
+    a.recordWin(true, false);
+    a.recordLoss(true);
+    SimulationResult b = new SimulationResult();
+    b.recordWin(false, true);
+    b.recordPush();
+    a.merge(b);
+    assertEquals(4, a.getHands());
+    assertEquals(0.25, a.getExpectedValue(), 1e-12, "(2 wins - 1 loss) / 4 hands");
+    assertEquals(0.0, new SimulationResult().getExpectedValue(), "Empty result has zero EV");
+  }
+}
@@ -0,0 +1,68 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for StrategySolver.
+ * Verifies the solved table against well-known basic strategy decisions.
+ */
+public class StrategySolverTest {
+
+  private static boolean hits(QTable table, int total, int upcard, int ace) {
+    return table.getQ(total, upcard, ace, QTable.HIT) > table.getQ(total, upcard, ace, QTable.STAND);
+  }
+
+  /**
+   * Tests that the table covers exactly the reachable playing states.
+   */
+  @Test
+  void testReachableStatesOnly() {
+    QTable table = StrategySolver.solve();
+    assertEquals((18 + 10) * 10, table.size(), "Hard 4-21 and soft 12-21 against 10 upcards");
+    assertFalse(table.contains(24, 9, 0), "Bust states should not be emitted");
+    assertFalse(table.contains(11, 5, 1), "Soft 11 is unreachable");
+  }
+
+  /**
+   * Tests well-known stand-on-17 hit/stand decisions.
+   */
+  @Test
+  void testBasicStrategyDecisions() {
+    QTable table = StrategySolver.solve();
+    assertTrue(hits(table, 11, 10, 0), "Hit hard 11 against 10");
+    assertTrue(hits(table, 12, 2, 0), "Hit hard 12 against 2");
+    assertFalse(hits(table, 12, 4, 0), "Stand hard 12 against 4");
+    assertFalse(hits(table, 13, 2, 0), "Stand hard 13 against 2");
+    assertTrue(hits(table, 16, 10, 0), "Hit hard 16 against 10");
+    assertFalse(hits(table, 17, 1, 0), "Stand hard 17 against an ace");
+    assertTrue(hits(table, 18, 9, 1), "Hit soft 18 against 9");
+    assertFalse(hits(table, 18, 7, 1), "Stand soft 18 against 7");
+    assertFalse(hits(table, 19, 10, 1), "Stand soft 19 against 10");
+  }
+
+  /**
+   * Tests that stand EVs agree with the dealer outcome calculator.
+   */
+  @Test
+  void testStandValuesMatchDealerOutcomes() {
+    QTable table = StrategySolver.solve();
+    assertEquals(DealerOutcomeCalculator.standEv(18, 6), table.getQ(18, 6, 0, QTable.STAND), 1e-12);
+  }
+
+  /**
+   * Tests that disagreements between tables are counted per state.
+   */
+  @Test
+  void testCountDisagreements() {
+    QTable exact = StrategySolver.solve();
+    assertEquals(0, StrategySolver.countDisagreements(exact, exact), "A table agrees with itself");
+
+    QTable wrong = new QTable.Builder()
+        .put(20, 10, 0, 0.5, -0.5)   // hits hard 20: wrong
+        .put(11, 10, 0, 0.5, -0.5)   // hits hard 11: right
+        .build();
+    assertEquals(1, StrategySolver.countDisagreements(exact, wrong));
+  }
+}
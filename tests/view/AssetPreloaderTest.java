@@ -0,0 +1,68 @@
+package view;
+
+import model.Card;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for AssetPreloader.
+ * Verifies that preloading runs once, covers every displayed image and signals readiness.
+ */
+public class AssetPreloaderTest {
+
+  /**
+   * Tests that repeated starts share one preload that covers both card sizes and the avatars.
+   */
+  @Test
+  void testStartIsSharedAndCompletes() throws Exception {
+    CompletableFuture<Void> first = AssetPreloader.start();
+    assertSame(first, AssetPreloader.start(), "Later calls should return the same preload");
+    assertSame(first, AssetPreloader.getFuture());
+
+    first.get(60, TimeUnit.SECONDS);
+    int expected = 2 * (Card.DISTINCT_CARDS + 1) + 2;
+    assertEquals(expected, AssetPreloader.getTotalCount(), "Faces and back at two sizes plus avatars");
+    assertEquals(expected, AssetPreloader.getLoadedCount(), "Every image should be loaded");
+  }
+
+  /**
+   * Tests that a task that throws still counts as finished, so progress reaches the total.
+   */
+  @Test
+  void testFailedTasksStillCounted() {
+    AtomicInteger finished = new AtomicInteger();
+    List<Runnable> tasks = List.of(
+        () -> { },
+        () -> {
+          throw new IllegalStateException("decoder failed");
+        },
+        () -> {
+          throw new OutOfMemoryError("simulated");
+        });
+    CompletableFuture<Void> all = AssetPreloader.runAll(tasks, Runnable::run, finished);
+    assertTrue(all.isCompletedExceptionally(), "A failed task should fail the combined future");
+    assertEquals(tasks.size(), finished.get(), "Every task should be counted");
+  }
+
+  /**
+   * Tests that actions queued for readiness run on the Event Dispatch Thread.
+   */
+  @Test
+  void testWhenReadyRunsOnEventDispatchThread() throws Exception {
+    CountDownLatch ran = new CountDownLatch(1);
+    boolean[] onEdt = new boolean[1];
+    AssetPreloader.whenReady(() -> {
+      onEdt[0] = javax.swing.SwingUtilities.isEventDispatchThread();
+      ran.countDown();
+    });
+    assertTrue(ran.await(60, TimeUnit.SECONDS), "Action should run once preloading finishes");
+    assertTrue(onEdt[0], "Action should run on the Event Dispatch Thread");
+  }
+}
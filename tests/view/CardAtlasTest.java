@@ -0,0 +1,229 @@
+package view;
+
+import model.Card;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for CardAtlas.
+ * Verifies slot order, the file round trip and rejection of damaged files.
+ */
+public class CardAtlasTest {
+
+  private Path directory;
+
+  /**
+   * Writes a small solid-colour PNG for every card face, the back and one extra image.
+   */
+  @BeforeEach
+  void setUp() throws IOException {
+    directory = Files.createTempDirectory("card_atlas");
+    for (int code = 0; code < Card.DISTINCT_CARDS; code++) {
+      writeImage(Card.of(code).getImageFileName(), colorFor(code));
+    }
+    writeImage(Card.BACK_IMAGE_FILE_NAME, Color.BLUE);
+    writeImage("back2.png", Color.GREEN);
+  }
+
+  private static Color colorFor(int code) {
+    return new Color(code * 4, 255 - code * 4, 0);
+  }
+
+  private void writeImage(String name, Color color) throws IOException {
+    BufferedImage image = new BufferedImage(40, 60, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    g.setColor(color);
+    g.fillRect(0, 0, 40, 60);
+    g.dispose();
+    ImageIO.write(image, "png", directory.resolve(name).toFile());
+  }
+
+  /**
+   * Tests that faces come first in code order, followed by the back and other images.
+   */
+  @Test
+  void testSourceOrder() throws IOException {
+    List<Path> sources = CardAtlas.sourceImages(directory);
+    assertEquals(Card.DISTINCT_CARDS + 2, sources.size());
+    assertEquals(Card.of(0).getImageFileName(), sources.get(0).getFileName().toString());
+    assertEquals(Card.BACK_IMAGE_FILE_NAME,
+        sources.get(Card.ATLAS_BACK_INDEX).getFileName().toString());
+    assertEquals("back2.png", sources.get(Card.ATLAS_BACK_INDEX + 1).getFileName().toString());
+  }
+
+  /**
+   * Tests that a missing face is reported rather than packed out of order.
+   */
+  @Test
+  void testMissingFaceRejected() throws IOException {
+    Files.delete(directory.resolve(Card.of(7).getImageFileName()));
+    assertThrows(IOException.class, () -> CardAtlas.sourceImages(directory));
+  }
+
+  /**
+   * Tests that slots can be found by card, by file name and by index.
+   */
+  @Test
+  void testBuildSlots() throws IOException {
+    CardAtlas atlas = CardAtlas.build(CardAtlas.sourceImages(directory), 20, 30);
+    assertEquals(Card.DISTINCT_CARDS + 2, atlas.size());
+    assertEquals(20, atlas.getCellWidth());
+    assertEquals(30, atlas.getCellHeight());
+
+    Card card = Card.of(13);
+    BufferedImage face = atlas.image(card);
+    assertSame(face, atlas.image(card.getImageFileName()), "Lookups should share one slot");
+    assertSame(face, atlas.image(card.getAtlasIndex()));
+    assertEquals(20, face.getWidth());
+    assertEquals(30, face.getHeight());
+    assertEquals(colorFor(13).getRGB(), face.getRGB(10, 15));
+    assertEquals(Color.BLUE.getRGB(), atlas.image(Card.ATLAS_BACK_INDEX).getRGB(10, 15));
+    assertNull(atlas.image("missing.png"));
+  }
+
+  /**
+   * Tests that a written atlas reads back with the same names and pixels.
+   */
+  @Test
+  void testWriteReadRoundTrip() throws IOException {
+    CardAtlas built = CardAtlas.build(CardAtlas.sourceImages(directory), 20, 30);
+    Path file = CardAtlas.atlasPathFor(directory, 20, 30);
+    built.write(file);
+
+    CardAtlas read = CardAtlas.read(file);
+    assertEquals(built.size(), read.size());
+    assertEquals(20, read.getCellWidth());
+    assertEquals(30, read.getCellHeight());
+    for (int slot = 0; slot < built.size(); slot++) {
+      assertEquals(built.image(slot).getRGB(5, 7), read.image(slot).getRGB(5, 7),
+          "Slot " + slot + " should keep its pixels");
+    }
+    assertNotNull(read.image("back2.png"));
+  }
+
+  /**
+   * Tests that an atlas is reused while its directory is unchanged, re-stamped when the
+   * directory changed without any newer image, and rebuilt when an image is replaced.
+   */
+  @Test
+  void testLoadRebuildsOnlyWhenImagesChange() throws IOException {
+    Path file = CardAtlas.atlasPathFor(directory, 20, 30);
+    assertNotNull(CardAtlas.loadOrBuild(directory, 20, 30));
+    assertTrue(Files.isRegularFile(file), "A missing atlas should be written");
+    FileTime marker = FileTime.fromMillis(1_000_000L);
+    Files.setLastModifiedTime(file, marker);
+
+    assertNotNull(CardAtlas.loadOrBuild(directory, 20, 30));
+    assertEquals(marker, Files.getLastModifiedTime(file), "A current atlas should not be rewritten");
+
+    Files.setLastModifiedTime(directory, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+    assertNotNull(CardAtlas.loadOrBuild(directory, 20, 30));
+    assertNotEquals(marker, Files.getLastModifiedTime(file), "The new directory time should be recorded");
+    Files.setLastModifiedTime(file, marker);
+    assertNotNull(CardAtlas.loadOrBuild(directory, 20, 30));
+    assertEquals(marker, Files.getLastModifiedTime(file), "Once re-stamped, the atlas should be reused");
+
+    Path replacement = directory.resolve("replacement.tmp");
+    writeImage(replacement.getFileName().toString(), Color.MAGENTA);
+    Files.setLastModifiedTime(replacement, FileTime.fromMillis(System.currentTimeMillis() + 120_000));
+    Files.move(replacement, directory.resolve(Card.of(7).getImageFileName()),
+        StandardCopyOption.REPLACE_EXISTING);
+    Files.setLastModifiedTime(directory, FileTime.fromMillis(System.currentTimeMillis() + 120_000));
+    CardAtlas rebuilt = CardAtlas.loadOrBuild(directory, 20, 30);
+    assertEquals(Color.MAGENTA.getRGB(), rebuilt.image(7).getRGB(10, 15), "A replaced image should be repacked");
+    assertEquals(Color.MAGENTA.getRGB(), CardAtlas.read(file).image(7).getRGB(10, 15));
+  }
+
+  /**
+   * Tests that a valid atlas is still used when the card images cannot be listed.
+   */
+  @Test
+  void testLoadKeepsAtlasWhenImagesMissing() throws IOException {
+    CardAtlas built = CardAtlas.loadOrBuild(directory, 20, 30);
+    Files.delete(directory.resolve(Card.of(7).getImageFileName()));
+    Files.setLastModifiedTime(directory, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+    CardAtlas read = CardAtlas.loadOrBuild(directory, 20, 30);
+    assertNotNull(read, "A valid atlas should not need its card images");
+    assertEquals(built.size(), read.size());
+    assertEquals(colorFor(7).getRGB(), read.image(7).getRGB(10, 15));
+  }
+
+  /**
+   * Tests that concurrent writers of one atlas do not collide on a temporary file.
+   */
+  @Test
+  void testConcurrentWrites() throws Exception {
+    CardAtlas atlas = CardAtlas.build(CardAtlas.sourceImages(directory), 20, 30);
+    Path file = CardAtlas.atlasPathFor(directory, 20, 30);
+    Thread[] writers = new Thread[4];
+    IOException[] failure = new IOException[1];
+    for (int i = 0; i < writers.length; i++) {
+      writers[i] = new Thread(() -> {
+        try {
+          for (int round = 0; round < 20; round++) {
+            atlas.write(file);
+          }
+        } catch (IOException e) {
+          failure[0] = e;
+        }
+      });
+      writers[i].start();
+    }
+    for (Thread writer : writers) {
+      writer.join();
+    }
+    assertNull(failure[0], "No writer should fail");
+    assertEquals(atlas.size(), CardAtlas.read(file).size(), "The final file should be complete");
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals(0, files.filter(f -> f.toString().endsWith(".tmp")).count(),
+          "Temporary files should be cleaned up");
+    }
+  }
+
+  /**
+   * Tests that damaged or foreign files are rejected.
+   */
+  @Test
+  void testCorruptFileRejected() throws IOException {
+    Path file = CardAtlas.atlasPathFor(directory, 20, 30);
+    CardAtlas.build(CardAtlas.sourceImages(directory), 20, 30).write(file);
+
+    byte[] bytes = Files.readAllBytes(file);
+    bytes[bytes.length - 1] ^= 0x01;
+    Files.write(file, bytes);
+    assertThrows(IOException.class, () -> CardAtlas.read(file), "A flipped pixel should fail the checksum");
+
+    ByteBuffer.wrap(bytes).putInt(0, 0);
+    Files.write(file, bytes);
+    assertThrows(IOException.class, () -> CardAtlas.read(file), "A wrong magic number should be rejected");
+
+    Files.write(file, new byte[10]);
+    assertThrows(IOException.class, () -> CardAtlas.read(file), "A truncated header should be rejected");
+  }
+
+  /**
+   * Tests that only the displayed card sizes are served from an atlas.
+   */
+  @Test
+  void testLookupLimitedToDisplayedSizes() {
+    assertTrue(CardAtlas.hasAtlas(GamePanelBuilder.CARD_WIDTH, GamePanelBuilder.CARD_HEIGHT));
+    assertTrue(CardAtlas.hasAtlas(TrainingModeView.CARD_WIDTH, TrainingModeView.CARD_HEIGHT));
+    assertFalse(CardAtlas.hasAtlas(2 * GamePanelBuilder.CARD_WIDTH, 2 * GamePanelBuilder.CARD_HEIGHT));
+    assertNull(CardAtlas.lookup("assets/dealer_avatar.png",
+        GamePanelBuilder.CARD_WIDTH, GamePanelBuilder.CARD_HEIGHT), "Only card images are packed");
+  }
+}
@@ -0,0 +1,164 @@
+package view;
+
+import model.Card;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for CardTableComponent.
+ * Verifies hand snapshots, dirty-rectangle repaints and clipped painting.
+ */
+public class CardTableComponentTest {
+
+  private CardTableComponent table;
+  private List<Rectangle> repaints;
+
+  @BeforeEach
+  void setUp() {
+    repaints = new ArrayList<>();
+    table = new CardTableComponent(100, 145, 5, 5) {
+      @Override
+      public void repaint(long tm, int x, int y, int width, int height) {
+        repaints.add(new Rectangle(x, y, width, height));
+      }
+    };
+    table.setBounds(0, 0, 1000, 800);
+    table.setFaceDown(CardTableComponent.DEALER, 2);
+    table.setFaceDown(CardTableComponent.PLAYER, 2);
+    repaints.clear();
+  }
+
+  /**
+   * Tests that size and border changes repaint the whole table, since they move every card.
+   */
+  @Test
+  void testGeometryChangesRepaintEverything() {
+    table.setBounds(0, 0, 900, 800);
+    assertTrue(repaints.contains(new Rectangle(0, 0, 900, 800)), "A resize should repaint everything");
+
+    repaints.clear();
+    table.setBounds(10, 10, 900, 800);
+    assertTrue(repaints.isEmpty(), "A move alone leaves the cards in place");
+
+    table.setBorder(BorderFactory.createEmptyBorder(20, 0, 0, 0));
+    assertTrue(repaints.contains(new Rectangle(0, 0, 900, 800)), "A new border should repaint everything");
+  }
+
+  /**
+   * Tests that replacing a card the hand does not have changes nothing.
+   */
+  @Test
+  void testSetCardOutOfRangeIgnored() {
+    table.setCard(CardTableComponent.DEALER, 5, new Card("Hearts", 1));
+    table.setCard(CardTableComponent.DEALER, -1, new Card("Hearts", 1));
+    assertEquals(2, table.getCardCount(CardTableComponent.DEALER));
+    assertEquals(AssetPreloader.CARD_BACK, table.getCardImage(CardTableComponent.DEALER, 1));
+    assertTrue(repaints.isEmpty());
+  }
+
+  /**
+   * Tests that hands are painted rather than added as child components.
+   */
+  @Test
+  void testHandsHaveNoChildComponents() {
+    table.setHand(CardTableComponent.PLAYER, List.of(new Card("Hearts", 1), new Card("Spades", 13)));
+    assertEquals(2, table.getCardCount(CardTableComponent.PLAYER));
+    assertEquals(0, table.getComponentCount(), "Cards should not be components");
+  }
+
+  /**
+   * Tests that the last cards of a hand can be shown face down and turned over later.
+   */
+  @Test
+  void testFaceDownAndReveal() {
+    Card up = new Card("Diamonds", 7);
+    Card hole = new Card("Clubs", 12);
+    table.setHand(CardTableComponent.DEALER, List.of(up, hole), 1);
+    assertEquals(up.getImagePath(), table.getCardImage(CardTableComponent.DEALER, 0));
+    assertEquals(AssetPreloader.CARD_BACK, table.getCardImage(CardTableComponent.DEALER, 1));
+
+    table.setCard(CardTableComponent.DEALER, 1, hole);
+    assertEquals(hole.getImagePath(), table.getCardImage(CardTableComponent.DEALER, 1));
+
+    table.setCard(CardTableComponent.DEALER, 5, hole);
+    assertEquals(2, table.getCardCount(CardTableComponent.DEALER), "Out-of-range reveals are ignored");
+  }
+
+  /**
+   * Tests that turning over one card repaints only that card, and unchanged hands nothing.
+   */
+  @Test
+  void testRevealRepaintsOnlyThatCard() {
+    Card up = new Card("Diamonds", 7);
+    Card hole = new Card("Clubs", 12);
+    table.setHand(CardTableComponent.DEALER, List.of(up, hole), 1);
+    repaints.clear();
+
+    table.setCard(CardTableComponent.DEALER, 1, hole);
+    assertEquals(1, repaints.size());
+    assertEquals(table.cardBounds(CardTableComponent.DEALER, 1), repaints.get(0));
+
+    table.setHand(CardTableComponent.DEALER, List.of(up, hole));
+    assertEquals(1, repaints.size(), "An unchanged hand should not repaint");
+  }
+
+  /**
+   * Tests that a hit repaints the player's row and leaves the dealer's hand alone.
+   */
+  @Test
+  void testHitRepaintsOnlyThatRow() {
+    List<Card> hand = new ArrayList<>(List.of(new Card("Hearts", 2), new Card("Spades", 3)));
+    table.setHand(CardTableComponent.PLAYER, hand);
+    repaints.clear();
+
+    hand.add(new Card("Clubs", 4));
+    table.setHand(CardTableComponent.PLAYER, hand);
+    assertEquals(1, repaints.size());
+    Rectangle dirty = repaints.get(0);
+    for (int i = 0; i < 3; i++) {
+      assertTrue(dirty.contains(table.cardBounds(CardTableComponent.PLAYER, i)), "Card " + i + " moved");
+    }
+    assertFalse(dirty.intersects(table.cardBounds(CardTableComponent.DEALER, 0)),
+        "Dealer cards should not be repainted");
+  }
+
+  /**
+   * Tests that rows are centered and the two hands do not overlap.
+   */
+  @Test
+  void testLayout() {
+    Rectangle first = table.cardBounds(CardTableComponent.PLAYER, 0);
+    Rectangle second = table.cardBounds(CardTableComponent.PLAYER, 1);
+    assertEquals(100 + 2 * CardTableComponent.BORDER, first.width);
+    assertEquals(145 + 2 * CardTableComponent.BORDER, first.height);
+    assertTrue(Math.abs(1000 - (second.x + second.width) - first.x) <= 1, "Row should be centered");
+    assertTrue(table.cardBounds(CardTableComponent.DEALER, 0).getMaxY() < first.y,
+        "Dealer row should be above the player row");
+    assertTrue(table.getPreferredSize().height >= first.getMaxY());
+  }
+
+  /**
+   * Tests that painting honours the clip, drawing only the cards inside it.
+   */
+  @Test
+  void testPaintRespectsClip() {
+    BufferedImage canvas = new BufferedImage(1000, 800, BufferedImage.TYPE_INT_ARGB);
+    Rectangle card = table.cardBounds(CardTableComponent.PLAYER, 1);
+    Graphics2D g = canvas.createGraphics();
+    g.setClip(card);
+    table.paint(g);
+    g.dispose();
+
+    assertEquals(Color.WHITE.getRGB(), canvas.getRGB(card.x, card.y), "Card border should be painted");
+    Rectangle other = table.cardBounds(CardTableComponent.PLAYER, 0);
+    assertEquals(0, canvas.getRGB(other.x + 10, other.y + 10), "Cards outside the clip should be skipped");
+  }
+}
@@ -0,0 +1,73 @@
+package view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.image.MultiResolutionImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for ImageCache.
+ * Verifies that icons are decoded once, shared, sized correctly and accounted for.
+ */
+public class ImageCacheTest {
+
+  private static final String BACK = "assets/cards/back1.png";
+
+  @BeforeEach
+  void setUp() {
+    ImageCache.clear();
+  }
+
+  /**
+   * Tests that repeated lookups return the same icon without decoding again.
+   */
+  @Test
+  void testIconsAreSharedAndDecodedOnce() {
+    ImageIcon first = ImageCache.getIcon(BACK, 100, 145, 1.0);
+    long decodes = ImageCache.getDecodeCount();
+    ImageIcon second = ImageCache.getIcon(BACK, 100, 145, 1.0);
+
+    assertSame(first, second, "Same key should return the shared icon");
+    assertEquals(decodes, ImageCache.getDecodeCount(), "Cached lookup should not decode");
+    assertEquals(100, first.getIconWidth());
+    assertEquals(145, first.getIconHeight());
+    assertNotSame(first, ImageCache.getIcon(BACK, 111, 162, 1.0), "Sizes should be cached separately");
+    assertEquals(2, ImageCache.size());
+  }
+
+  /**
+   * Tests that the footprint counts the raster bytes of every cached icon.
+   */
+  @Test
+  void testFootprint() {
+    ImageCache.getIcon(BACK, 100, 145, 1.0);
+    ImageCache.getIcon(BACK, 111, 162, 1.0);
+    assertEquals((100 * 145 + 111 * 162) * 4L, ImageCache.getFootprintBytes());
+    assertTrue(ImageCache.report().startsWith("2 icons"), ImageCache.report());
+  }
+
+  /**
+   * Tests that HiDPI icons keep their logical size but carry a full-resolution variant.
+   */
+  @Test
+  void testHiDpiIconKeepsLogicalSize() {
+    ImageIcon icon = ImageCache.getIcon(BACK, 100, 145, 2.0);
+    assertEquals(100, icon.getIconWidth(), "Layout should see the logical size");
+    assertTrue(icon.getImage() instanceof MultiResolutionImage);
+    assertEquals(200, ((MultiResolutionImage) icon.getImage())
+        .getResolutionVariant(200, 290).getWidth(null));
+  }
+
+  /**
+   * Tests that shared icons cannot be modified and unreadable paths give a blank icon.
+   */
+  @Test
+  void testSharedIconsAreImmutable() {
+    ImageIcon icon = ImageCache.getIcon("assets/cards/missing.png", 100, 145, 1.0);
+    assertEquals(100, icon.getIconWidth(), "Missing image should still give a sized icon");
+    assertThrows(UnsupportedOperationException.class, () -> icon.setImage(null));
+  }
+}
@@ -0,0 +1,138 @@
+package view;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit5 tests for ImageLoader.
+ * Verifies subsampled decoding and the on-disk cache of downsized images.
+ */
+public class ImageLoaderTest {
+
+  private Path previousDirectory;
+  private Path cacheDirectory;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    previousDirectory = ImageLoader.getCacheDirectory();
+    cacheDirectory = Files.createTempDirectory("image_loader_cache");
+    ImageLoader.setCacheDirectory(cacheDirectory);
+  }
+
+  @AfterEach
+  void tearDown() {
+    ImageLoader.setCacheDirectory(previousDirectory);
+  }
+
+  /**
+   * Writes a solid-colour PNG of the given size to a temporary file.
+   */
+  private Path writeImage(int width, int height, Color color) throws IOException {
+    BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    Graphics2D g = image.createGraphics();
+    g.setColor(color);
+    g.fillRect(0, 0, width, height);
+    g.dispose();
+    Path file = Files.createTempFile("image_loader", ".png");
+    ImageIO.write(image, "png", file.toFile());
+    return file;
+  }
+
+  /**
+   * Counts the derivatives in the cache directory.
+   */
+  private long cachedFiles() throws IOException {
+    try (Stream<Path> files = Files.list(cacheDirectory)) {
+      return files.filter(f -> f.toString().endsWith(".png")).count();
+    }
+  }
+
+  /**
+   * Returns the one derivative in the cache directory.
+   */
+  private Path onlyCachedFile() throws IOException {
+    try (Stream<Path> files = Files.list(cacheDirectory)) {
+      return files.filter(f -> f.toString().endsWith(".png")).findFirst().orElseThrow();
+    }
+  }
+
+  /**
+   * Tests that large sources are subsampled to about twice the target size.
+   */
+  @Test
+  void testDecodeSubsampled() throws IOException {
+    BufferedImage decoded = ImageLoader.decodeSubsampled(writeImage(1200, 1600, Color.RED), 150, 200);
+    assertEquals(300, decoded.getWidth(), "Source should be read at every fourth pixel");
+    assertEquals(400, decoded.getHeight());
+
+    BufferedImage small = ImageLoader.decodeSubsampled(writeImage(250, 300, Color.RED), 150, 200);
+    assertEquals(250, small.getWidth(), "Sources near the target should be read in full");
+  }
+
+  /**
+   * Tests that loads produce the exact size and reuse the derivative of an unchanged source.
+   */
+  @Test
+  void testLoadCachesDerivative() throws IOException {
+    Path source = writeImage(1200, 1600, Color.BLUE);
+    BufferedImage first = ImageLoader.load(source, 123, 160);
+    assertEquals(123, first.getWidth());
+    assertEquals(160, first.getHeight());
+    assertEquals(Color.BLUE.getRGB(), first.getRGB(60, 80), "Colour should survive scaling");
+    assertEquals(1, cachedFiles(), "A derivative should be written");
+
+    ImageLoader.load(source, 123, 160);
+    assertEquals(1, cachedFiles(), "An unchanged source should reuse its derivative");
+    Path original = onlyCachedFile();
+
+    ImageIO.write(ImageIO.read(writeImage(1200, 1600, Color.GREEN).toFile()), "png", source.toFile());
+    Files.setLastModifiedTime(source, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+    assertEquals(Color.GREEN.getRGB(), ImageLoader.load(source, 123, 160).getRGB(60, 80),
+        "An edited source should not use the old derivative");
+    assertEquals(1, cachedFiles(), "The old derivative should be deleted");
+    assertNotEquals(original, onlyCachedFile());
+  }
+
+  /**
+   * Tests that trimming deletes the oldest derivatives until the rest fit.
+   */
+  @Test
+  void testTrimDeletesOldestFirst() throws IOException {
+    for (int i = 0; i < 4; i++) {
+      Path file = cacheDirectory.resolve("derivative" + i + ".png");
+      Files.write(file, new byte[1000]);
+      Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000L * (i + 1)));
+    }
+    ImageLoader.trim(cacheDirectory, 2500);
+    assertEquals(2, cachedFiles());
+    assertFalse(Files.exists(cacheDirectory.resolve("derivative0.png")), "The oldest should go first");
+    assertFalse(Files.exists(cacheDirectory.resolve("derivative1.png")));
+    assertTrue(Files.exists(cacheDirectory.resolve("derivative3.png")));
+
+    ImageLoader.trim(cacheDirectory, 2500);
+    assertEquals(2, cachedFiles(), "A cache within its limit should be left alone");
+  }
+
+  /**
+   * Tests that loading works with caching turned off.
+   */
+  @Test
+  void testLoadWithoutCache() throws IOException {
+    ImageLoader.setCacheDirectory(null);
+    BufferedImage image = ImageLoader.load(writeImage(400, 400, Color.RED), 50, 50);
+    assertEquals(50, image.getWidth());
+    assertEquals(0, cachedFiles(), "Nothing should be written when caching is off");
+  }
+}
@@ -31,21 +31,22 @@ public class PlayerVsAIFrameTest {
   }
 
   /**
-   * Tests the player card panel is initialized with 2 hidden cards.
+   * Tests the player's hand is initialized with 2 hidden cards.
    */
   @Test
-  void testPlayerPanel() {
-    assertNotNull(frame.playerPanel, "Player panel should be initialized");
-    assertEquals(2, frame.playerPanel.getComponentCount(), "Player panel should have 2 cards");
+  void testPlayerHand() {
+    assertNotNull(frame.table, "Card table should be initialized");
+    assertEquals(2, frame.table.getCardCount(CardTableComponent.PLAYER), "Player hand should have 2 cards");
+    assertEquals(AssetPreloader.CARD_BACK, frame.table.getCardImage(CardTableComponent.PLAYER, 0));
   }
 
   /**
-   * Tests the AI (dealer) card panel initialization.
+   * Tests the AI (dealer) hand initialization.
    */
   @Test
-  void testAIPanel() {
-    assertNotNull(frame.aiPanel, "AI panel should be initialized");
-    assertEquals(2, frame.aiPanel.getComponentCount(), "AI panel should have 2 cards");
+  void testAIHand() {
+    assertEquals(2, frame.table.getCardCount(CardTableComponent.DEALER), "AI hand should have 2 cards");
+    assertEquals(0, frame.table.getComponentCount(), "Cards should be painted, not child components");
   }
 
   /**
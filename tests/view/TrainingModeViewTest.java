@@ -4,7 +4,6 @@ import model.Card;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
-import javax.swing.*;
 import java.awt.*;
 import java.util.List;
 
@@ -36,54 +35,54 @@ public class TrainingModeViewTest {
 
   /**
    * Tests updatePlayerCards with a sample list of cards.
-   * Ensures the player panel is updated with the correct number of card components.
+   * Ensures the player's hand shows the correct number of cards.
    */
   @Test
   void testUpdatePlayerCards() {
     Card c1 = new Card("Spades", 10);
     Card c2 = new Card("Hearts", 5);
-    view.updatePlayerCards(List.of(c1, c2));
+    view.updatePlayerCards(List.of(c1, c2, c1));
 
-    assertEquals(2, view.playerCardPanel.getComponentCount());
-    assertTrue(view.playerCardPanel.getComponent(0) instanceof JLabel);
+    assertEquals(3, view.table.getCardCount(CardTableComponent.PLAYER));
+    assertEquals(c1.getImagePath(), view.table.getCardImage(CardTableComponent.PLAYER, 0));
   }
 
   /**
    * Tests updateDealerCard with a sample visible card.
-   * Ensures one visible and one hidden card are shown in dealer panel.
+   * Ensures one visible and one hidden card are shown in the dealer's hand.
    */
   @Test
   void testUpdateDealerCard() {
     Card visible = new Card("Diamonds", 7);
     view.updateDealerCard(visible);
 
-    assertEquals(2, view.dealerCardPanel.getComponentCount());
-    assertTrue(view.dealerCardPanel.getComponent(0) instanceof JLabel);
+    assertEquals(2, view.table.getCardCount(CardTableComponent.DEALER));
+    assertEquals(visible.getImagePath(), view.table.getCardImage(CardTableComponent.DEALER, 0));
+    assertEquals(AssetPreloader.CARD_BACK, view.table.getCardImage(CardTableComponent.DEALER, 1));
   }
 
   /**
-   * Tests updateDealerSecondCard by injecting a second card into dealer panel.
-   * Verifies that the second label's icon is updated.
+   * Tests updateDealerSecondCard by turning over the dealer's hole card.
+   * Verifies that the second card is shown face up.
    */
   @Test
   void testUpdateDealerSecondCard() {
-    // Manually simulate a dealer card panel with 2 face-down cards
     view.updateDealerCard(new Card("Spades", 8));
     Card second = new Card("Clubs", 12);
     view.updateDealerSecondCard(second);
 
-    JLabel secondLabel = (JLabel) view.dealerCardPanel.getComponent(1);
-    assertNotNull(secondLabel.getIcon());
-    assertTrue(secondLabel.getIcon() instanceof ImageIcon);
+    assertEquals(second.getImagePath(), view.table.getCardImage(CardTableComponent.DEALER, 1));
   }
 
   /**
-   * Tests resetGameView resets both card panels to 2 hidden cards each.
+   * Tests resetGameView resets both hands to 2 hidden cards each.
    */
   @Test
   void testResetGameView() {
+    view.updatePlayerCards(List.of(new Card("Spades", 10), new Card("Hearts", 5), new Card("Clubs", 2)));
     view.resetGameView();
-    assertEquals(2, view.playerCardPanel.getComponentCount());
-    assertEquals(2, view.dealerCardPanel.getComponentCount());
+    assertEquals(2, view.table.getCardCount(CardTableComponent.PLAYER));
+    assertEquals(2, view.table.getCardCount(CardTableComponent.DEALER));
+    assertEquals(AssetPreloader.CARD_BACK, view.table.getCardImage(CardTableComponent.PLAYER, 0));
   }
 }